@@ -0,0 +1,148 @@
+package de.prgrm.topology.benchmarks;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+import jakarta.annotation.PostConstruct;
+
+import de.prgrm.topology.runtime.config.TopologyConfig;
+import de.prgrm.topology.runtime.service.MessageSender;
+import de.prgrm.topology.runtime.service.SchemaIntrospector;
+import de.prgrm.topology.runtime.service.ServiceRegistry;
+import io.smallrye.config.WithDefault;
+import io.smallrye.config.WithName;
+import io.vertx.core.Vertx;
+
+/**
+ * Creates the extension's beans outside of a Quarkus application, wired the way Arc would wire them.
+ * <p>
+ * Configuration values are taken from the {@link WithDefault} annotations of {@link TopologyConfig} and can be
+ * overridden by their {@link WithName} key, e.g. {@code Map.of("watch-directory", "false")}.
+ */
+public final class BenchmarkBeans {
+
+    private static final PrintStream STDOUT = System.out;
+
+    private BenchmarkBeans() {
+    }
+
+    public static TopologyConfig config(Map<String, String> overrides) {
+        return (TopologyConfig) Proxy.newProxyInstance(TopologyConfig.class.getClassLoader(),
+                new Class<?>[] { TopologyConfig.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "toString" -> "TopologyConfig" + overrides;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> configValue(method, overrides);
+                });
+    }
+
+    public static SchemaIntrospector schemaIntrospector(TopologyConfig config) {
+        SchemaIntrospector introspector = new SchemaIntrospector();
+        inject(introspector, "config", config);
+        postConstruct(introspector);
+        return introspector;
+    }
+
+    public static ServiceRegistry serviceRegistry(TopologyConfig config) {
+        ServiceRegistry registry = new ServiceRegistry();
+        inject(registry, "config", config);
+        inject(registry, "schemaIntrospector", schemaIntrospector(config));
+        return registry;
+    }
+
+    public static MessageSender messageSender(TopologyConfig config, Vertx vertx) {
+        MessageSender sender = new MessageSender();
+        inject(sender, "config", config);
+        inject(sender, "vertx", vertx);
+        return sender;
+    }
+
+    /**
+     * Closes the file cache and remote fetcher of a registry, as its shutdown observer does.
+     */
+    public static void close(ServiceRegistry registry) {
+        try {
+            Method onStop = ServiceRegistry.class.getDeclaredMethod("onStop", io.quarkus.runtime.ShutdownEvent.class);
+            onStop.setAccessible(true);
+            onStop.invoke(registry, (Object) null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not stop " + registry, e);
+        }
+    }
+
+    /**
+     * Discards console output, which some code paths print on every call and would otherwise dominate the
+     * measurement.
+     */
+    public static void silenceStdout() {
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    public static void restoreStdout() {
+        System.setOut(STDOUT);
+    }
+
+    private static Object configValue(Method method, Map<String, String> overrides) {
+        WithName name = method.getAnnotation(WithName.class);
+        WithDefault defaultValue = method.getAnnotation(WithDefault.class);
+        String value = name != null && overrides.containsKey(name.value())
+                ? overrides.get(name.value())
+                : defaultValue != null ? defaultValue.value() : null;
+
+        Class<?> type = method.getReturnType();
+        if (type == Optional.class) {
+            return Optional.ofNullable(value);
+        }
+        if (value == null) {
+            throw new IllegalStateException("No value for " + method.getName());
+        }
+        if (type == boolean.class) {
+            return Boolean.parseBoolean(value);
+        }
+        if (type == int.class) {
+            return Integer.parseInt(value);
+        }
+        if (type == Duration.class) {
+            return Duration.parse("PT" + value.toUpperCase());
+        }
+        if (type.isEnum()) {
+            return enumValue(type, value);
+        }
+        return value;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Object enumValue(Class<?> type, String value) {
+        return Enum.valueOf((Class<Enum>) type, value.toUpperCase().replace('-', '_'));
+    }
+
+    private static void inject(Object bean, String fieldName, Object value) {
+        try {
+            Field field = bean.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(bean, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not inject " + fieldName + " into " + bean.getClass().getName(), e);
+        }
+    }
+
+    private static void postConstruct(Object bean) {
+        try {
+            for (Method method : bean.getClass().getDeclaredMethods()) {
+                if (method.isAnnotationPresent(PostConstruct.class)) {
+                    method.setAccessible(true);
+                    method.invoke(bean);
+                }
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not initialize " + bean.getClass().getName(), e);
+        }
+    }
+}
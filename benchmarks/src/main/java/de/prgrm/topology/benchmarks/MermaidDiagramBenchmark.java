@@ -0,0 +1,53 @@
+package de.prgrm.topology.benchmarks;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import de.prgrm.topology.runtime.generator.MermaidDiagramGenerator;
+import de.prgrm.topology.runtime.model.TopologyInfo;
+
+/**
+ * Mermaid diagram generation for the aggregated topology of many services, as a string, streamed to a writer and
+ * collapsed into service groups.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MermaidDiagramBenchmark {
+
+    @Param({ "100", "1000" })
+    int services;
+
+    @Param({ "20" })
+    int channelsPerService;
+
+    private final MermaidDiagramGenerator generator = new MermaidDiagramGenerator();
+    private List<TopologyInfo> topologies;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        topologies = SyntheticTopologies.generate(services, channelsPerService, services * 2, false, 42);
+    }
+
+    @Benchmark
+    public String generate() {
+        return generator.generate(topologies);
+    }
+
+    @Benchmark
+    public void stream() throws IOException {
+        generator.write(topologies, Writer.nullWriter(), MermaidDiagramGenerator.NO_COLLAPSE);
+    }
+
+    @Benchmark
+    public void streamCollapsed() throws IOException {
+        generator.write(topologies, Writer.nullWriter(), 0);
+    }
+}
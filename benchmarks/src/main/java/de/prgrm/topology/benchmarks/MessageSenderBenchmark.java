@@ -0,0 +1,73 @@
+package de.prgrm.topology.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import de.prgrm.topology.runtime.model.TopologyRegistry;
+import de.prgrm.topology.runtime.service.BatchSendResult;
+import de.prgrm.topology.runtime.service.MessageSender;
+import io.vertx.core.Vertx;
+
+/**
+ * Publishing messages to local channels through the event bus, one at a time and in batches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageSenderBenchmark {
+
+    private static final int CHANNELS = 20;
+
+    @Param({ "1000" })
+    int batchSize;
+
+    private Vertx vertx;
+    private MessageSender sender;
+    private Map<String, Object> payload;
+    private List<Map<String, Object>> batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        vertx = Vertx.vertx();
+        TopologyRegistry.INSTANCE.setTopology(SyntheticTopologies.local("sender", CHANNELS, SyntheticEvents.TYPES));
+        // Outgoing channels have even numbers
+        for (int c = 0; c < CHANNELS; c += 2) {
+            vertx.eventBus().consumer("channel-" + c, message -> {
+            });
+        }
+        sender = BenchmarkBeans.messageSender(BenchmarkBeans.config(Map.of()), vertx);
+
+        payload = Map.of(
+                "orderId", "order-1",
+                "customer", Map.of("id", "customer-1", "name", "Jane Doe"),
+                "lines", List.of(Map.of("sku", "sku-1", "quantity", 2), Map.of("sku", "sku-2", "quantity", 1)),
+                "status", "PENDING");
+        batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            batch.add(Map.of("channel", "channel-" + (i * 2 % CHANNELS), "payload", payload));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        TopologyRegistry.INSTANCE.setTopology(null);
+        vertx.close().toCompletionStage().toCompletableFuture().join();
+    }
+
+    @Benchmark
+    public void send() throws Exception {
+        sender.send("channel-0", payload);
+    }
+
+    @Benchmark
+    public BatchSendResult sendBatch() throws Exception {
+        return sender.sendBatch(batch);
+    }
+}
@@ -0,0 +1,93 @@
+package de.prgrm.topology.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import de.prgrm.topology.runtime.config.TopologyConfig;
+import de.prgrm.topology.runtime.model.TopologyInfo;
+import de.prgrm.topology.runtime.model.TopologyRegistry;
+import de.prgrm.topology.runtime.service.SchemaEnrichmentTimings;
+import de.prgrm.topology.runtime.service.SchemaIntrospector;
+
+/**
+ * Runtime schema introspection of channels without a build-time schema.
+ * <p>
+ * {@code cachedSchema} measures the request path once the type is cached, {@code coldSchema} the first
+ * introspection of the deepest message type with empty caches, and {@code enrich} the startup enrichment of a
+ * whole topology.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SchemaIntrospectorBenchmark {
+
+    private static final String DEEPEST_CHANNEL = "channel-" + (SyntheticEvents.TYPES.size() - 1);
+
+    @Param({ "50", "500" })
+    int channels;
+
+    private TopologyConfig config;
+    private SchemaIntrospector cached;
+    private SchemaIntrospector cold;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkBeans.silenceStdout();
+        config = BenchmarkBeans.config(Map.of());
+        TopologyRegistry.INSTANCE.setTopology(SyntheticTopologies.local("introspected", channels, SyntheticEvents.TYPES));
+
+        cached = BenchmarkBeans.schemaIntrospector(config);
+        cached.getSchema(DEEPEST_CHANNEL, "outgoing");
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpInvocation() {
+        cold = BenchmarkBeans.schemaIntrospector(config);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        TopologyRegistry.INSTANCE.setTopology(null);
+        BenchmarkBeans.restoreStdout();
+    }
+
+    @Benchmark
+    public Map<String, Object> cachedSchema() {
+        return cached.getSchema(DEEPEST_CHANNEL, "outgoing");
+    }
+
+    @Benchmark
+    public Map<String, Object> coldSchema() {
+        return cold.getSchema(DEEPEST_CHANNEL, "outgoing");
+    }
+
+    @Benchmark
+    public SchemaEnrichmentTimings enrich(Enrichment enrichment) {
+        return enrichment.introspector.enrich(enrichment.topology);
+    }
+
+    /**
+     * A fresh introspector with the given parallelism and a topology without schemas for every invocation.
+     */
+    @State(Scope.Benchmark)
+    public static class Enrichment {
+
+        @Param({ "1", "8" })
+        int parallelism;
+
+        SchemaIntrospector introspector;
+        TopologyInfo topology;
+
+        @Setup(Level.Invocation)
+        public void setUp(SchemaIntrospectorBenchmark benchmark) {
+            introspector = BenchmarkBeans.schemaIntrospector(
+                    BenchmarkBeans.config(Map.of("schema-parallelism", Integer.toString(parallelism))));
+            topology = SyntheticTopologies.local("introspected", benchmark.channels, SyntheticEvents.TYPES);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package de.prgrm.topology.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.prgrm.topology.runtime.config.TopologyConfig;
+import de.prgrm.topology.runtime.model.TopologyInfo;
+import de.prgrm.topology.runtime.service.ServiceRegistry;
+
+/**
+ * Reading the topologies of all services from the topology directory.
+ * <p>
+ * {@code cached} measures repeated requests against unchanged files, with and without the directory watcher,
+ * {@code coldLoad} the first request of a fresh registry, which reads and parses every file, in either storage
+ * format.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceRegistryBenchmark {
+
+    @Param({ "100", "1000" })
+    int services;
+
+    @Param({ "20" })
+    int channelsPerService;
+
+    @Param({ "true", "false" })
+    boolean watchDirectory;
+
+    @Param({ "JSON", "BINARY" })
+    TopologyConfig.StorageFormat format;
+
+    private Path directory;
+    private TopologyConfig config;
+    private ServiceRegistry cached;
+    private ServiceRegistry cold;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("topology-benchmark");
+        SyntheticTopologies.write(directory,
+                SyntheticTopologies.generate(services, channelsPerService, services * 2, true, 42),
+                new ObjectMapper(), format);
+
+        config = BenchmarkBeans.config(Map.of(
+                "directory", directory.toString(),
+                "watch-directory", Boolean.toString(watchDirectory),
+                "cleanup-on-shutdown", "false"));
+        cached = BenchmarkBeans.serviceRegistry(config);
+        cached.getAllTopologies();
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpInvocation() {
+        cold = BenchmarkBeans.serviceRegistry(config);
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDownInvocation() {
+        BenchmarkBeans.close(cold);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkBeans.close(cached);
+        SyntheticTopologies.delete(directory);
+    }
+
+    @Benchmark
+    public List<TopologyInfo> cached() {
+        return cached.getAllTopologies();
+    }
+
+    @Benchmark
+    public List<TopologyInfo> coldLoad() {
+        return cold.getAllTopologies();
+    }
+}
@@ -0,0 +1,133 @@
+package de.prgrm.topology.benchmarks;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Message types of varying depth used as channel payloads by the synthetic topologies.
+ * <p>
+ * {@link OrderPlaced} nests five levels deep and contains collections, maps, an enum, a sealed hierarchy and a
+ * self-referencing type; {@link StockAdjusted} is flat; {@link Envelope} is generic.
+ */
+public final class SyntheticEvents {
+
+    /**
+     * Message types in ascending order of complexity.
+     */
+    public static final List<Class<?>> TYPES = List.of(
+            StockAdjusted.class,
+            CustomerRegistered.class,
+            ShipmentDispatched.class,
+            EnvelopedOrder.class,
+            OrderPlaced.class);
+
+    private SyntheticEvents() {
+    }
+
+    public static class StockAdjusted {
+        public String sku;
+        public int delta;
+        public String warehouse;
+        public Instant adjustedAt;
+    }
+
+    public static class CustomerRegistered {
+        public UUID customerId;
+        public Customer customer;
+        public Optional<String> referralCode;
+    }
+
+    public static class ShipmentDispatched {
+        public String shipmentId;
+        public Address destination;
+        public List<Parcel> parcels;
+        public Status status;
+    }
+
+    public static class EnvelopedOrder {
+        public Envelope<OrderPlaced> envelope;
+    }
+
+    public static class OrderPlaced {
+        public String orderId;
+        public Instant placedAt;
+        public Customer customer;
+        public List<OrderLine> lines;
+        public Map<String, String> attributes;
+        public Payment payment;
+        public Status status;
+    }
+
+    public static class Envelope<T> {
+        public String messageId;
+        public Map<String, String> headers;
+        public T payload;
+    }
+
+    public static class Customer {
+        public String id;
+        public String name;
+        public Address billing;
+        public Address shipping;
+    }
+
+    public static class Address {
+        public String street;
+        public String city;
+        public String country;
+        public GeoPoint location;
+    }
+
+    public static class GeoPoint {
+        public double latitude;
+        public double longitude;
+    }
+
+    public static class OrderLine {
+        public Product product;
+        public int quantity;
+        public BigDecimal price;
+    }
+
+    public static class Product {
+        public String sku;
+        public String name;
+        public Category category;
+        public List<String> tags;
+    }
+
+    public static class Category {
+        public String name;
+        public Category parent;
+        public List<Category> children;
+    }
+
+    public static class Parcel {
+        public String trackingNumber;
+        public double weight;
+        public Dimensions dimensions;
+    }
+
+    public record Dimensions(double width, double height, double depth) {
+    }
+
+    public sealed interface Payment permits CardPayment, WirePayment {
+    }
+
+    public record CardPayment(String cardHolder, String last4, BigDecimal amount) implements Payment {
+    }
+
+    public record WirePayment(String iban, String reference, BigDecimal amount) implements Payment {
+    }
+
+    public enum Status {
+        PENDING,
+        CONFIRMED,
+        SHIPPED,
+        CANCELLED
+    }
+}
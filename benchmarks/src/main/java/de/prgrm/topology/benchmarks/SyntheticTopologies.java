@@ -0,0 +1,183 @@
+package de.prgrm.topology.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.prgrm.topology.runtime.config.TopologyConfig;
+import de.prgrm.topology.runtime.model.ChannelInfo;
+import de.prgrm.topology.runtime.model.TopologyInfo;
+import de.prgrm.topology.runtime.service.SchemaIntrospector;
+import de.prgrm.topology.runtime.service.TopologyBinaryFormat;
+
+/**
+ * Deterministic generator of synthetic service topologies.
+ * <p>
+ * Every service gets the same number of channels and belongs to one of twenty group IDs. Channels connect to a shared pool of
+ * topics, so topics have
+ * several producers and consumers, and carry one of the {@link SyntheticEvents} types. The same seed always
+ * produces the same topologies, which keeps benchmark runs comparable.
+ */
+public final class SyntheticTopologies {
+
+    private static final int TEAMS = 20;
+
+    private static final String[] CONNECTORS = { "smallrye-kafka", "smallrye-amqp", "smallrye-in-memory" };
+
+    private SyntheticTopologies() {
+    }
+
+    /**
+     * Generates {@code services} topologies with {@code channelsPerService} channels each, spread over
+     * {@code topics} topics.
+     *
+     * @param withSchemas attach a flat schema, example payload and fingerprint to every channel, as build-time
+     *        generation would
+     */
+    public static List<TopologyInfo> generate(int services, int channelsPerService, int topics, boolean withSchemas,
+            long seed) {
+        Random random = new Random(seed);
+        List<TopologyInfo> topologies = new ArrayList<>(services);
+        for (int s = 0; s < services; s++) {
+            topologies.add(service(s, channelsPerService, topics, withSchemas, random));
+        }
+        return topologies;
+    }
+
+    /**
+     * Generates a single topology whose channels carry the given message types round-robin, without schemas,
+     * so that they have to be introspected at runtime.
+     */
+    public static TopologyInfo local(String serviceName, int channels, List<Class<?>> messageTypes) {
+        TopologyInfo topology = new TopologyInfo();
+        topology.setServiceName(serviceName);
+        topology.setGroupId("de.prgrm.synthetic");
+        topology.setArtifactId(serviceName);
+        topology.setVersion("1.0.0");
+
+        for (int c = 0; c < channels; c++) {
+            String direction = c % 2 == 0 ? "outgoing" : "incoming";
+            ChannelInfo channel = new ChannelInfo("channel-" + c, direction,
+                    "de.prgrm.synthetic." + className(serviceName), "handle" + c);
+            channel.setTopic("topic-" + c);
+            channel.setConnector(CONNECTORS[0]);
+            channel.setMessageType(messageTypes.get(c % messageTypes.size()).getName());
+            topology.addChannel(channel);
+        }
+        return topology;
+    }
+
+    /**
+     * Writes each topology as {@code <service>.json} plus its {@code <service>.url} into {@code directory}, the
+     * layout services produce at startup.
+     */
+    public static void write(Path directory, List<TopologyInfo> topologies, ObjectMapper mapper) throws IOException {
+        write(directory, topologies, mapper, TopologyConfig.StorageFormat.JSON);
+    }
+
+    /**
+     * Writes each topology in the given storage format plus its {@code <service>.url} into {@code directory}.
+     */
+    public static void write(Path directory, List<TopologyInfo> topologies, ObjectMapper mapper,
+            TopologyConfig.StorageFormat format) throws IOException {
+        Files.createDirectories(directory);
+        for (TopologyInfo topology : topologies) {
+            if (format == TopologyConfig.StorageFormat.BINARY) {
+                TopologyBinaryFormat.write(topology,
+                        directory.resolve(topology.getServiceName() + TopologyBinaryFormat.SUFFIX), mapper);
+            } else {
+                Files.write(directory.resolve(topology.getServiceName() + ".json"), mapper.writeValueAsBytes(topology));
+            }
+            Files.writeString(directory.resolve(topology.getServiceName() + ".url"), topology.getServiceUrl());
+        }
+    }
+
+    /**
+     * Deletes {@code directory} and all topology files in it.
+     */
+    public static void delete(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (var files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    private static TopologyInfo service(int index, int channels, int topics, boolean withSchemas, Random random) {
+        String serviceName = String.format("service-%05d", index);
+
+        TopologyInfo topology = new TopologyInfo();
+        topology.setServiceName(serviceName);
+        topology.setProjectName("synthetic");
+        topology.setGroupId("de.prgrm.synthetic.team" + index % TEAMS);
+        topology.setArtifactId(serviceName);
+        topology.setVersion("1.0." + random.nextInt(20));
+        topology.setServiceUrl("http://" + serviceName + ":8080");
+
+        Set<String> used = new HashSet<>();
+        for (int c = 0; c < channels; c++) {
+            String direction = random.nextBoolean() ? "outgoing" : "incoming";
+            String topic = "topic-" + random.nextInt(Math.max(1, topics));
+            // Channel names are unique per direction within a service
+            String channelName = used.add(direction + topic) ? topic : topic + "-" + c;
+            Class<?> messageType = SyntheticEvents.TYPES.get(random.nextInt(SyntheticEvents.TYPES.size()));
+
+            ChannelInfo channel = new ChannelInfo(channelName, direction,
+                    "de.prgrm.synthetic." + className(serviceName), (direction.equals("outgoing") ? "emit" : "on")
+                            + messageType.getSimpleName() + c);
+            channel.setTopic(topic);
+            channel.setConnector(CONNECTORS[random.nextInt(CONNECTORS.length)]);
+            channel.setMessageType(messageType.getName());
+            if (withSchemas) {
+                Map<String, Object> schema = schema(messageType);
+                channel.setSchema(schema);
+                channel.setExamplePayload(examplePayload(messageType));
+                channel.setSchemaFingerprint(SchemaIntrospector.fingerprint(schema));
+            }
+            topology.addChannel(channel);
+        }
+        return topology;
+    }
+
+    /**
+     * A flat schema of the public fields of {@code type}, roughly the size of a build-time schema.
+     */
+    private static Map<String, Object> schema(Class<?> type) {
+        Map<String, Object> properties = new HashMap<>();
+        List<String> required = new ArrayList<>();
+        for (var field : type.getFields()) {
+            Map<String, Object> property = new HashMap<>();
+            property.put("type", field.getType().isPrimitive() ? "number" : "object");
+            property.put("javaType", field.getType().getSimpleName());
+            properties.put(field.getName(), property);
+            required.add(field.getName());
+        }
+
+        Map<String, Object> schema = new HashMap<>();
+        schema.put("type", "object");
+        schema.put("className", type.getName());
+        schema.put("simpleName", type.getSimpleName());
+        schema.put("properties", properties);
+        schema.put("required", required);
+        return schema;
+    }
+
+    private static Map<String, Object> examplePayload(Class<?> type) {
+        Map<String, Object> example = new HashMap<>();
+        for (var field : type.getFields()) {
+            example.put(field.getName(), field.getType().isPrimitive() ? 0 : "example");
+        }
+        return example;
+    }
+
+    private static String className(String serviceName) {
+        return Character.toUpperCase(serviceName.charAt(0)) + serviceName.substring(1).replace("-", "") + "Handler";
+    }
+}
@@ -0,0 +1,71 @@
+package de.prgrm.topology.benchmarks;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.prgrm.topology.runtime.model.ChannelInfo;
+import de.prgrm.topology.runtime.model.TopologyInfo;
+import de.prgrm.topology.runtime.service.TopologyJsonReader;
+
+/**
+ * Jackson serialization of a single service topology with schemas, as written to and read from topology files.
+ * <p>
+ * {@code deserializeGraph} reads the same document with the streaming reader, which skips schemas, and
+ * {@code deserializeGraphAndSchemas} additionally touches every schema as the viewer would.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TopologyJsonBenchmark {
+
+    @Param({ "20", "500" })
+    int channels;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private TopologyInfo topology;
+    private byte[] json;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        List<TopologyInfo> topologies = SyntheticTopologies.generate(1, channels, channels, true, 42);
+        topology = topologies.get(0);
+        json = mapper.writeValueAsBytes(topology);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return mapper.writeValueAsBytes(topology);
+    }
+
+    @Benchmark
+    public TopologyInfo deserialize() throws IOException {
+        return mapper.readValue(json, TopologyInfo.class);
+    }
+
+    @Benchmark
+    public TopologyInfo deserializeGraph() throws IOException {
+        return TopologyJsonReader.read(json, mapper);
+    }
+
+    @Benchmark
+    public int deserializeGraphAndSchemas() throws IOException {
+        int size = 0;
+        for (ChannelInfo channel : TopologyJsonReader.read(json, mapper).getChannels()) {
+            size += channel.getSchema() != null ? channel.getSchema().size() : 0;
+        }
+        return size;
+    }
+
+    @Benchmark
+    public TopologyInfo roundTrip() throws IOException {
+        return mapper.readValue(mapper.writeValueAsBytes(topology), TopologyInfo.class);
+    }
+}
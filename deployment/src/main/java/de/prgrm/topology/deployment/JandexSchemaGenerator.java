@@ -0,0 +1,300 @@
+package de.prgrm.topology.deployment;
+
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+import org.jboss.jandex.*;
+
+import de.prgrm.topology.runtime.service.JdkContainerTypes;
+import de.prgrm.topology.runtime.service.SchemaDefinitions;
+
+/**
+ * Generates channel schemas from the Jandex index at build time.
+ * <p>
+ * Produces the same schema structure as the runtime {@code ReflectionSchemaGenerator}, but without
+ * loading classes or using reflection. Nested classes, records and sealed hierarchies become shared
+ * {@code $defs} definitions that are generated once per build. Message types that are not part of the
+ * index yield {@code null} and are left to the runtime fallback.
+ */
+class JandexSchemaGenerator {
+
+    private static final int SYNTHETIC = 0x1000;
+
+    private static final DotName OBJECT = DotName.createSimple("java.lang.Object");
+    private static final DotName STRING = DotName.createSimple("java.lang.String");
+    private static final DotName CHARACTER = DotName.createSimple("java.lang.Character");
+    private static final DotName INTEGER = DotName.createSimple("java.lang.Integer");
+    private static final DotName LONG = DotName.createSimple("java.lang.Long");
+    private static final DotName SHORT = DotName.createSimple("java.lang.Short");
+    private static final DotName BYTE = DotName.createSimple("java.lang.Byte");
+    private static final DotName BOOLEAN = DotName.createSimple("java.lang.Boolean");
+    private static final DotName DOUBLE = DotName.createSimple("java.lang.Double");
+    private static final DotName FLOAT = DotName.createSimple("java.lang.Float");
+    private static final DotName DATE = DotName.createSimple("java.util.Date");
+    private static final DotName INSTANT = DotName.createSimple("java.time.Instant");
+    private static final DotName UUID = DotName.createSimple("java.util.UUID");
+    private static final DotName URI = DotName.createSimple("java.net.URI");
+    private static final DotName URL = DotName.createSimple("java.net.URL");
+    private static final DotName BIG_INTEGER = DotName.createSimple("java.math.BigInteger");
+    private static final DotName BIG_DECIMAL = DotName.createSimple("java.math.BigDecimal");
+    private static final DotName OPTIONAL = DotName.createSimple("java.util.Optional");
+
+    private static final Set<DotName> JDK_COLLECTIONS = dotNames(JdkContainerTypes.COLLECTIONS);
+    private static final Set<DotName> JDK_MAPS = dotNames(JdkContainerTypes.MAPS);
+
+    private final IndexView index;
+    private final SchemaDefinitions definitions = new SchemaDefinitions();
+
+    JandexSchemaGenerator(IndexView index) {
+        this.index = index;
+    }
+
+    /**
+     * Returns the schema for the given message type, or {@code null} if the type is not indexed.
+     * Each call returns a new copy, so that later runtime enrichment never shares mutable state.
+     */
+    Map<String, Object> generate(DotName messageType) {
+        ClassInfo classInfo = index.getClassByName(messageType);
+        if (classInfo == null) {
+            return null;
+        }
+
+        String name = messageType.toString();
+        definitions.define(name, definition -> describeClass(definition, classInfo, Map.of()));
+        return definitions.schema(name);
+    }
+
+    private Map<String, Object> typeSchema(Type type, Map<String, Type> bindings) {
+        Type resolved = substitute(type, bindings);
+        Map<String, Object> schema = new HashMap<>();
+        schema.put("javaType", getSimpleName(resolved));
+
+        switch (resolved.kind()) {
+            case PRIMITIVE:
+                schema.put("type", switch (resolved.asPrimitiveType().primitive()) {
+                    case INT, LONG, SHORT, BYTE -> "integer";
+                    case BOOLEAN -> "boolean";
+                    case DOUBLE, FLOAT -> "number";
+                    case CHAR -> "string";
+                });
+                return schema;
+            case ARRAY:
+                schema.put("type", "array");
+                // One dimension less, so nested arrays stay nested as in ReflectionSchemaGenerator
+                schema.put("items", typeSchema(resolved.asArrayType().componentType(), Map.of()));
+                return schema;
+            case CLASS:
+            case PARAMETERIZED_TYPE:
+                break;
+            default:
+                schema.put("type", "object");
+                return schema;
+        }
+
+        DotName name = resolved.name();
+        List<Type> arguments = resolved.kind() == Type.Kind.PARAMETERIZED_TYPE
+                ? resolved.asParameterizedType().arguments()
+                : List.of();
+
+        if (name.equals(OPTIONAL) && !arguments.isEmpty()) {
+            return typeSchema(arguments.get(0), Map.of());
+        }
+
+        ClassInfo classInfo = index.getClassByName(name);
+        if (isSubtypeOf(name, JDK_COLLECTIONS)) {
+            Type element = !arguments.isEmpty() ? arguments.get(0) : ClassType.OBJECT_TYPE;
+            schema.put("type", "array");
+            schema.put("items", typeSchema(element, Map.of()));
+            if (element.kind() == Type.Kind.CLASS) {
+                schema.put("genericType", getSimpleName(element));
+            }
+        } else if (isSubtypeOf(name, JDK_MAPS)) {
+            schema.put("type", "object");
+            schema.put("additionalProperties",
+                    typeSchema(arguments.size() > 1 ? arguments.get(1) : ClassType.OBJECT_TYPE, Map.of()));
+        } else if (classInfo != null && classInfo.isEnum()) {
+            List<String> constants = new ArrayList<>();
+            for (FieldInfo constant : classInfo.enumConstants()) {
+                constants.add(constant.name());
+            }
+            schema.put("type", "string");
+            schema.put("enum", constants);
+        } else {
+            String leafType = getLeafType(name);
+            schema.put("type", leafType != null ? leafType : "object");
+            if (leafType == null && classInfo != null && !isJdkType(name)) {
+                Map<String, Type> typeBindings = bind(classInfo, resolved);
+                schema.putAll(definitions.reference(definitionName(resolved),
+                        definition -> describeClass(definition, classInfo, typeBindings)));
+            }
+        }
+        return schema;
+    }
+
+    private void describeClass(Map<String, Object> definition, ClassInfo classInfo, Map<String, Type> bindings) {
+        definition.put("type", "object");
+        definition.put("className", classInfo.name().toString());
+        definition.put("simpleName", classInfo.simpleName());
+
+        Map<String, Object> properties = new HashMap<>();
+        List<String> requiredFields = new ArrayList<>();
+
+        ClassInfo current = classInfo;
+        Map<String, Type> currentBindings = bindings;
+        while (current != null && !current.name().equals(OBJECT)) {
+            for (FieldInfo field : current.fieldsInDeclarationOrder()) {
+                if (Modifier.isStatic(field.flags()) || Modifier.isTransient(field.flags())
+                        || (field.flags() & SYNTHETIC) != 0) {
+                    continue;
+                }
+                properties.put(field.name(), typeSchema(field.type(), currentBindings));
+                requiredFields.add(field.name());
+            }
+
+            ClassInfo superClass = current.superName() != null ? index.getClassByName(current.superName()) : null;
+            if (superClass != null) {
+                currentBindings = bind(superClass, substitute(current.superClassType(), currentBindings));
+            }
+            current = superClass;
+        }
+
+        definition.put("properties", properties);
+        definition.put("required", requiredFields);
+
+        if (classInfo.isSealed()) {
+            List<Object> subtypes = new ArrayList<>();
+            for (DotName subtypeName : new TreeSet<>(classInfo.permittedSubclasses())) {
+                ClassInfo subtype = index.getClassByName(subtypeName);
+                if (subtype != null) {
+                    subtypes.add(definitions.reference(subtypeName.toString(),
+                            subDefinition -> describeClass(subDefinition, subtype, Map.of())));
+                }
+            }
+            definition.put("oneOf", subtypes);
+        }
+    }
+
+    /**
+     * Maps the type parameters of {@code classInfo} to the arguments of the (already substituted) {@code type}.
+     */
+    private Map<String, Type> bind(ClassInfo classInfo, Type type) {
+        if (type.kind() != Type.Kind.PARAMETERIZED_TYPE) {
+            return Map.of();
+        }
+
+        List<TypeVariable> parameters = classInfo.typeParameters();
+        List<Type> arguments = type.asParameterizedType().arguments();
+        Map<String, Type> bound = new HashMap<>();
+        for (int i = 0; i < parameters.size() && i < arguments.size(); i++) {
+            bound.put(parameters.get(i).identifier(), arguments.get(i));
+        }
+        return bound;
+    }
+
+    /**
+     * Replaces type variables by their bindings, or by their erasure if unbound, so that the result contains no
+     * type variables. Erasing unbound variables also ends self-referencing bounds such as {@code T extends Comparable<T>}.
+     */
+    private Type substitute(Type type, Map<String, Type> bindings) {
+        return switch (type.kind()) {
+            case TYPE_VARIABLE -> bindings.getOrDefault(type.asTypeVariable().identifier(), ClassType.create(type.name()));
+            case TYPE_VARIABLE_REFERENCE -> bindings.getOrDefault(type.asTypeVariableReference().identifier(),
+                    ClassType.create(type.name()));
+            case UNRESOLVED_TYPE_VARIABLE -> bindings.getOrDefault(type.asUnresolvedTypeVariable().identifier(),
+                    ClassType.OBJECT_TYPE);
+            case WILDCARD_TYPE -> substitute(type.asWildcardType().extendsBound(), bindings);
+            case ARRAY -> ArrayType.create(substitute(type.asArrayType().constituent(), bindings),
+                    type.asArrayType().dimensions());
+            case PARAMETERIZED_TYPE -> {
+                List<Type> arguments = type.asParameterizedType().arguments();
+                Type[] substituted = new Type[arguments.size()];
+                for (int i = 0; i < substituted.length; i++) {
+                    substituted[i] = substitute(arguments.get(i), bindings);
+                }
+                yield ParameterizedType.create(type.name(), substituted, null);
+            }
+            default -> type;
+        };
+    }
+
+    /**
+     * Class name including type arguments, so that differently parameterized uses get their own definition.
+     */
+    private String definitionName(Type type) {
+        if (type.kind() != Type.Kind.PARAMETERIZED_TYPE) {
+            return type.name().toString();
+        }
+
+        StringJoiner joiner = new StringJoiner(",", type.name() + "<", ">");
+        for (Type argument : type.asParameterizedType().arguments()) {
+            joiner.add(definitionName(argument));
+        }
+        return joiner.toString();
+    }
+
+    private String getLeafType(DotName name) {
+        if (name.equals(STRING) || name.equals(CHARACTER))
+            return "string";
+        if (name.equals(INTEGER) || name.equals(LONG) || name.equals(SHORT) || name.equals(BYTE)
+                || name.equals(BIG_INTEGER))
+            return "integer";
+        if (name.equals(BOOLEAN))
+            return "boolean";
+        if (name.equals(DOUBLE) || name.equals(FLOAT) || name.equals(BIG_DECIMAL))
+            return "number";
+        if (name.equals(DATE) || name.equals(INSTANT) || name.equals(UUID) || name.equals(URI) || name.equals(URL)
+                || "java.time".equals(name.packagePrefix()))
+            return "string";
+        return null;
+    }
+
+    private static Set<DotName> dotNames(Set<String> classNames) {
+        Set<DotName> names = new HashSet<>();
+        for (String className : classNames) {
+            names.add(DotName.createSimple(className));
+        }
+        return Set.copyOf(names);
+    }
+
+    private static boolean isJdkType(DotName name) {
+        String className = name.toString();
+        return className.startsWith("java.") || className.startsWith("javax.") || className.startsWith("jdk.");
+    }
+
+    private boolean isSubtypeOf(DotName name, Set<DotName> supertypes) {
+        if (supertypes.contains(name)) {
+            return true;
+        }
+
+        ClassInfo classInfo = index.getClassByName(name);
+        if (classInfo == null) {
+            return false;
+        }
+
+        for (DotName iface : classInfo.interfaceNames()) {
+            if (isSubtypeOf(iface, supertypes)) {
+                return true;
+            }
+        }
+        return classInfo.superName() != null && !classInfo.superName().equals(OBJECT)
+                && isSubtypeOf(classInfo.superName(), supertypes);
+    }
+
+    private String getSimpleName(Type type) {
+        if (type.kind() == Type.Kind.ARRAY) {
+            return getSimpleName(type.asArrayType().constituent()) + "[]".repeat(type.asArrayType().dimensions());
+        }
+        if (type.kind() == Type.Kind.PRIMITIVE) {
+            return type.asPrimitiveType().primitive().name().toLowerCase();
+        }
+
+        ClassInfo classInfo = index.getClassByName(type.name());
+        if (classInfo != null) {
+            return classInfo.simpleName();
+        }
+
+        String local = type.name().withoutPackagePrefix();
+        int lastDollar = local.lastIndexOf('$');
+        return lastDollar >= 0 ? local.substring(lastDollar + 1) : local;
+    }
+}
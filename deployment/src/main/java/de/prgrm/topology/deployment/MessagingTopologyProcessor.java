@@ -1,8 +1,11 @@
 package de.prgrm.topology.deployment;
 
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.eclipse.microprofile.config.Config;
 import org.eclipse.microprofile.config.ConfigProvider;
@@ -11,6 +14,8 @@ import org.jboss.jandex.*;
 import de.prgrm.topology.runtime.MessagingTopologyRecorder;
 import de.prgrm.topology.runtime.model.ChannelInfo;
 import de.prgrm.topology.runtime.model.TopologyInfo;
+import de.prgrm.topology.runtime.service.ExamplePayloadGenerator;
+import de.prgrm.topology.runtime.service.SchemaIntrospector;
 import io.quarkus.arc.deployment.AdditionalBeanBuildItem;
 import io.quarkus.deployment.annotations.BuildStep;
 import io.quarkus.deployment.annotations.ExecutionTime;
@@ -24,6 +29,7 @@ public class MessagingTopologyProcessor {
     private static final DotName INCOMING = DotName.createSimple("org.eclipse.microprofile.reactive.messaging.Incoming");
     private static final DotName OUTGOING = DotName.createSimple("org.eclipse.microprofile.reactive.messaging.Outgoing");
     private static final DotName CHANNEL = DotName.createSimple("org.eclipse.microprofile.reactive.messaging.Channel");
+    private static final DotName MESSAGE = DotName.createSimple("org.eclipse.microprofile.reactive.messaging.Message");
 
     private static final DotName EMITTER = DotName.createSimple("org.eclipse.microprofile.reactive.messaging.Emitter");
     private static final DotName MUTINY_EMITTER = DotName.createSimple("io.smallrye.reactive.messaging.MutinyEmitter");
@@ -41,9 +47,16 @@ public class MessagingTopologyProcessor {
                 .addBeanClasses(
                         de.prgrm.topology.runtime.web.TopologyViewController.class,
                         de.prgrm.topology.runtime.web.TopologyApiController.class,
+                        de.prgrm.topology.runtime.web.TopologyEventStream.class,
                         de.prgrm.topology.runtime.service.SchemaIntrospector.class,
                         de.prgrm.topology.runtime.service.MessageSender.class,
+                        de.prgrm.topology.runtime.service.LoadGenerator.class,
+                        de.prgrm.topology.runtime.metrics.ChannelMetrics.class,
+                        de.prgrm.topology.runtime.metrics.ChannelMetricsPublisherDecorator.class,
+                        de.prgrm.topology.runtime.metrics.ChannelMetricsSubscriberDecorator.class,
                         de.prgrm.topology.runtime.service.ServiceRegistry.class,
+                        de.prgrm.topology.runtime.service.TopologyQuery.class,
+                        de.prgrm.topology.runtime.service.TopologyAnalyzer.class,
                         de.prgrm.topology.runtime.generator.MermaidDiagramGenerator.class)
                 .setUnremovable()
                 .build();
@@ -69,6 +82,8 @@ public class MessagingTopologyProcessor {
         String groupId = appArtifact.getGroupId();
         String version = appArtifact.getVersion();
 
+        Set<String> latencyTrackedChannels = new HashSet<>();
+
         TopologyInfo topology = new TopologyInfo();
         topology.setServiceName(serviceName);
         topology.setGroupId(groupId);
@@ -89,9 +104,13 @@ public class MessagingTopologyProcessor {
             // Extract message type from method parameter
             if (method.parametersCount() > 0) {
                 Type paramType = method.parameterType(0);
-                Class<?> messageType = extractMessageTypeFromType(paramType);
+                DotName messageType = extractMessageTypeFromType(paramType);
                 if (messageType != null) {
-                    channelInfo.setMessageType(messageType.getName());
+                    channelInfo.setMessageType(messageType.toString());
+                }
+
+                if (!consumesMessageSubtype(paramType, index)) {
+                    latencyTrackedChannels.add(channelName);
                 }
             }
 
@@ -111,9 +130,9 @@ public class MessagingTopologyProcessor {
 
             // Extract message type from return type
             Type returnType = method.returnType();
-            Class<?> messageType = extractMessageTypeFromType(returnType);
+            DotName messageType = extractMessageTypeFromType(returnType);
             if (messageType != null) {
-                channelInfo.setMessageType(messageType.getName());
+                channelInfo.setMessageType(messageType.toString());
             }
 
             topology.addChannel(channelInfo);
@@ -134,15 +153,35 @@ public class MessagingTopologyProcessor {
                     field.declaringClass().name().toString(), field.name());
 
             // Extract message type for schema at build time
-            Class<?> messageType = extractMessageTypeFromField(fieldType);
+            DotName messageType = extractMessageTypeFromField(fieldType);
             if (messageType != null) {
-                channelInfo.setMessageType(messageType.getName());
+                channelInfo.setMessageType(messageType.toString());
             }
 
             topology.addChannel(channelInfo);
         }
 
+        generateSchemas(topology, new JandexSchemaGenerator(index));
+
         recorder.registerTopology(topology);
+        recorder.registerLatencyTrackedChannels(latencyTrackedChannels);
+    }
+
+    private void generateSchemas(TopologyInfo topology, JandexSchemaGenerator schemaGenerator) {
+        ExamplePayloadGenerator exampleGenerator = new ExamplePayloadGenerator();
+
+        for (ChannelInfo channel : topology.getChannels()) {
+            if (channel.getMessageType() == null) {
+                continue;
+            }
+
+            Map<String, Object> schema = schemaGenerator.generate(DotName.createSimple(channel.getMessageType()));
+            if (schema != null) {
+                channel.setSchema(schema);
+                channel.setExamplePayload(exampleGenerator.generate(schema));
+                channel.setSchemaFingerprint(SchemaIntrospector.fingerprint(schema));
+            }
+        }
     }
 
     private String getTypeName(Type type) {
@@ -152,6 +191,43 @@ public class MessagingTopologyProcessor {
         return type.name().local();
     }
 
+    /**
+     * Whether the consumed type is, or is parameterized with, a connector-specific {@code Message}
+     * subtype such as {@code KafkaRecord}. Such messages cannot be wrapped to time their processing.
+     */
+    private boolean consumesMessageSubtype(Type type, IndexView index) {
+        if (type.kind() == Type.Kind.PARAMETERIZED_TYPE) {
+            for (Type argument : type.asParameterizedType().arguments()) {
+                if (consumesMessageSubtype(argument, index)) {
+                    return true;
+                }
+            }
+        }
+        if (type.kind() != Type.Kind.CLASS && type.kind() != Type.Kind.PARAMETERIZED_TYPE) {
+            return false;
+        }
+        return !type.name().equals(MESSAGE) && isMessageType(type.name(), index);
+    }
+
+    private boolean isMessageType(DotName name, IndexView index) {
+        if (name.equals(MESSAGE)) {
+            return true;
+        }
+
+        ClassInfo classInfo = index.getClassByName(name);
+        if (classInfo == null) {
+            // Connector types are not always indexed, so treat unknown SmallRye types as messages
+            return name.toString().startsWith("io.smallrye.reactive.messaging.");
+        }
+
+        for (DotName interfaceName : classInfo.interfaceNames()) {
+            if (isMessageType(interfaceName, index)) {
+                return true;
+            }
+        }
+        return classInfo.superName() != null && isMessageType(classInfo.superName(), index);
+    }
+
     private String determineDirection(Type fieldType) {
         DotName typeName = fieldType.name();
 
@@ -215,11 +291,11 @@ public class MessagingTopologyProcessor {
         return channelInfo;
     }
 
-    private Class<?> extractMessageTypeFromField(Type fieldType) {
+    private DotName extractMessageTypeFromField(Type fieldType) {
         return extractMessageTypeFromType(fieldType);
     }
 
-    private Class<?> extractMessageTypeFromType(Type type) {
+    private DotName extractMessageTypeFromType(Type type) {
         if (type.kind() == Type.Kind.PARAMETERIZED_TYPE) {
             ParameterizedType pType = type.asParameterizedType();
             List<Type> args = pType.arguments();
@@ -227,22 +303,12 @@ public class MessagingTopologyProcessor {
             if (!args.isEmpty()) {
                 Type firstArg = args.get(0);
                 if (firstArg.kind() == Type.Kind.CLASS) {
-                    try {
-                        return Class.forName(firstArg.name().toString(), false,
-                                Thread.currentThread().getContextClassLoader());
-                    } catch (ClassNotFoundException e) {
-                        // Class not available at build time
-                    }
+                    return firstArg.name();
                 }
             }
         } else if (type.kind() == Type.Kind.CLASS) {
             // Direct type (not wrapped in Emitter, Multi, etc.)
-            try {
-                return Class.forName(type.name().toString(), false,
-                        Thread.currentThread().getContextClassLoader());
-            } catch (ClassNotFoundException e) {
-                // Class not available at build time
-            }
+            return type.name();
         }
         return null;
     }
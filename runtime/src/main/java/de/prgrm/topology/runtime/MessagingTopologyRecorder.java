@@ -1,5 +1,8 @@
 package de.prgrm.topology.runtime;
 
+import java.util.Set;
+
+import de.prgrm.topology.runtime.metrics.ChannelMetrics;
 import de.prgrm.topology.runtime.model.TopologyInfo;
 import de.prgrm.topology.runtime.model.TopologyRegistry;
 import io.quarkus.runtime.annotations.Recorder;
@@ -10,4 +13,8 @@ public class MessagingTopologyRecorder {
     public void registerTopology(TopologyInfo topologyInfo) {
         TopologyRegistry.INSTANCE.setTopology(topologyInfo);
     }
+
+    public void registerLatencyTrackedChannels(Set<String> channelNames) {
+        ChannelMetrics.trackLatency(channelNames);
+    }
 }
\ No newline at end of file
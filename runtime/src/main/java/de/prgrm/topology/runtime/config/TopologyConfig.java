@@ -1,6 +1,7 @@
 // runtime/src/main/java/de/prgrm/topology/runtime/config/TopologyConfig.java
 package de.prgrm.topology.runtime.config;
 
+import java.time.Duration;
 import java.util.Optional;
 
 import io.smallrye.config.ConfigMapping;
@@ -50,16 +51,137 @@ public interface TopologyConfig {
     boolean autoSave();
 
     /**
-     * Include schema information in topology
+     * Include schemas and example payloads in the topology. When disabled, channels only carry a schema
+     * fingerprint and schemas are resolved on first request at {@code /channels/{name}/{direction}/schema}.
      */
     @WithName("include-schema")
     @WithDefault("true")
     boolean includeSchema();
 
+    /**
+     * Format of the topology file written at startup. {@code binary} writes a compact {@code .mtop} file with a
+     * string table that readers map without decoding schemas; readers always accept both formats.
+     */
+    @WithName("storage-format")
+    @WithDefault("json")
+    StorageFormat storageFormat();
+
+    /**
+     * Where services publish their topology. {@code files} writes a topology file and a URL file per service,
+     * {@code journal} appends to one journal per project, which readers tail from the offset they last read.
+     */
+    @WithName("registry-backend")
+    @WithDefault("files")
+    RegistryBackend registryBackend();
+
+    /**
+     * Number of superseded records in the journal above which the next service writing to it compacts it
+     */
+    @WithName("journal-compaction-threshold")
+    @WithDefault("1000")
+    int journalCompactionThreshold();
+
     /**
      * Automatically cleanup (delete) topology file on shutdown
      */
     @WithName("cleanup-on-shutdown")
     @WithDefault("true")
     boolean cleanupOnShutdown();
+
+    /**
+     * Watch the topology directory for changes instead of checking every file on each request.
+     * Disable this on shared network volumes where file system events are not delivered.
+     */
+    @WithName("watch-directory")
+    @WithDefault("true")
+    boolean watchDirectory();
+
+    /**
+     * Maximum number of topology files read and parsed concurrently on virtual threads.
+     * A value of 1 loads files sequentially.
+     */
+    @WithName("load-parallelism")
+    @WithDefault("16")
+    int loadParallelism();
+
+    /**
+     * Maximum number of message types introspected concurrently on virtual threads when enriching channels
+     * with schemas at startup. A value of 1 introspects types sequentially.
+     */
+    @WithName("schema-parallelism")
+    @WithDefault("8")
+    int schemaParallelism();
+
+    /**
+     * Number of service and topic nodes above which the Mermaid diagram collapses the services of each project
+     * or group ID into a single node
+     */
+    @WithName("mermaid-collapse-threshold")
+    @WithDefault("200")
+    int mermaidCollapseThreshold();
+
+    /**
+     * Number of messages serialized and handed to the event loop together by the batch send endpoint
+     */
+    @WithName("send-batch-chunk-size")
+    @WithDefault("500")
+    int sendBatchChunkSize();
+
+    /**
+     * Maximum number of message types kept in the schema cache before the oldest entries are evicted
+     */
+    @WithName("schema-cache-max-size")
+    @WithDefault("256")
+    int schemaCacheMaxSize();
+
+    /**
+     * Count messages flowing through each channel and expose rolling rates on the topology API and viewer
+     */
+    @WithName("metrics-enabled")
+    @WithDefault("true")
+    boolean metricsEnabled();
+
+    /**
+     * Fetch the live topology of every other service from its {@code .url} endpoint instead of
+     * relying on the topology file it wrote at startup
+     */
+    @WithName("remote-fetch")
+    @WithDefault("false")
+    boolean remoteFetch();
+
+    /**
+     * Connect and request timeout per remote service
+     */
+    @WithName("remote-timeout")
+    @WithDefault("2s")
+    Duration remoteTimeout();
+
+    /**
+     * How long a fetched remote topology is served before it is refreshed in the background
+     */
+    @WithName("remote-cache-ttl")
+    @WithDefault("30s")
+    Duration remoteCacheTtl();
+
+    enum RegistryBackend {
+        /**
+         * One topology file and one URL file per service
+         */
+        FILES,
+        /**
+         * One append-only journal per project, see {@code TopologyJournal}
+         */
+        JOURNAL
+    }
+
+    enum StorageFormat {
+        /**
+         * Pretty-printed JSON, readable by older versions
+         */
+        JSON,
+        /**
+         * Compact binary layout, see {@code TopologyBinaryFormat}
+         */
+        BINARY
+    }
 }
@@ -1,142 +1,276 @@
 package de.prgrm.topology.runtime.generator;
 
+import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
-import de.prgrm.topology.runtime.model.ChannelInfo;
+import de.prgrm.topology.runtime.model.TopologyGraph;
+import de.prgrm.topology.runtime.model.TopologyGraph.Connection;
+import de.prgrm.topology.runtime.model.TopologyGraph.Topic;
 import de.prgrm.topology.runtime.model.TopologyInfo;
 
+/**
+ * Renders the aggregated topology as a Mermaid flowchart of services and the topics they produce to or
+ * consume from.
+ * <p>
+ * The diagram is written line by line to a {@link Writer}, so large topologies never exist as one string.
+ * Topologies are scanned once into a {@link TopologyGraph}, which counts the producers and consumers of every
+ * topic while collecting its connections, and node IDs are sanitized once per name. Service node IDs are derived
+ * from the project and service name, so same-named services of different projects get separate nodes.
+ * <p>
+ * When services and topics together exceed the collapse threshold, the services of each group become a single
+ * node inside a {@code subgraph}, together with the topics only that group uses. Services are grouped by
+ * project if they span several projects, otherwise by group ID, and parallel channels between a group and a
+ * topic are drawn as one connection.
+ */
 public class MermaidDiagramGenerator {
 
-    public String generate(List<TopologyInfo> topologies) {
-        StringBuilder mermaid = new StringBuilder();
-        mermaid.append("graph LR\n");
+    /**
+     * Collapse threshold that always renders every service.
+     */
+    public static final int NO_COLLAPSE = Integer.MAX_VALUE;
+
+    private static final int HOT_TOPIC_CONNECTIONS = 4;
 
-        Map<String, Set<Connection>> topicConnections = collectConnections(topologies);
+    private static final String UNGROUPED = "ungrouped";
 
-        renderServices(mermaid, topologies);
-        renderTopics(mermaid, topicConnections);
-        renderConnections(mermaid, topicConnections);
-        renderStyles(mermaid, topologies, topicConnections);
+    public String generate(List<TopologyInfo> topologies) {
+        return generate(topologies, NO_COLLAPSE);
+    }
+
+    public String generate(List<TopologyInfo> topologies, int collapseThreshold) {
+        StringWriter out = new StringWriter();
+        try {
+            write(topologies, out, collapseThreshold);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
 
-        return mermaid.toString();
+    /**
+     * Writes the diagram as UTF-8 to {@code out}, which is flushed but not closed.
+     */
+    public void write(List<TopologyInfo> topologies, OutputStream out, int collapseThreshold) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        write(topologies, writer, collapseThreshold);
+        writer.flush();
     }
 
-    private Map<String, Set<Connection>> collectConnections(List<TopologyInfo> topologies) {
-        Map<String, Set<Connection>> topicConnections = new HashMap<>();
+    /**
+     * Writes the diagram to {@code out}, collapsing services into their groups if there are more than
+     * {@code collapseThreshold} service and topic nodes.
+     */
+    public void write(List<TopologyInfo> topologies, Writer out, int collapseThreshold) throws IOException {
+        TopologyGraph graph = TopologyGraph.of(topologies);
+        Ids ids = new Ids();
 
+        out.write("graph LR\n");
+        if (graph.services().size() + graph.topics().size() > collapseThreshold) {
+            writeCollapsed(out, graph, ids, topologies);
+        } else {
+            writeExpanded(out, graph, ids, topologies);
+        }
+    }
+
+    private void writeExpanded(Writer out, TopologyGraph graph, Ids ids, List<TopologyInfo> topologies) throws IOException {
+        out.write("\n    %% Services\n");
         for (TopologyInfo topology : topologies) {
-            for (ChannelInfo channel : topology.getChannels()) {
-                String topic = channel.getTopic() != null ? channel.getTopic() : channel.getChannelName();
+            line(out, ids.of(topology.serviceKey()), "[\"📦 ", topology.getServiceName(), "\"]");
+        }
+
+        out.write("\n    %% Topics\n");
+        for (Topic topic : graph.topics()) {
+            writeTopic(out, ids, topic);
+        }
 
-                topicConnections.computeIfAbsent(topic, k -> new HashSet<>())
-                        .add(new Connection(topology.getServiceName(), channel.getMethodName(), channel.getDirection()));
+        out.write("\n    %% Connections\n");
+        for (Topic topic : graph.topics()) {
+            for (Connection connection : topic.connections()) {
+                writeConnection(out, ids.of(connection.service()), ids.topic(topic), connection.outgoing(),
+                        connection.method());
             }
         }
 
-        return topicConnections;
+        writeStyleDefinitions(out);
+        for (TopologyInfo topology : topologies) {
+            line(out, "class ", ids.of(topology.serviceKey()), " serviceClass");
+        }
+        writeTopicStyles(out, graph, ids);
     }
 
-    private void renderServices(StringBuilder mermaid, List<TopologyInfo> topologies) {
-        mermaid.append("\n    %% Services\n");
+    private void writeCollapsed(Writer out, TopologyGraph graph, Ids ids, List<TopologyInfo> topologies) throws IOException {
+        boolean byProject = topologies.stream()
+                .map(TopologyInfo::getProjectName)
+                .filter(Objects::nonNull)
+                .distinct()
+                .limit(2)
+                .count() > 1;
+
+        Map<String, String> groupOfService = new HashMap<>();
+        Map<String, Group> groups = new LinkedHashMap<>();
         for (TopologyInfo topology : topologies) {
-            String serviceId = sanitize(topology.getServiceName());
-            mermaid.append("    ").append(serviceId)
-                    .append("[\"📦 ").append(topology.getServiceName()).append("\"]\n");
+            String key = byProject ? topology.getProjectName() : topology.getGroupId();
+            if (key == null) {
+                key = UNGROUPED;
+            }
+            String groupKey = key;
+            groups.computeIfAbsent(groupKey, k -> new Group(k, ids.of("group_" + k))).services++;
+            groupOfService.put(topology.serviceKey(), groupKey);
+        }
+
+        // Topics used by a single group are drawn inside its subgraph, all others between the subgraphs
+        Map<Topic, Map<GroupEdge, Integer>> edges = new LinkedHashMap<>();
+        List<Topic> sharedTopics = new ArrayList<>();
+        for (Topic topic : graph.topics()) {
+            Map<GroupEdge, Integer> topicEdges = new LinkedHashMap<>();
+            for (Connection connection : topic.connections()) {
+                topicEdges.merge(new GroupEdge(groupOfService.get(connection.service()), connection.outgoing()), 1,
+                        Integer::sum);
+            }
+            edges.put(topic, topicEdges);
+
+            String owner = null;
+            boolean shared = false;
+            for (GroupEdge edge : topicEdges.keySet()) {
+                if (owner != null && !owner.equals(edge.group())) {
+                    shared = true;
+                    break;
+                }
+                owner = edge.group();
+            }
+            if (shared || owner == null) {
+                sharedTopics.add(topic);
+            } else {
+                groups.get(owner).topics.add(topic);
+            }
         }
-    }
 
-    private void renderTopics(StringBuilder mermaid, Map<String, Set<Connection>> topicConnections) {
-        mermaid.append("\n    %% Topics\n");
-        for (Map.Entry<String, Set<Connection>> entry : topicConnections.entrySet()) {
-            String topic = entry.getKey();
-            String topicId = sanitize("topic_" + topic);
-            Set<Connection> connections = entry.getValue();
+        out.write("\n    %% Service groups\n");
+        for (Group group : groups.values()) {
+            line(out, "subgraph ", group.id, "_box[\"🗂️ ", group.name, "\"]");
+            line(out, "    ", group.id, "[\"📦 ", group.name, "<br/><small>", Integer.toString(group.services),
+                    group.services == 1 ? " service" : " services", "</small>\"]");
+            for (Topic topic : group.topics) {
+                out.write("    ");
+                writeTopic(out, ids, topic);
+            }
+            line(out, "end");
+        }
 
-            long producers = connections.stream().filter(c -> "outgoing".equals(c.direction)).count();
-            long consumers = connections.stream().filter(c -> "incoming".equals(c.direction)).count();
+        out.write("\n    %% Shared topics\n");
+        for (Topic topic : sharedTopics) {
+            writeTopic(out, ids, topic);
+        }
+
+        out.write("\n    %% Connections\n");
+        for (Map.Entry<Topic, Map<GroupEdge, Integer>> entry : edges.entrySet()) {
+            for (Map.Entry<GroupEdge, Integer> edge : entry.getValue().entrySet()) {
+                int channels = edge.getValue();
+                writeConnection(out, groups.get(edge.getKey().group()).id, ids.topic(entry.getKey()), edge.getKey().outgoing(),
+                        channels == 1 ? "1 channel" : channels + " channels");
+            }
+        }
 
-            mermaid.append("    ").append(topicId)
-                    .append("((\"💬 ").append(topic)
-                    .append("<br/><small>P:").append(producers)
-                    .append(" C:").append(consumers).append("</small>\"))\n");
+        writeStyleDefinitions(out);
+        for (Group group : groups.values()) {
+            line(out, "class ", group.id, " serviceClass");
         }
+        writeTopicStyles(out, graph, ids);
     }
 
-    private void renderConnections(StringBuilder mermaid, Map<String, Set<Connection>> topicConnections) {
-        mermaid.append("\n    %% Connections\n");
-        for (Map.Entry<String, Set<Connection>> entry : topicConnections.entrySet()) {
-            String topicId = sanitize("topic_" + entry.getKey());
-
-            for (Connection conn : entry.getValue()) {
-                String serviceId = sanitize(conn.serviceName);
-
-                if ("outgoing".equals(conn.direction)) {
-                    mermaid.append("    ").append(serviceId)
-                            .append(" -->|\"").append(conn.method).append("\"| ")
-                            .append(topicId).append("\n");
-                } else {
-                    mermaid.append("    ").append(topicId)
-                            .append(" -->|\"").append(conn.method).append("\"| ")
-                            .append(serviceId).append("\n");
-                }
-            }
+    private void writeTopic(Writer out, Ids ids, Topic topic) throws IOException {
+        line(out, ids.topic(topic), "((\"💬 ", topic.name(),
+                "<br/><small>P:", Integer.toString(topic.producerConnections()),
+                " C:", Integer.toString(topic.consumerConnections()), "</small>\"))");
+    }
+
+    private void writeConnection(Writer out, String serviceId, String topicId, boolean outgoing, String label)
+            throws IOException {
+        if (outgoing) {
+            line(out, serviceId, " -->|\"", label, "\"| ", topicId);
+        } else {
+            line(out, topicId, " -->|\"", label, "\"| ", serviceId);
         }
     }
 
-    private void renderStyles(StringBuilder mermaid, List<TopologyInfo> topologies,
-            Map<String, Set<Connection>> topicConnections) {
-        mermaid.append("\n    %% Styling\n");
-        mermaid.append("    classDef serviceClass fill:#4A90E2,stroke:#2E5C8A,stroke-width:2px,color:#fff\n");
-        mermaid.append("    classDef topicClass fill:#F5A623,stroke:#D68910,stroke-width:2px,color:#fff\n");
-        mermaid.append("    classDef hotTopicClass fill:#E74C3C,stroke:#C0392B,stroke-width:3px,color:#fff\n");
+    private void writeStyleDefinitions(Writer out) throws IOException {
+        out.write("\n    %% Styling\n");
+        line(out, "classDef serviceClass fill:#4A90E2,stroke:#2E5C8A,stroke-width:2px,color:#fff");
+        line(out, "classDef topicClass fill:#F5A623,stroke:#D68910,stroke-width:2px,color:#fff");
+        line(out, "classDef hotTopicClass fill:#E74C3C,stroke:#C0392B,stroke-width:3px,color:#fff");
+    }
 
-        for (TopologyInfo topology : topologies) {
-            mermaid.append("    class ").append(sanitize(topology.getServiceName()))
-                    .append(" serviceClass\n");
+    private void writeTopicStyles(Writer out, TopologyGraph graph, Ids ids) throws IOException {
+        for (Topic topic : graph.topics()) {
+            line(out, "class ", ids.topic(topic),
+                    topic.connections().size() >= HOT_TOPIC_CONNECTIONS ? " hotTopicClass" : " topicClass");
         }
+    }
 
-        for (Map.Entry<String, Set<Connection>> entry : topicConnections.entrySet()) {
-            String topicId = sanitize("topic_" + entry.getKey());
-            int totalConnections = entry.getValue().size();
+    private static void line(Writer out, String... parts) throws IOException {
+        out.write("    ");
+        for (String part : parts) {
+            out.write(part != null ? part : "null");
+        }
+        out.write('\n');
+    }
 
-            if (totalConnections >= 4) {
-                mermaid.append("    class ").append(topicId).append(" hotTopicClass\n");
+    /**
+     * Replaces every character except ASCII letters, digits and underscores with an underscore, one per code
+     * point. The viewer derives topic IDs the same way with {@code replace(/[^a-zA-Z0-9_]/gu, '_')}, whose
+     * {@code u} flag makes it match code points rather than UTF-16 units.
+     */
+    static String sanitize(String name) {
+        StringBuilder id = null;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            boolean valid = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+            if (valid && id == null) {
+                continue;
+            }
+            if (id == null) {
+                id = new StringBuilder(name.length()).append(name, 0, i);
+            }
+            if (valid) {
+                id.append(c);
             } else {
-                mermaid.append("    class ").append(topicId).append(" topicClass\n");
+                id.append('_');
+                if (Character.isHighSurrogate(c) && i + 1 < name.length() && Character.isLowSurrogate(name.charAt(i + 1))) {
+                    i++;
+                }
             }
         }
+        return id != null ? id.toString() : name;
     }
 
-    private String sanitize(String id) {
-        return id.replaceAll("[^a-zA-Z0-9_]", "_");
-    }
-
-    private static class Connection {
-        final String serviceName;
-        final String method;
-        final String direction;
+    /**
+     * Sanitized node IDs, computed once per name.
+     */
+    private static final class Ids {
+        private final Map<String, String> ids = new HashMap<>();
 
-        Connection(String serviceName, String method, String direction) {
-            this.serviceName = serviceName;
-            this.method = method;
-            this.direction = direction;
+        String of(String name) {
+            return ids.computeIfAbsent(name != null ? name : "null", MermaidDiagramGenerator::sanitize);
         }
 
-        @Override
-        public boolean equals(Object o) {
-            if (this == o)
-                return true;
-            if (!(o instanceof Connection))
-                return false;
-            Connection that = (Connection) o;
-            return Objects.equals(serviceName, that.serviceName) &&
-                    Objects.equals(method, that.method) &&
-                    Objects.equals(direction, that.direction);
+        String topic(Topic topic) {
+            return of("topic_" + topic.name());
         }
+    }
 
-        @Override
-        public int hashCode() {
-            return Objects.hash(serviceName, method, direction);
+    private static final class Group {
+        final String name;
+        final String id;
+        final List<Topic> topics = new ArrayList<>();
+        int services;
+
+        Group(String name, String id) {
+            this.name = name;
+            this.id = id;
         }
     }
+
+    private record GroupEdge(String group, boolean outgoing) {
+    }
 }
@@ -0,0 +1,46 @@
+package de.prgrm.topology.runtime.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Message counter for one channel and direction.
+ * <p>
+ * Increments go to a {@link LongAdder}, so concurrent streams never contend on a shared word.
+ * Rolling rates are derived from a ring of per-second samples of the running total that is
+ * filled by {@link ChannelMetrics}.
+ */
+public class ChannelCounter {
+
+    static final int WINDOW_SECONDS = 300;
+
+    private final LongAdder count = new LongAdder();
+    private final long[] samples = new long[WINDOW_SECONDS + 1];
+    private long samplesTaken;
+
+    public void increment() {
+        count.increment();
+    }
+
+    public long getTotal() {
+        return count.sum();
+    }
+
+    synchronized void sample() {
+        samples[(int) (samplesTaken % samples.length)] = count.sum();
+        samplesTaken++;
+    }
+
+    /**
+     * Average messages per second over the last {@code seconds}, or over the available history
+     * while the window has not filled up yet.
+     */
+    public synchronized double rate(int seconds) {
+        long span = Math.min(Math.min(seconds, WINDOW_SECONDS), samplesTaken - 1);
+        if (span <= 0) {
+            return 0;
+        }
+        long latest = samples[(int) ((samplesTaken - 1) % samples.length)];
+        long oldest = samples[(int) ((samplesTaken - 1 - span) % samples.length)];
+        return (double) (latest - oldest) / span;
+    }
+}
@@ -0,0 +1,125 @@
+package de.prgrm.topology.runtime.metrics;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+import de.prgrm.topology.runtime.config.TopologyConfig;
+import de.prgrm.topology.runtime.model.ChannelInfo;
+import de.prgrm.topology.runtime.model.TopologyInfo;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.vertx.core.Vertx;
+
+/**
+ * Registry of per-channel message counters, fed by {@link ChannelMetricsPublisherDecorator} and
+ * {@link ChannelMetricsSubscriberDecorator}.
+ * <p>
+ * Counters are resolved once when a stream is wired, so the per-message cost is a single
+ * {@code LongAdder} increment. A Vert.x timer samples all counters once per second to compute
+ * the rolling 1s/1m/5m rates.
+ * <p>
+ * Processing time of {@code @Incoming} methods, from delivery until ack or nack, is recorded
+ * into one {@link LatencyHistogram} per channel. Channels whose method consumes a
+ * connector-specific message type are excluded at build time, as their messages cannot be wrapped.
+ */
+@ApplicationScoped
+public class ChannelMetrics {
+
+    @Inject
+    Vertx vertx;
+
+    @Inject
+    TopologyConfig config;
+
+    private final Map<String, ChannelCounter> incoming = new ConcurrentHashMap<>();
+    private final Map<String, ChannelCounter> outgoing = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> processingTimes = new ConcurrentHashMap<>();
+
+    private static volatile Set<String> latencyTrackedChannels = Set.of();
+
+    private long samplerId = -1;
+
+    void onStart(@Observes StartupEvent event) {
+        if (config.metricsEnabled()) {
+            samplerId = vertx.setPeriodic(1000, id -> sampleAll());
+        }
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (samplerId >= 0) {
+            vertx.cancelTimer(samplerId);
+        }
+    }
+
+    public boolean isEnabled() {
+        return config.metricsEnabled();
+    }
+
+    public ChannelCounter incoming(String channelName) {
+        return incoming.computeIfAbsent(channelName, k -> new ChannelCounter());
+    }
+
+    public ChannelCounter outgoing(String channelName) {
+        return outgoing.computeIfAbsent(channelName, k -> new ChannelCounter());
+    }
+
+    /**
+     * Registers the {@code @Incoming} channels whose processing time can be measured.
+     */
+    public static void trackLatency(Set<String> channelNames) {
+        latencyTrackedChannels = Set.copyOf(channelNames);
+    }
+
+    /**
+     * Returns the processing time histogram of an incoming channel, or {@code null} if its
+     * processing time is not tracked.
+     */
+    public LatencyHistogram processingTime(String channelName) {
+        if (!latencyTrackedChannels.contains(channelName)) {
+            return null;
+        }
+        return processingTimes.computeIfAbsent(channelName, k -> new LatencyHistogram());
+    }
+
+    /**
+     * Returns the current counts and rates for every channel of the given topology, in channel order.
+     * Channels that have not seen any traffic are reported with zero values.
+     */
+    public List<ChannelRate> snapshot(TopologyInfo topology) {
+        List<ChannelRate> rates = new ArrayList<>();
+        if (topology == null) {
+            return rates;
+        }
+
+        for (ChannelInfo channel : topology.getChannels()) {
+            Map<String, ChannelCounter> counters = "incoming".equals(channel.getDirection()) ? incoming : outgoing;
+            ChannelCounter counter = counters.get(channel.getChannelName());
+            String topic = channel.getTopic() != null ? channel.getTopic() : channel.getChannelName();
+
+            LatencyHistogram latency = "incoming".equals(channel.getDirection())
+                    ? processingTimes.get(channel.getChannelName())
+                    : null;
+
+            rates.add(new ChannelRate(channel.getChannelName(), topic, channel.getDirection(),
+                    counter != null ? counter.getTotal() : 0,
+                    counter != null ? counter.rate(1) : 0,
+                    counter != null ? counter.rate(60) : 0,
+                    counter != null ? counter.rate(300) : 0,
+                    latency != null ? latency.snapshot() : null));
+        }
+        return rates;
+    }
+
+    private void sampleAll() {
+        incoming.values().forEach(ChannelCounter::sample);
+        outgoing.values().forEach(ChannelCounter::sample);
+    }
+
+    public record ChannelRate(String channel, String topic, String direction, long total, double rate1s, double rate1m,
+            double rate5m, LatencyHistogram.Snapshot processingTime) {
+    }
+}
@@ -0,0 +1,43 @@
+package de.prgrm.topology.runtime.metrics;
+
+import java.util.List;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.reactive.messaging.Message;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.reactive.messaging.PublisherDecorator;
+
+/**
+ * Counts messages produced by {@code @Outgoing} methods and emitters.
+ * <p>
+ * Streams coming from inbound connectors are left alone; they are counted where they reach the
+ * consuming method, by {@link ChannelMetricsSubscriberDecorator}.
+ */
+@ApplicationScoped
+public class ChannelMetricsPublisherDecorator implements PublisherDecorator {
+
+    @Inject
+    ChannelMetrics metrics;
+
+    @Override
+    public Multi<? extends Message<?>> decorate(Multi<? extends Message<?>> publisher, List<String> channelNames,
+            boolean isConnector) {
+        if (isConnector || !metrics.isEnabled() || channelNames.isEmpty()) {
+            return publisher;
+        }
+
+        ChannelCounter[] counters = new ChannelCounter[channelNames.size()];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = metrics.outgoing(channelNames.get(i));
+        }
+
+        return publisher.invoke(message -> {
+            for (ChannelCounter counter : counters) {
+                counter.increment();
+            }
+        });
+    }
+}
@@ -0,0 +1,55 @@
+package de.prgrm.topology.runtime.metrics;
+
+import java.util.List;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.reactive.messaging.Message;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.reactive.messaging.SubscriberDecorator;
+
+/**
+ * Counts messages delivered to {@code @Incoming} methods and times their processing until ack or nack.
+ * <p>
+ * Streams going to outbound connectors are left alone; they are already counted where they are
+ * produced, by {@link ChannelMetricsPublisherDecorator}.
+ */
+@ApplicationScoped
+public class ChannelMetricsSubscriberDecorator implements SubscriberDecorator {
+
+    @Inject
+    ChannelMetrics metrics;
+
+    @Override
+    public Multi<? extends Message<?>> decorate(Multi<? extends Message<?>> toBeSubscribed, List<String> channelNames,
+            boolean isConnector) {
+        if (isConnector || !metrics.isEnabled() || channelNames.isEmpty()) {
+            return toBeSubscribed;
+        }
+
+        ChannelCounter[] counters = new ChannelCounter[channelNames.size()];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = metrics.incoming(channelNames.get(i));
+        }
+
+        // A method consuming several channels is timed under the first one
+        LatencyHistogram processingTime = metrics.processingTime(channelNames.get(0));
+
+        if (processingTime == null) {
+            return toBeSubscribed.invoke(message -> {
+                for (ChannelCounter counter : counters) {
+                    counter.increment();
+                }
+            });
+        }
+
+        return toBeSubscribed.map(message -> {
+            for (ChannelCounter counter : counters) {
+                counter.increment();
+            }
+            return new TimedMessage<>(message, processingTime);
+        });
+    }
+}
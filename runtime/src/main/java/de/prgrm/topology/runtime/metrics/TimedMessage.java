@@ -0,0 +1,133 @@
+package de.prgrm.topology.runtime.metrics;
+
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.eclipse.microprofile.reactive.messaging.Metadata;
+
+/**
+ * Delegating message that records the time from delivery until the first ack or nack.
+ * <p>
+ * The message is its own ack function, so wrapping costs a single object per message and recording
+ * into the {@link LatencyHistogram} does not allocate. The nack functions, which are rarely asked for,
+ * are created on first use and then kept. Messages derived via {@code withPayload} keep the timing,
+ * as they inherit the ack and nack functions.
+ */
+class TimedMessage<T> implements Message<T>, Supplier<CompletionStage<Void>>, Function<Metadata, CompletionStage<Void>> {
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static final AtomicIntegerFieldUpdater<TimedMessage<?>> COMPLETED = (AtomicIntegerFieldUpdater) AtomicIntegerFieldUpdater
+            .newUpdater(TimedMessage.class, "completed");
+
+    private final Message<T> delegate;
+    private final LatencyHistogram histogram;
+    private final long deliveredNanos;
+
+    private volatile int completed;
+
+    // Racing threads may each create one; they behave the same
+    private Function<Throwable, CompletionStage<Void>> nack;
+    private BiFunction<Throwable, Metadata, CompletionStage<Void>> nackWithMetadata;
+
+    TimedMessage(Message<T> delegate, LatencyHistogram histogram) {
+        this.delegate = delegate;
+        this.histogram = histogram;
+        this.deliveredNanos = System.nanoTime();
+    }
+
+    @Override
+    public T getPayload() {
+        return delegate.getPayload();
+    }
+
+    @Override
+    public Metadata getMetadata() {
+        return delegate.getMetadata();
+    }
+
+    @Override
+    public <M> Optional<M> getMetadata(Class<? extends M> clazz) {
+        return delegate.getMetadata(clazz);
+    }
+
+    @Override
+    public Supplier<CompletionStage<Void>> getAck() {
+        return this;
+    }
+
+    @Override
+    public Function<Metadata, CompletionStage<Void>> getAckWithMetadata() {
+        return this;
+    }
+
+    @Override
+    public Function<Throwable, CompletionStage<Void>> getNack() {
+        Function<Throwable, CompletionStage<Void>> function = nack;
+        if (function == null) {
+            function = this::nack;
+            nack = function;
+        }
+        return function;
+    }
+
+    @Override
+    public BiFunction<Throwable, Metadata, CompletionStage<Void>> getNackWithMetadata() {
+        BiFunction<Throwable, Metadata, CompletionStage<Void>> function = nackWithMetadata;
+        if (function == null) {
+            function = this::nack;
+            nackWithMetadata = function;
+        }
+        return function;
+    }
+
+    @Override
+    public CompletionStage<Void> ack() {
+        return apply(Metadata.empty());
+    }
+
+    @Override
+    public CompletionStage<Void> ack(Metadata metadata) {
+        return apply(metadata);
+    }
+
+    @Override
+    public CompletionStage<Void> nack(Throwable reason) {
+        return nack(reason, Metadata.empty());
+    }
+
+    @Override
+    public CompletionStage<Void> nack(Throwable reason, Metadata metadata) {
+        record();
+        return delegate.nack(reason, metadata);
+    }
+
+    @Override
+    public <C> C unwrap(Class<C> unwrapType) {
+        if (unwrapType.isInstance(this)) {
+            return unwrapType.cast(this);
+        }
+        return delegate.unwrap(unwrapType);
+    }
+
+    @Override
+    public CompletionStage<Void> get() {
+        return apply(Metadata.empty());
+    }
+
+    @Override
+    public CompletionStage<Void> apply(Metadata metadata) {
+        record();
+        return delegate.ack(metadata);
+    }
+
+    private void record() {
+        if (COMPLETED.compareAndSet(this, 0, 1)) {
+            histogram.recordNanos(System.nanoTime() - deliveredNanos);
+        }
+    }
+}
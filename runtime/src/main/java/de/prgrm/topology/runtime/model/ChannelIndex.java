@@ -0,0 +1,81 @@
+package de.prgrm.topology.runtime.model;
+
+import java.util.*;
+
+/**
+ * Immutable lookup indexes over the channels of one topology: by channel name and direction,
+ * by topic and by connector.
+ * <p>
+ * Lookups by name and direction do not allocate, as they sit on the path of every sent message.
+ */
+public final class ChannelIndex {
+
+    private final Map<String, Map<String, ChannelInfo>> byDirectionAndName;
+    private final Map<String, List<ChannelInfo>> byTopic;
+    private final Map<String, List<ChannelInfo>> byConnector;
+
+    private ChannelIndex(List<ChannelInfo> channels) {
+        Map<String, Map<String, ChannelInfo>> directions = new HashMap<>();
+        Map<String, List<ChannelInfo>> topics = new HashMap<>();
+        Map<String, List<ChannelInfo>> connectors = new HashMap<>();
+
+        for (ChannelInfo channel : channels) {
+            if (channel.getChannelName() != null && channel.getDirection() != null) {
+                directions.computeIfAbsent(channel.getDirection(), k -> new HashMap<>())
+                        .putIfAbsent(channel.getChannelName(), channel);
+            }
+
+            String topic = channel.getTopic() != null ? channel.getTopic() : channel.getChannelName();
+            if (topic != null) {
+                topics.computeIfAbsent(topic, k -> new ArrayList<>()).add(channel);
+            }
+            if (channel.getConnector() != null) {
+                connectors.computeIfAbsent(channel.getConnector(), k -> new ArrayList<>()).add(channel);
+            }
+        }
+
+        Map<String, Map<String, ChannelInfo>> immutableDirections = new HashMap<>();
+        directions.forEach((direction, byName) -> immutableDirections.put(direction, Map.copyOf(byName)));
+
+        this.byDirectionAndName = Map.copyOf(immutableDirections);
+        this.byTopic = copyOf(topics);
+        this.byConnector = copyOf(connectors);
+    }
+
+    public static ChannelIndex of(List<ChannelInfo> channels) {
+        return new ChannelIndex(channels != null ? channels : List.of());
+    }
+
+    /**
+     * Returns the channel with the given name and direction, or {@code null} if there is none.
+     */
+    public ChannelInfo find(String channelName, String direction) {
+        if (channelName == null || direction == null) {
+            return null;
+        }
+        Map<String, ChannelInfo> byName = byDirectionAndName.get(direction);
+        return byName != null ? byName.get(channelName) : null;
+    }
+
+    public List<ChannelInfo> byTopic(String topic) {
+        return byTopic.getOrDefault(topic, List.of());
+    }
+
+    public List<ChannelInfo> byConnector(String connector) {
+        return byConnector.getOrDefault(connector, List.of());
+    }
+
+    public Set<String> topics() {
+        return byTopic.keySet();
+    }
+
+    public Set<String> connectors() {
+        return byConnector.keySet();
+    }
+
+    private static Map<String, List<ChannelInfo>> copyOf(Map<String, List<ChannelInfo>> source) {
+        Map<String, List<ChannelInfo>> copy = new HashMap<>();
+        source.forEach((key, value) -> copy.put(key, List.copyOf(value)));
+        return Map.copyOf(copy);
+    }
+}
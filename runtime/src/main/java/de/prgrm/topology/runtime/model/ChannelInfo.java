@@ -1,5 +1,6 @@
 package de.prgrm.topology.runtime.model;
 
+import java.util.Collections;
 import java.util.Map;
 
 public class ChannelInfo {
@@ -13,6 +14,11 @@ public class ChannelInfo {
 
     private Map<String, Object> schema;
     private Map<String, Object> examplePayload;
+    private String schemaFingerprint; // Identifies the schema, also when it is not embedded
+
+    private boolean frozen;
+
+    private static final Class<?> READ_ONLY_MAP = Collections.unmodifiableMap(Map.of()).getClass();
 
     // Alle Getter/Setter + neue:
     public Map<String, Object> getSchema() {
@@ -20,6 +26,7 @@ public class ChannelInfo {
     }
 
     public void setSchema(Map<String, Object> schema) {
+        checkMutable();
         this.schema = schema;
     }
 
@@ -28,9 +35,19 @@ public class ChannelInfo {
     }
 
     public void setExamplePayload(Map<String, Object> examplePayload) {
+        checkMutable();
         this.examplePayload = examplePayload;
     }
 
+    public String getSchemaFingerprint() {
+        return schemaFingerprint;
+    }
+
+    public void setSchemaFingerprint(String schemaFingerprint) {
+        checkMutable();
+        this.schemaFingerprint = schemaFingerprint;
+    }
+
     public ChannelInfo() {
     }
 
@@ -47,6 +64,7 @@ public class ChannelInfo {
     }
 
     public void setChannelName(String channelName) {
+        checkMutable();
         this.channelName = channelName;
     }
 
@@ -55,6 +73,7 @@ public class ChannelInfo {
     }
 
     public void setDirection(String direction) {
+        checkMutable();
         this.direction = direction;
     }
 
@@ -63,6 +82,7 @@ public class ChannelInfo {
     }
 
     public void setClassName(String className) {
+        checkMutable();
         this.className = className;
     }
 
@@ -71,6 +91,7 @@ public class ChannelInfo {
     }
 
     public void setMethodName(String methodName) {
+        checkMutable();
         this.methodName = methodName;
     }
 
@@ -79,6 +100,7 @@ public class ChannelInfo {
     }
 
     public void setTopic(String topic) {
+        checkMutable();
         this.topic = topic;
     }
 
@@ -87,6 +109,7 @@ public class ChannelInfo {
     }
 
     public void setConnector(String connector) {
+        checkMutable();
         this.connector = connector;
     }
 
@@ -95,6 +118,43 @@ public class ChannelInfo {
     }
 
     public void setMessageType(String messageType) {
+        checkMutable();
         this.messageType = messageType;
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns a modifiable copy. Schema and example payload maps are shared, not copied.
+     */
+    public ChannelInfo copy() {
+        ChannelInfo copy = new ChannelInfo(channelName, direction, className, methodName);
+        copy.topic = topic;
+        copy.connector = connector;
+        copy.messageType = messageType;
+        copy.schema = schema;
+        copy.examplePayload = examplePayload;
+        copy.schemaFingerprint = schemaFingerprint;
+        return copy;
+    }
+
+    /**
+     * Rejects all further changes and makes the schema and example payload read-only. Their nested maps and lists
+     * are shared with copies and must not be modified either. Not a bean property, so it is neither serialized nor
+     * recorded.
+     */
+    void freeze() {
+        schema = readOnly(schema);
+        examplePayload = readOnly(examplePayload);
+        frozen = true;
+    }
+
+    private static Map<String, Object> readOnly(Map<String, Object> map) {
+        // Copies of frozen channels share the read-only view, so it is not wrapped again
+        return map == null || map.getClass() == READ_ONLY_MAP ? map : Collections.unmodifiableMap(map);
+    }
+
+    private void checkMutable() {
+        if (frozen) {
+            throw new IllegalStateException("Channel " + channelName + " belongs to a published topology");
+        }
+    }
+}
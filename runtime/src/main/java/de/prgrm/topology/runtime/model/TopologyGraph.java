@@ -0,0 +1,258 @@
+package de.prgrm.topology.runtime.model;
+
+import java.util.*;
+
+/**
+ * Services and topics of the aggregated topology as a graph.
+ * <p>
+ * Every channel connects its service to its topic (the channel name if it has none), either as producer or as
+ * consumer. On top of these connections the graph keeps adjacency indexes from topics to their producing and
+ * consuming services, and from every producing service to the services consuming any of its topics.
+ * <p>
+ * Services are identified by {@link TopologyInfo#serviceKey()}, so same-named services of different projects stay
+ * apart. {@link #put} and {@link #remove} update the indexes for the topics of one service only.
+ * Not thread-safe.
+ */
+public class TopologyGraph {
+
+    private final Map<String, Set<Connection>> connectionsByService = new LinkedHashMap<>();
+    private final Map<String, Topic> topics = new LinkedHashMap<>();
+
+    // Producing service -> consuming service -> number of topics between them
+    private final Map<String, Map<String, Integer>> downstream = new HashMap<>();
+    private long structureVersion;
+
+    public static TopologyGraph of(Collection<TopologyInfo> topologies) {
+        TopologyGraph graph = new TopologyGraph();
+        for (TopologyInfo topology : topologies) {
+            graph.put(topology);
+        }
+        return graph;
+    }
+
+    /**
+     * Adds a service or replaces its connections.
+     *
+     * @return names of the topics whose connections changed
+     */
+    public Set<String> put(TopologyInfo topology) {
+        String service = topology.serviceKey();
+        Set<Connection> next = new LinkedHashSet<>();
+        for (ChannelInfo channel : topology.getChannels()) {
+            next.add(new Connection(service, topicOf(channel), channel.getMethodName(),
+                    "outgoing".equals(channel.getDirection())));
+        }
+
+        Set<Connection> previous = connectionsByService.put(service, next);
+        return replace(previous != null ? previous : Set.of(), next);
+    }
+
+    /**
+     * Removes a service, given by its service key, and all its connections.
+     *
+     * @return names of the topics whose connections changed
+     */
+    public Set<String> remove(String service) {
+        Set<Connection> previous = connectionsByService.remove(service);
+        return previous != null ? replace(previous, Set.of()) : Set.of();
+    }
+
+    public Set<String> services() {
+        return Collections.unmodifiableSet(connectionsByService.keySet());
+    }
+
+    public Collection<Topic> topics() {
+        return Collections.unmodifiableCollection(topics.values());
+    }
+
+    /**
+     * The named topic, or {@code null} if no service uses it.
+     */
+    public Topic topic(String name) {
+        return topics.get(name);
+    }
+
+    /**
+     * Services consuming at least one topic the given service produces.
+     */
+    public Set<String> downstreamOf(String service) {
+        Map<String, Integer> consumers = downstream.get(service);
+        return consumers != null ? Collections.unmodifiableSet(consumers.keySet()) : Set.of();
+    }
+
+    /**
+     * Topics produced by {@code producer} and consumed by {@code consumer}, ordered by name.
+     */
+    public List<String> topicsBetween(String producer, String consumer) {
+        Set<String> between = new TreeSet<>();
+        for (Connection connection : connectionsByService.getOrDefault(producer, Set.of())) {
+            if (connection.outgoing() && topics.get(connection.topic()).consumers.containsKey(consumer)) {
+                between.add(connection.topic());
+            }
+        }
+        return List.copyOf(between);
+    }
+
+    /**
+     * Changes whenever a service starts or stops consuming from another service, so results derived from the
+     * service-to-service structure only need to be recomputed when it changed.
+     */
+    public long structureVersion() {
+        return structureVersion;
+    }
+
+    private Set<String> replace(Set<Connection> previous, Set<Connection> next) {
+        if (previous.equals(next)) {
+            return Set.of();
+        }
+
+        Set<String> touched = new LinkedHashSet<>();
+        for (Connection connection : previous) {
+            touched.add(connection.topic());
+        }
+        for (Connection connection : next) {
+            touched.add(connection.topic());
+        }
+
+        // Net change of the service-to-service edges contributed by the touched topics
+        Map<String, Map<String, Integer>> changes = new HashMap<>();
+        for (String name : touched) {
+            Topic topic = topics.get(name);
+            if (topic != null) {
+                contribute(topic, -1, changes);
+            }
+        }
+        for (Connection connection : previous) {
+            topics.get(connection.topic()).remove(connection);
+        }
+        for (Connection connection : next) {
+            topics.computeIfAbsent(connection.topic(), Topic::new).add(connection);
+        }
+        for (String name : touched) {
+            Topic topic = topics.get(name);
+            if (topic.connections.isEmpty()) {
+                topics.remove(name);
+            } else {
+                contribute(topic, 1, changes);
+            }
+        }
+        applyEdgeChanges(changes);
+        return touched;
+    }
+
+    private static void contribute(Topic topic, int delta, Map<String, Map<String, Integer>> changes) {
+        for (String producer : topic.producers.keySet()) {
+            Map<String, Integer> consumers = changes.computeIfAbsent(producer, p -> new HashMap<>());
+            for (String consumer : topic.consumers.keySet()) {
+                consumers.merge(consumer, delta, Integer::sum);
+            }
+        }
+    }
+
+    private void applyEdgeChanges(Map<String, Map<String, Integer>> changes) {
+        changes.forEach((producer, consumerChanges) -> consumerChanges.forEach((consumer, delta) -> {
+            if (delta == 0) {
+                return;
+            }
+            Map<String, Integer> consumers = downstream.computeIfAbsent(producer, p -> new HashMap<>());
+            int before = consumers.getOrDefault(consumer, 0);
+            int after = before + delta;
+            if (after == 0) {
+                consumers.remove(consumer);
+                if (consumers.isEmpty()) {
+                    downstream.remove(producer);
+                }
+                structureVersion++;
+            } else {
+                consumers.put(consumer, after);
+                if (before == 0) {
+                    structureVersion++;
+                }
+            }
+        }));
+    }
+
+    private static String topicOf(ChannelInfo channel) {
+        return channel.getTopic() != null ? channel.getTopic() : channel.getChannelName();
+    }
+
+    /**
+     * One channel between a service and a topic. Channels of the same service, method and direction on the same
+     * topic count as one connection.
+     */
+    public record Connection(String service, String topic, String method, boolean outgoing) {
+    }
+
+    /**
+     * A topic with its connections and the services producing to and consuming from it.
+     */
+    public static final class Topic {
+        private final String name;
+        private final Set<Connection> connections = new LinkedHashSet<>();
+        // Service -> number of its connections
+        private final Map<String, Integer> producers = new LinkedHashMap<>();
+        private final Map<String, Integer> consumers = new LinkedHashMap<>();
+        private int producerConnections;
+        private int consumerConnections;
+
+        Topic(String name) {
+            this.name = name;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public Set<Connection> connections() {
+            return Collections.unmodifiableSet(connections);
+        }
+
+        public Set<String> producerServices() {
+            return Collections.unmodifiableSet(producers.keySet());
+        }
+
+        public Set<String> consumerServices() {
+            return Collections.unmodifiableSet(consumers.keySet());
+        }
+
+        /**
+         * Number of producing connections; a service producing from two methods counts twice.
+         */
+        public int producerConnections() {
+            return producerConnections;
+        }
+
+        /**
+         * Number of consuming connections; a service consuming from two methods counts twice.
+         */
+        public int consumerConnections() {
+            return consumerConnections;
+        }
+
+        private void add(Connection connection) {
+            if (connections.add(connection)) {
+                if (connection.outgoing()) {
+                    producerConnections++;
+                    producers.merge(connection.service(), 1, Integer::sum);
+                } else {
+                    consumerConnections++;
+                    consumers.merge(connection.service(), 1, Integer::sum);
+                }
+            }
+        }
+
+        private void remove(Connection connection) {
+            if (connections.remove(connection)) {
+                Map<String, Integer> services = connection.outgoing() ? producers : consumers;
+                if (services.merge(connection.service(), -1, Integer::sum) == 0) {
+                    services.remove(connection.service());
+                }
+                if (connection.outgoing()) {
+                    producerConnections--;
+                } else {
+                    consumerConnections--;
+                }
+            }
+        }
+    }
+}
@@ -12,6 +12,9 @@ public class TopologyInfo {
     private String projectName;
     private List<ChannelInfo> channels = new ArrayList<>();
 
+    private volatile ChannelIndex channelIndex;
+    private boolean frozen;
+
     public TopologyInfo() {
     }
 
@@ -21,6 +24,7 @@ public class TopologyInfo {
     }
 
     public void setServiceName(String serviceName) {
+        checkMutable();
         this.serviceName = serviceName;
     }
 
@@ -29,6 +33,7 @@ public class TopologyInfo {
     }
 
     public void setGroupId(String groupId) {
+        checkMutable();
         this.groupId = groupId;
     }
 
@@ -37,6 +42,7 @@ public class TopologyInfo {
     }
 
     public void setArtifactId(String artifactId) {
+        checkMutable();
         this.artifactId = artifactId;
     }
 
@@ -45,6 +51,7 @@ public class TopologyInfo {
     }
 
     public void setVersion(String version) {
+        checkMutable();
         this.version = version;
     }
 
@@ -53,6 +60,7 @@ public class TopologyInfo {
     }
 
     public void setServiceUrl(String serviceUrl) {
+        checkMutable();
         this.serviceUrl = serviceUrl;
     }
 
@@ -61,11 +69,45 @@ public class TopologyInfo {
     }
 
     public void setChannels(List<ChannelInfo> channels) {
+        checkMutable();
         this.channels = channels;
+        this.channelIndex = null;
     }
 
     public void addChannel(ChannelInfo channel) {
+        checkMutable();
         this.channels.add(channel);
+        this.channelIndex = null;
+    }
+
+    /**
+     * Returns the lookup index over the channels, building it on first use.
+     * Not a bean property, so it is neither serialized nor recorded.
+     */
+    public ChannelIndex channelIndex() {
+        ChannelIndex index = channelIndex;
+        if (index == null) {
+            index = reindexChannels();
+        }
+        return index;
+    }
+
+    /**
+     * Rebuilds the channel index from the current channel list.
+     */
+    public ChannelIndex reindexChannels() {
+        ChannelIndex index = ChannelIndex.of(channels);
+        channelIndex = index;
+        return index;
+    }
+
+    /**
+     * Identifies the service across projects, as services of different projects may share a name: the service name,
+     * prefixed with the project name and a slash if there is one. Not a bean property, so it is neither serialized
+     * nor recorded.
+     */
+    public String serviceKey() {
+        return projectName != null ? projectName + "/" + serviceName : serviceName;
     }
 
     public String getProjectName() {
@@ -73,6 +115,43 @@ public class TopologyInfo {
     }
 
     public void setProjectName(String projectName) {
+        checkMutable();
         this.projectName = projectName;
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns a modifiable copy with copies of all channels, sharing their schema and example payload maps.
+     */
+    public TopologyInfo copy() {
+        TopologyInfo copy = new TopologyInfo();
+        copy.serviceName = serviceName;
+        copy.groupId = groupId;
+        copy.artifactId = artifactId;
+        copy.version = version;
+        copy.serviceUrl = serviceUrl;
+        copy.projectName = projectName;
+        copy.channels = new ArrayList<>(channels.size());
+        for (ChannelInfo channel : channels) {
+            copy.channels.add(channel.copy());
+        }
+        return copy;
+    }
+
+    /**
+     * Rejects all further changes to the topology and its channels, and builds the channel index.
+     */
+    void freeze() {
+        for (ChannelInfo channel : channels) {
+            channel.freeze();
+        }
+        channels = List.copyOf(channels);
+        frozen = true;
+        reindexChannels();
+    }
+
+    private void checkMutable() {
+        if (frozen) {
+            throw new IllegalStateException("Topology of " + serviceName + " is published and cannot be changed");
+        }
+    }
+}
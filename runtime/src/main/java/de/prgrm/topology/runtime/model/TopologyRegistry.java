@@ -1,18 +1,130 @@
 package de.prgrm.topology.runtime.model;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Holds the topology of this service as a versioned snapshot.
+ * <p>
+ * A published topology is frozen: its fields, channels and their schema maps cannot be changed anymore, so readers
+ * get the current snapshot without locking and never observe a topology while it changes. Changes are applied to a
+ * copy, which then replaces the snapshot as a whole under the next version. Writers are serialized.
+ * <p>
+ * Listeners are notified after the writer lock is released, one snapshot at a time and in version order, by
+ * whichever publishing thread is not already notifying. A version that is superseded before listeners see it is
+ * skipped, so a slow listener never holds up writers and always catches up with the latest snapshot.
+ */
 public class TopologyRegistry {
     public static final TopologyRegistry INSTANCE = new TopologyRegistry();
 
-    private TopologyInfo topology;
+    private final List<Consumer<Snapshot>> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile Snapshot snapshot = new Snapshot(0, null);
+
+    // Guards the notification state, never held while listeners run
+    private final Object notification = new Object();
+    private long notifiedVersion;
+    private boolean notifying;
 
     private TopologyRegistry() {
     }
 
-    public void setTopology(TopologyInfo topology) {
-        this.topology = topology;
+    /**
+     * Publishes a copy of the topology, or none, as the next version. The given instance is not modified.
+     */
+    public Snapshot setTopology(TopologyInfo topology) {
+        Snapshot published;
+        synchronized (this) {
+            published = publish(topology != null ? topology.copy() : null);
+        }
+        notifyListeners();
+        return published;
+    }
+
+    /**
+     * Applies {@code change} to a copy of the current topology and publishes the copy as the next version.
+     * Does nothing if no topology is registered.
+     *
+     * @return the snapshot after the change
+     */
+    public Snapshot update(Consumer<TopologyInfo> change) {
+        Snapshot published;
+        synchronized (this) {
+            Snapshot current = snapshot;
+            if (current.topology() == null) {
+                return current;
+            }
+            TopologyInfo next = current.topology().copy();
+            change.accept(next);
+            published = publish(next);
+        }
+        notifyListeners();
+        return published;
     }
 
     public TopologyInfo getTopology() {
-        return topology;
+        return snapshot.topology();
+    }
+
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Registers a listener for every snapshot published from now on. Listeners must not update the registry.
+     */
+    public void addListener(Consumer<Snapshot> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Consumer<Snapshot> listener) {
+        listeners.remove(listener);
+    }
+
+    private Snapshot publish(TopologyInfo topology) {
+        if (topology != null) {
+            topology.freeze();
+        }
+        Snapshot next = new Snapshot(snapshot.version() + 1, topology);
+        snapshot = next;
+        return next;
+    }
+
+    private void notifyListeners() {
+        synchronized (notification) {
+            if (notifying) {
+                // The notifying thread picks up this snapshot before it stops
+                return;
+            }
+            notifying = true;
+        }
+
+        while (true) {
+            Snapshot current;
+            synchronized (notification) {
+                current = snapshot;
+                if (current.version() == notifiedVersion) {
+                    notifying = false;
+                    return;
+                }
+                notifiedVersion = current.version();
+            }
+
+            for (Consumer<Snapshot> listener : listeners) {
+                try {
+                    listener.accept(current);
+                } catch (RuntimeException e) {
+                    System.err.println("⚠️ Warning: Topology listener failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * A published topology, or {@code null} if none is registered, with the version it was published under.
+     * Versions increase by one with every change and restart at 1 with the application.
+     */
+    public record Snapshot(long version, TopologyInfo topology) {
     }
-}
\ No newline at end of file
+}
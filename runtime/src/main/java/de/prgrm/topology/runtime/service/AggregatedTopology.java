@@ -0,0 +1,12 @@
+package de.prgrm.topology.runtime.service;
+
+import java.util.List;
+
+import de.prgrm.topology.runtime.model.TopologyInfo;
+
+/**
+ * The topologies of all services in the project, together with a hash over their content.
+ * The hash only changes when a topology, service URL or the set of failed services changes.
+ */
+public record AggregatedTopology(List<TopologyInfo> topologies, List<String> failedServices, String contentHash) {
+}
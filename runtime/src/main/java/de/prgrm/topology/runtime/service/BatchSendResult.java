@@ -0,0 +1,31 @@
+package de.prgrm.topology.runtime.service;
+
+import java.util.List;
+
+/**
+ * Outcome of a batch send: one result per submitted entry plus aggregate timings. For streamed batches
+ * {@code validateMillis} includes reading the entries.
+ */
+public record BatchSendResult(
+        int total,
+        int sent,
+        int failed,
+        int chunkSize,
+        int chunks,
+        double validateMillis,
+        double serializeMillis,
+        double publishMillis,
+        double totalMillis,
+        List<Item> results) {
+
+    public record Item(int index, String channel, String status, String error) {
+
+        static Item sent(int index, String channel) {
+            return new Item(index, channel, "sent", null);
+        }
+
+        static Item failed(int index, String channel, String error) {
+            return new Item(index, channel, "failed", error);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package de.prgrm.topology.runtime.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * SHA-256 content hashes used to detect changes of topology files and aggregated topology sets.
+ */
+public final class ContentHash {
+
+    private final MessageDigest digest;
+
+    private ContentHash() {
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public static String of(String content) {
+        return new ContentHash().add(content).toHex();
+    }
+
+    public static String of(byte[] content) {
+        return new ContentHash().add(content).toHex();
+    }
+
+    /**
+     * Hash of {@code length} bytes of {@code content} from {@code offset}, equal to {@link #of(byte[])} of a copy.
+     */
+    public static String of(byte[] content, int offset, int length) {
+        ContentHash hash = new ContentHash();
+        hash.digest.update(content, offset, length);
+        hash.digest.update((byte) 0);
+        return hash.toHex();
+    }
+
+    public static ContentHash builder() {
+        return new ContentHash();
+    }
+
+    public ContentHash add(String value) {
+        if (value != null) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        // Separator so that ("ab", "c") and ("a", "bc") hash differently
+        digest.update((byte) 0);
+        return this;
+    }
+
+    public ContentHash add(byte[] value) {
+        if (value != null) {
+            digest.update(value);
+        }
+        digest.update((byte) 0);
+        return this;
+    }
+
+    public String toHex() {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
@@ -0,0 +1,120 @@
+package de.prgrm.topology.runtime.service;
+
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Builds example payloads from the schema maps produced by {@link SchemaIntrospector}
+ * or by the build-time schema generator.
+ * <p>
+ * Only mutable collections are returned so that examples created at build time can be
+ * passed through the bytecode recorder.
+ */
+public class ExamplePayloadGenerator {
+
+    public Map<String, Object> generate(Map<String, Object> schema) {
+        Map<String, Object> example = new LinkedHashMap<>();
+
+        if (schema == null || schema.isEmpty()) {
+            example.put("id", "example-" + System.currentTimeMillis());
+            example.put("message", "Example message");
+            example.put("timestamp", Instant.now().toString());
+            return example;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> defs = (Map<String, Object>) schema.getOrDefault(SchemaDefinitions.DEFS, Map.of());
+        Set<String> visiting = new HashSet<>();
+        if (schema.get("className") instanceof String rootType) {
+            visiting.add(rootType);
+        }
+        generateProperties(schema, defs, visiting, example);
+
+        return example;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void generateProperties(Map<String, Object> schema, Map<String, Object> defs, Set<String> visiting,
+            Map<String, Object> example) {
+        Map<String, Object> properties = (Map<String, Object>) schema.get("properties");
+
+        if (properties != null) {
+            for (Map.Entry<String, Object> entry : properties.entrySet()) {
+                example.put(entry.getKey(), generateValue((Map<String, Object>) entry.getValue(), entry.getKey(),
+                        defs, visiting));
+            }
+        }
+    }
+
+    /**
+     * Follows {@code $ref}, {@code items} and {@code additionalProperties} into nested types. A reference back
+     * to a type that is already being generated yields {@code null}, or an empty collection for its items.
+     */
+    @SuppressWarnings("unchecked")
+    private Object generateValue(Map<String, Object> prop, String fieldName, Map<String, Object> defs,
+            Set<String> visiting) {
+        if (prop.get(SchemaDefinitions.REF) instanceof String ref) {
+            String name = ref.substring(SchemaDefinitions.REF_PREFIX.length());
+            Object definition = defs.get(name);
+            if (!(definition instanceof Map) || !visiting.add(name)) {
+                return null;
+            }
+
+            Map<String, Object> nested = new LinkedHashMap<>();
+            Map<String, Object> type = (Map<String, Object>) definition;
+            if (type.get("oneOf") instanceof List<?> subtypes && !subtypes.isEmpty()
+                    && !(type.get("properties") instanceof Map<?, ?> properties && !properties.isEmpty())) {
+                Object value = generateValue((Map<String, Object>) subtypes.get(0), fieldName, defs, visiting);
+                visiting.remove(name);
+                return value;
+            }
+            generateProperties(type, defs, visiting, nested);
+            visiting.remove(name);
+            return nested;
+        }
+
+        if (prop.get("items") instanceof Map<?, ?> items) {
+            Object item = generateValue((Map<String, Object>) items, fieldName, defs, visiting);
+            return item != null ? new ArrayList<>(List.of(item)) : new ArrayList<>();
+        }
+        if (prop.get("additionalProperties") instanceof Map<?, ?> values) {
+            Object value = generateValue((Map<String, Object>) values, "value", defs, visiting);
+            Map<String, Object> map = new LinkedHashMap<>();
+            if (value != null) {
+                map.put("key", value);
+            }
+            return map;
+        }
+        if (prop.get("enum") instanceof List<?> constants && !constants.isEmpty()) {
+            return constants.get(0);
+        }
+
+        return generateValue((String) prop.get("type"), (String) prop.get("javaType"), fieldName);
+    }
+
+    private Object generateValue(String jsonType, String javaType, String fieldName) {
+        if (fieldName.toLowerCase().contains("id")) {
+            return "example-" + UUID.randomUUID().toString().substring(0, 8);
+        }
+        if (fieldName.toLowerCase().contains("timestamp") ||
+                fieldName.toLowerCase().contains("date") ||
+                fieldName.toLowerCase().contains("time")) {
+            return Instant.now().toString();
+        }
+        if (fieldName.toLowerCase().contains("email")) {
+            return "user@example.com";
+        }
+        if (fieldName.toLowerCase().contains("name")) {
+            return "Example Name";
+        }
+
+        return switch (jsonType) {
+            case "string" -> "example-value";
+            case "integer" -> 123;
+            case "number" -> 123.45;
+            case "boolean" -> true;
+            case "array" -> new ArrayList<>(List.of("item1", "item2"));
+            default -> new LinkedHashMap<>(Map.of("key", "value"));
+        };
+    }
+}
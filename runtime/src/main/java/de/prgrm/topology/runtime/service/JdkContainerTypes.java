@@ -0,0 +1,92 @@
+package de.prgrm.topology.runtime.service;
+
+import java.util.Set;
+
+/**
+ * JDK collection and map types that schemas describe as arrays and objects, shared by the build-time and the
+ * runtime schema generator.
+ * <p>
+ * The build-time generator cannot walk the hierarchy of JDK classes, as they are not part of the Jandex index, so
+ * the concrete classes are listed along with the interfaces. Types outside the list are still recognized when they
+ * extend one of them, such as indexed application classes, or any class at runtime.
+ */
+public final class JdkContainerTypes {
+
+    public static final Set<String> COLLECTIONS = Set.of(
+            "java.util.Collection",
+            "java.util.SequencedCollection",
+            "java.util.List",
+            "java.util.Set",
+            "java.util.SequencedSet",
+            "java.util.SortedSet",
+            "java.util.NavigableSet",
+            "java.util.Queue",
+            "java.util.Deque",
+            "java.util.ArrayList",
+            "java.util.LinkedList",
+            "java.util.Vector",
+            "java.util.Stack",
+            "java.util.HashSet",
+            "java.util.LinkedHashSet",
+            "java.util.TreeSet",
+            "java.util.EnumSet",
+            "java.util.ArrayDeque",
+            "java.util.PriorityQueue",
+            "java.util.concurrent.BlockingQueue",
+            "java.util.concurrent.BlockingDeque",
+            "java.util.concurrent.TransferQueue",
+            "java.util.concurrent.CopyOnWriteArrayList",
+            "java.util.concurrent.CopyOnWriteArraySet",
+            "java.util.concurrent.ConcurrentSkipListSet",
+            "java.util.concurrent.ConcurrentLinkedQueue",
+            "java.util.concurrent.ConcurrentLinkedDeque",
+            "java.util.concurrent.ArrayBlockingQueue",
+            "java.util.concurrent.LinkedBlockingQueue",
+            "java.util.concurrent.LinkedBlockingDeque",
+            "java.util.concurrent.LinkedTransferQueue",
+            "java.util.concurrent.PriorityBlockingQueue");
+
+    public static final Set<String> MAPS = Set.of(
+            "java.util.Map",
+            "java.util.SequencedMap",
+            "java.util.SortedMap",
+            "java.util.NavigableMap",
+            "java.util.HashMap",
+            "java.util.LinkedHashMap",
+            "java.util.TreeMap",
+            "java.util.EnumMap",
+            "java.util.IdentityHashMap",
+            "java.util.WeakHashMap",
+            "java.util.Hashtable",
+            "java.util.Properties",
+            "java.util.concurrent.ConcurrentMap",
+            "java.util.concurrent.ConcurrentNavigableMap",
+            "java.util.concurrent.ConcurrentHashMap",
+            "java.util.concurrent.ConcurrentSkipListMap");
+
+    private JdkContainerTypes() {
+    }
+
+    static boolean isCollection(Class<?> type) {
+        return isSubtypeOf(type, COLLECTIONS);
+    }
+
+    static boolean isMap(Class<?> type) {
+        return isSubtypeOf(type, MAPS);
+    }
+
+    private static boolean isSubtypeOf(Class<?> type, Set<String> supertypes) {
+        if (type == null) {
+            return false;
+        }
+        if (supertypes.contains(type.getName())) {
+            return true;
+        }
+        for (Class<?> iface : type.getInterfaces()) {
+            if (isSubtypeOf(iface, supertypes)) {
+                return true;
+            }
+        }
+        return isSubtypeOf(type.getSuperclass(), supertypes);
+    }
+}
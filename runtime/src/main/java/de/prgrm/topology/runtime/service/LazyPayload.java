@@ -0,0 +1,96 @@
+package de.prgrm.topology.runtime.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * A schema or example payload that is parsed from a range of JSON bytes on first access.
+ * <p>
+ * Readers of topology files hand these out instead of parsed maps, so topologies that are only aggregated,
+ * rendered or analyzed never pay for their schemas. Serializing the map, or reading any entry, parses it once.
+ * <p>
+ * The range is not copied: until parsed, the map keeps the whole array or buffer alive, for a topology file read as
+ * JSON including its services and channels, for a binary one its mapping. That is cheaper than copying every schema
+ * out while reading, as the file mostly consists of schemas anyway. Once parsed, the map lets go of it.
+ */
+final class LazyPayload extends AbstractMap<String, Object> {
+
+    private static final TypeReference<Map<String, Object>> PAYLOAD = new TypeReference<>() {
+    };
+
+    private final ObjectMapper mapper;
+    private ByteBuffer json;
+    private volatile Map<String, Object> decoded;
+
+    LazyPayload(ObjectMapper mapper, byte[] json, int offset, int length) {
+        this(mapper, ByteBuffer.wrap(json, offset, length));
+    }
+
+    /**
+     * Parses the remaining bytes of {@code json}, which may be a mapped file, on first access.
+     */
+    LazyPayload(ObjectMapper mapper, ByteBuffer json) {
+        this.mapper = mapper;
+        this.json = json.slice();
+    }
+
+    private Map<String, Object> decoded() {
+        Map<String, Object> map = decoded;
+        if (map == null) {
+            synchronized (this) {
+                map = decoded;
+                if (map == null) {
+                    try {
+                        map = parse(json);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    decoded = map;
+                    json = null;
+                }
+            }
+        }
+        return map;
+    }
+
+    private Map<String, Object> parse(ByteBuffer buffer) throws IOException {
+        if (buffer.hasArray()) {
+            return mapper.readValue(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), PAYLOAD);
+        }
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(buffer.position(), bytes);
+        return mapper.readValue(bytes, PAYLOAD);
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return decoded().entrySet();
+    }
+
+    @Override
+    public Object get(Object key) {
+        return decoded().get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return decoded().containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return decoded().size();
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        return decoded().put(key, value);
+    }
+}
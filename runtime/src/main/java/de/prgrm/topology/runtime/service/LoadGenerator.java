@@ -0,0 +1,233 @@
+package de.prgrm.topology.runtime.service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+import de.prgrm.topology.runtime.metrics.LatencyHistogram;
+import de.prgrm.topology.runtime.model.TopologyInfo;
+import de.prgrm.topology.runtime.model.TopologyRegistry;
+import io.quarkus.runtime.ShutdownEvent;
+
+/**
+ * Drives an outgoing channel at a target rate with schema-conformant example payloads.
+ * <p>
+ * Messages are published in-process through {@link MessageSender}, so the measured latency is the
+ * time to serialize and hand a message to the event bus, without any HTTP overhead. Each worker
+ * runs on its own virtual thread and paces itself against a fixed schedule.
+ */
+@ApplicationScoped
+public class LoadGenerator {
+
+    private static final int MAX_CONCURRENCY = 256;
+    private static final int MAX_DURATION_SECONDS = 3600;
+    private static final int MAX_RETAINED_RUNS = 20;
+
+    @Inject
+    MessageSender messageSender;
+
+    @Inject
+    SchemaIntrospector schemaIntrospector;
+
+    private final Map<String, LoadRun> runs = new ConcurrentHashMap<>();
+
+    public LoadRun.Status start(String channelName, double ratePerSecond, int durationSeconds, int concurrency)
+            throws Exception {
+        TopologyInfo topology = TopologyRegistry.INSTANCE.getTopology();
+        if (topology == null) {
+            throw new Exception("Topology not initialized");
+        }
+        if (topology.channelIndex().find(channelName, "outgoing") == null) {
+            throw new IllegalArgumentException("Channel not found or not outgoing: " + channelName);
+        }
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("Rate must be positive");
+        }
+        if (durationSeconds <= 0 || durationSeconds > MAX_DURATION_SECONDS) {
+            throw new IllegalArgumentException("Duration must be between 1 and " + MAX_DURATION_SECONDS + " seconds");
+        }
+        if (concurrency <= 0 || concurrency > MAX_CONCURRENCY) {
+            throw new IllegalArgumentException("Concurrency must be between 1 and " + MAX_CONCURRENCY);
+        }
+
+        evictFinishedRuns();
+
+        LoadRun run = new LoadRun(UUID.randomUUID().toString().substring(0, 8), channelName, ratePerSecond,
+                durationSeconds, Math.min(concurrency, (int) Math.ceil(ratePerSecond)));
+        runs.put(run.id, run);
+        run.start();
+
+        System.out.println("⚡ Load run " + run.id + " started on " + channelName + " at " + ratePerSecond + " msg/s");
+        return run.status();
+    }
+
+    public Optional<LoadRun.Status> status(String id) {
+        LoadRun run = runs.get(id);
+        return run != null ? Optional.of(run.status()) : Optional.empty();
+    }
+
+    public List<LoadRun.Status> statuses() {
+        List<LoadRun.Status> statuses = new ArrayList<>();
+        for (LoadRun run : runs.values()) {
+            statuses.add(run.status());
+        }
+        statuses.sort(Comparator.comparingLong(LoadRun.Status::startedAt).reversed());
+        return statuses;
+    }
+
+    public Optional<LoadRun.Status> stop(String id) {
+        LoadRun run = runs.get(id);
+        if (run == null) {
+            return Optional.empty();
+        }
+        run.stop();
+        return Optional.of(run.status());
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        runs.values().forEach(LoadRun::stop);
+    }
+
+    private void evictFinishedRuns() {
+        if (runs.size() < MAX_RETAINED_RUNS) {
+            return;
+        }
+        runs.values().stream()
+                .filter(run -> !run.isRunning())
+                .sorted(Comparator.comparingLong(run -> run.startedAt))
+                .limit(runs.size() - MAX_RETAINED_RUNS + 1L)
+                .forEach(run -> runs.remove(run.id));
+    }
+
+    public class LoadRun {
+
+        private final String id;
+        private final String channelName;
+        private final double targetRate;
+        private final int durationSeconds;
+        private final int concurrency;
+        private final long startedAt = System.currentTimeMillis();
+
+        private final LongAdder sent = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final CountDownLatch finished;
+
+        private volatile boolean stopRequested;
+        private volatile String lastError;
+        private volatile long startNanos;
+        private volatile long endNanos;
+
+        LoadRun(String id, String channelName, double targetRate, int durationSeconds, int concurrency) {
+            this.id = id;
+            this.channelName = channelName;
+            this.targetRate = targetRate;
+            this.durationSeconds = durationSeconds;
+            this.concurrency = concurrency;
+            this.finished = new CountDownLatch(concurrency);
+        }
+
+        void start() {
+            startNanos = System.nanoTime();
+            long deadline = startNanos + durationSeconds * 1_000_000_000L;
+            long intervalNanos = (long) (1_000_000_000L * concurrency / targetRate);
+
+            for (int worker = 0; worker < concurrency; worker++) {
+                // Stagger workers so that the combined schedule is evenly spaced
+                long firstSend = startNanos + intervalNanos * worker / concurrency;
+                Thread.ofVirtual()
+                        .name("topology-load-" + id + "-" + worker)
+                        .start(() -> runWorker(firstSend, intervalNanos, deadline));
+            }
+
+            Thread.ofVirtual().name("topology-load-" + id).start(() -> {
+                try {
+                    finished.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                endNanos = System.nanoTime();
+                System.out.println("⚡ Load run " + id + " finished: " + sent.sum() + " sent, " + errors.sum() + " errors");
+            });
+        }
+
+        private void runWorker(long firstSend, long intervalNanos, long deadline) {
+            try {
+                long next = firstSend;
+                while (!stopRequested) {
+                    long now = System.nanoTime();
+                    if (now >= deadline) {
+                        break;
+                    }
+                    if (next > now) {
+                        LockSupport.parkNanos(next - now);
+                        continue;
+                    }
+
+                    Map<String, Object> payload = schemaIntrospector.getExamplePayload(channelName, "outgoing");
+                    long sendStart = System.nanoTime();
+                    try {
+                        messageSender.send(channelName, payload);
+                        latency.recordNanos(System.nanoTime() - sendStart);
+                        sent.increment();
+                    } catch (Exception e) {
+                        errors.increment();
+                        lastError = e.getMessage();
+                    }
+                    next += intervalNanos;
+                }
+            } finally {
+                finished.countDown();
+            }
+        }
+
+        void stop() {
+            stopRequested = true;
+        }
+
+        boolean isRunning() {
+            return finished.getCount() > 0;
+        }
+
+        Status status() {
+            boolean running = isRunning();
+            long end = running ? System.nanoTime() : endNanos;
+            double elapsedSeconds = Math.max(0, end - startNanos) / 1_000_000_000.0;
+            long sentCount = sent.sum();
+
+            String state;
+            if (running) {
+                state = stopRequested ? "stopping" : "running";
+            } else {
+                state = stopRequested ? "stopped" : "completed";
+            }
+
+            return new Status(id, channelName, state, targetRate, durationSeconds, concurrency, startedAt,
+                    elapsedSeconds, sentCount, errors.sum(),
+                    elapsedSeconds > 0 ? sentCount / elapsedSeconds : 0,
+                    latency.snapshot(), lastError);
+        }
+
+        public record Status(
+                String id,
+                String channel,
+                String state,
+                double targetRate,
+                int durationSeconds,
+                int concurrency,
+                long startedAt,
+                double elapsedSeconds,
+                long sent,
+                long errors,
+                double achievedRate,
+                LatencyHistogram.Snapshot publishLatency,
+                String lastError) {
+        }
+    }
+}
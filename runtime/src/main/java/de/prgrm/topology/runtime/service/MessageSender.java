@@ -1,11 +1,18 @@
 package de.prgrm.topology.runtime.service;
 
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import de.prgrm.topology.runtime.config.TopologyConfig;
+import de.prgrm.topology.runtime.model.ChannelIndex;
 import de.prgrm.topology.runtime.model.TopologyRegistry;
+import io.vertx.core.Context;
 import io.vertx.core.Vertx;
 
 @ApplicationScoped
@@ -14,6 +21,9 @@ public class MessageSender {
     @Inject
     Vertx vertx;
 
+    @Inject
+    TopologyConfig config;
+
     private final ObjectMapper mapper = new ObjectMapper();
 
     public void send(String channelName, Object payload) throws Exception {
@@ -22,17 +32,165 @@ public class MessageSender {
             throw new Exception("Topology not initialized");
         }
 
-        boolean channelExists = topology.getChannels().stream()
-                .anyMatch(c -> c.getChannelName().equals(channelName) && "outgoing".equals(c.getDirection()));
-
-        if (!channelExists) {
+        if (topology.channelIndex().find(channelName, "outgoing") == null) {
             throw new Exception("Channel not found or not outgoing: " + channelName);
         }
 
-        String jsonPayload = payload instanceof String
+        vertx.eventBus().publish(channelName, toJson(payload));
+    }
+
+    /**
+     * Publishes a batch of {@code {channel, payload}} entries.
+     */
+    public BatchSendResult sendBatch(List<Map<String, Object>> entries) throws Exception {
+        return sendBatch(entries.iterator());
+    }
+
+    /**
+     * Publishes {@code {channel, payload}} entries while they are read from {@code entries}.
+     * <p>
+     * Entries are read in chunks, so only one chunk is held in memory at a time. Channel names are validated
+     * once per distinct name. Each chunk is validated and serialized on the calling thread and then published on
+     * the event loop in a single task while the next chunk is being read. If reading an entry fails, it is
+     * reported as failed and the entries after it are not read; everything before it has been published already.
+     */
+    public BatchSendResult sendBatch(Iterator<Map<String, Object>> entries) throws Exception {
+        long start = System.nanoTime();
+
+        var topology = TopologyRegistry.INSTANCE.getTopology();
+        if (topology == null) {
+            throw new Exception("Topology not initialized");
+        }
+
+        ChannelIndex index = topology.channelIndex();
+        Map<String, Boolean> validChannels = new HashMap<>();
+
+        int chunkSize = Math.max(1, config.sendBatchChunkSize());
+        Context context = vertx.getOrCreateContext();
+        List<BatchSendResult.Item[]> chunkResults = new ArrayList<>();
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+        long readNanos = 0;
+        long serializeNanos = 0;
+        long firstDispatch = 0;
+        int size = 0;
+        boolean more = true;
+
+        while (more) {
+            int from = size;
+
+            long readStart = System.nanoTime();
+            List<Map<String, Object>> chunk = new ArrayList<>(chunkSize);
+            String readError = null;
+            try {
+                while (chunk.size() < chunkSize && entries.hasNext()) {
+                    chunk.add(entries.next());
+                }
+                more = chunk.size() == chunkSize;
+            } catch (RuntimeException e) {
+                readError = "Invalid entry: " + e.getMessage();
+                more = false;
+            }
+            if (chunk.isEmpty() && readError == null) {
+                break;
+            }
+
+            int count = chunk.size() + (readError != null ? 1 : 0);
+            BatchSendResult.Item[] results = new BatchSendResult.Item[count];
+            String[] channels = new String[count];
+            for (int i = 0; i < chunk.size(); i++) {
+                Map<String, Object> entry = chunk.get(i);
+                Object channel = entry != null ? entry.get("channel") : null;
+                Object payload = entry != null ? entry.get("payload") : null;
+
+                if (!(channel instanceof String channelName) || payload == null) {
+                    results[i] = BatchSendResult.Item.failed(from + i, channel instanceof String s ? s : null,
+                            "Missing channel or payload");
+                } else if (!validChannels.computeIfAbsent(channelName, c -> index.find(c, "outgoing") != null)) {
+                    results[i] = BatchSendResult.Item.failed(from + i, channelName,
+                            "Channel not found or not outgoing: " + channelName);
+                } else {
+                    channels[i] = channelName;
+                }
+            }
+            if (readError != null) {
+                results[count - 1] = BatchSendResult.Item.failed(from + count - 1, null, readError);
+            }
+            size += count;
+            readNanos += System.nanoTime() - readStart;
+
+            long serializeStart = System.nanoTime();
+            String[] bodies = new String[count];
+            for (int i = 0; i < chunk.size(); i++) {
+                if (channels[i] == null) {
+                    continue;
+                }
+                try {
+                    bodies[i] = toJson(chunk.get(i).get("payload"));
+                } catch (JsonProcessingException e) {
+                    results[i] = BatchSendResult.Item.failed(from + i, channels[i], e.getOriginalMessage());
+                }
+            }
+            serializeNanos += System.nanoTime() - serializeStart;
+
+            if (firstDispatch == 0) {
+                firstDispatch = System.nanoTime();
+            }
+
+            CompletableFuture<Void> published = new CompletableFuture<>();
+            context.runOnContext(v -> {
+                for (int i = 0; i < count; i++) {
+                    String body = bodies[i];
+                    if (body == null) {
+                        continue;
+                    }
+                    try {
+                        vertx.eventBus().publish(channels[i], body);
+                        results[i] = BatchSendResult.Item.sent(from + i, channels[i]);
+                    } catch (Exception e) {
+                        results[i] = BatchSendResult.Item.failed(from + i, channels[i], e.getMessage());
+                    }
+                }
+                published.complete(null);
+            });
+            chunkResults.add(results);
+            pending.add(published);
+        }
+
+        CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).join();
+        long end = System.nanoTime();
+
+        List<BatchSendResult.Item> results = new ArrayList<>(size);
+        int sent = 0;
+        for (BatchSendResult.Item[] chunk : chunkResults) {
+            for (BatchSendResult.Item item : chunk) {
+                results.add(item);
+                if ("sent".equals(item.status())) {
+                    sent++;
+                }
+            }
+        }
+
+        return new BatchSendResult(
+                size,
+                sent,
+                size - sent,
+                chunkSize,
+                pending.size(),
+                toMillis(readNanos),
+                toMillis(serializeNanos),
+                // Overlaps with reading and serialization of later chunks
+                firstDispatch == 0 ? 0 : toMillis(end - firstDispatch),
+                toMillis(end - start),
+                results);
+    }
+
+    private String toJson(Object payload) throws JsonProcessingException {
+        return payload instanceof String
                 ? (String) payload
                 : mapper.writeValueAsString(payload);
+    }
 
-        vertx.eventBus().publish(channelName, jsonPayload);
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
     }
 }
@@ -0,0 +1,223 @@
+package de.prgrm.topology.runtime.service;
+
+import java.lang.reflect.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.URL;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Generates channel schemas by reflection at runtime, for message types that were not part of the Jandex index.
+ * <p>
+ * Produces the same structure as the build-time generator: nested classes, records and sealed hierarchies become
+ * shared {@code $defs} definitions, collections and arrays describe their {@code items} and maps their
+ * {@code additionalProperties}. Each type is introspected once per process; types that are first reached by
+ * two concurrent calls may be introspected by both, with identical results.
+ */
+class ReflectionSchemaGenerator {
+
+    private final Map<String, Map<String, Object>> completed = new ConcurrentHashMap<>();
+
+    Map<String, Object> generate(Class<?> type) {
+        String name = type.getName();
+        SchemaDefinitions definitions = new SchemaDefinitions(completed);
+        definitions.define(name, definition -> describeClass(definitions, definition, type, Map.of()));
+
+        Map<String, Object> schema = definitions.schema(name);
+        definitions.created().forEach(completed::putIfAbsent);
+        return schema;
+    }
+
+    private Map<String, Object> typeSchema(SchemaDefinitions definitions, Type type, Map<TypeVariable<?>, Type> bindings) {
+        Type resolved = resolve(type, bindings);
+        Map<String, Object> schema = new HashMap<>();
+
+        if (resolved instanceof GenericArrayType arrayType) {
+            schema.put("type", "array");
+            schema.put("javaType", simpleName(arrayType.getGenericComponentType(), bindings) + "[]");
+            schema.put("items", typeSchema(definitions, arrayType.getGenericComponentType(), bindings));
+            return schema;
+        }
+
+        Class<?> raw = rawType(resolved);
+        List<Type> arguments = resolved instanceof ParameterizedType parameterized
+                ? Arrays.asList(parameterized.getActualTypeArguments())
+                : List.of();
+
+        if (raw == Optional.class && !arguments.isEmpty()) {
+            return typeSchema(definitions, arguments.get(0), bindings);
+        }
+
+        schema.put("javaType", simpleName(resolved, bindings));
+
+        if (raw.isArray()) {
+            schema.put("type", "array");
+            schema.put("items", typeSchema(definitions, raw.getComponentType(), bindings));
+        } else if (JdkContainerTypes.isCollection(raw)) {
+            Type element = !arguments.isEmpty() ? arguments.get(0) : Object.class;
+            schema.put("type", "array");
+            schema.put("items", typeSchema(definitions, element, bindings));
+            if (resolve(element, bindings) instanceof Class<?> elementClass) {
+                schema.put("genericType", elementClass.getSimpleName());
+            }
+        } else if (JdkContainerTypes.isMap(raw)) {
+            schema.put("type", "object");
+            schema.put("additionalProperties",
+                    typeSchema(definitions, arguments.size() > 1 ? arguments.get(1) : Object.class, bindings));
+        } else if (raw.isEnum()) {
+            List<String> constants = new ArrayList<>();
+            for (Object constant : raw.getEnumConstants()) {
+                constants.add(((Enum<?>) constant).name());
+            }
+            schema.put("type", "string");
+            schema.put("enum", constants);
+        } else {
+            String leafType = leafType(raw);
+            schema.put("type", leafType != null ? leafType : "object");
+            if (leafType == null && !isJdkType(raw)) {
+                Map<TypeVariable<?>, Type> typeBindings = bind(raw, resolved, bindings);
+                String name = definitionName(resolved, bindings);
+                schema.putAll(
+                        definitions.reference(name, definition -> describeClass(definitions, definition, raw, typeBindings)));
+            }
+        }
+        return schema;
+    }
+
+    private void describeClass(SchemaDefinitions definitions, Map<String, Object> definition, Class<?> clazz,
+            Map<TypeVariable<?>, Type> bindings) {
+        definition.put("type", "object");
+        definition.put("className", clazz.getName());
+        definition.put("simpleName", clazz.getSimpleName());
+
+        Map<String, Object> properties = new HashMap<>();
+        List<String> requiredFields = new ArrayList<>();
+
+        Class<?> current = clazz;
+        Map<TypeVariable<?>, Type> currentBindings = bindings;
+        while (current != null && current != Object.class) {
+            for (Field field : current.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers())
+                        || field.isSynthetic()) {
+                    continue;
+                }
+                properties.put(field.getName(), typeSchema(definitions, field.getGenericType(), currentBindings));
+                requiredFields.add(field.getName());
+            }
+
+            currentBindings = bind(current.getSuperclass(), current.getGenericSuperclass(), currentBindings);
+            current = current.getSuperclass();
+        }
+
+        definition.put("properties", properties);
+        definition.put("required", requiredFields);
+
+        if (clazz.isSealed()) {
+            List<Object> subtypes = new ArrayList<>();
+            Class<?>[] permitted = clazz.getPermittedSubclasses();
+            Arrays.sort(permitted, Comparator.comparing(Class::getName));
+            for (Class<?> subtype : permitted) {
+                subtypes.add(definitions.reference(subtype.getName(),
+                        subDefinition -> describeClass(definitions, subDefinition, subtype, Map.of())));
+            }
+            definition.put("oneOf", subtypes);
+        }
+    }
+
+    /**
+     * Maps the type parameters of {@code raw} to the arguments of {@code type}, resolved against the enclosing bindings.
+     */
+    private Map<TypeVariable<?>, Type> bind(Class<?> raw, Type type, Map<TypeVariable<?>, Type> bindings) {
+        if (raw == null || !(type instanceof ParameterizedType parameterized)) {
+            return Map.of();
+        }
+
+        TypeVariable<?>[] parameters = raw.getTypeParameters();
+        Type[] arguments = parameterized.getActualTypeArguments();
+        Map<TypeVariable<?>, Type> bound = new HashMap<>();
+        for (int i = 0; i < parameters.length && i < arguments.length; i++) {
+            bound.put(parameters[i], resolve(arguments[i], bindings));
+        }
+        return bound;
+    }
+
+    private Type resolve(Type type, Map<TypeVariable<?>, Type> bindings) {
+        if (type instanceof TypeVariable<?> variable) {
+            Type bound = bindings.get(variable);
+            return bound != null ? bound : resolve(variable.getBounds()[0], Map.of());
+        }
+        if (type instanceof WildcardType wildcard) {
+            return resolve(wildcard.getUpperBounds()[0], bindings);
+        }
+        return type;
+    }
+
+    private Class<?> rawType(Type type) {
+        if (type instanceof Class<?> clazz) {
+            return clazz;
+        }
+        if (type instanceof ParameterizedType parameterized) {
+            return (Class<?>) parameterized.getRawType();
+        }
+        return Object.class;
+    }
+
+    /**
+     * Class name including type arguments, so that differently parameterized uses get their own definition.
+     * Unbound type variables are named after the raw type of their bound, which also ends self-referencing bounds.
+     */
+    private String definitionName(Type type, Map<TypeVariable<?>, Type> bindings) {
+        if (!(type instanceof ParameterizedType parameterized)) {
+            return rawType(type).getName();
+        }
+
+        StringJoiner joiner = new StringJoiner(",", rawType(type).getName() + "<", ">");
+        for (Type argument : parameterized.getActualTypeArguments()) {
+            Type unwrapped = argument instanceof WildcardType wildcard ? wildcard.getUpperBounds()[0] : argument;
+            if (unwrapped instanceof TypeVariable<?> variable) {
+                Type bound = bindings.get(variable);
+                joiner.add(bound != null ? definitionName(bound, Map.of()) : rawType(variable.getBounds()[0]).getName());
+            } else {
+                joiner.add(definitionName(unwrapped, bindings));
+            }
+        }
+        return joiner.toString();
+    }
+
+    private String simpleName(Type type, Map<TypeVariable<?>, Type> bindings) {
+        Type resolved = resolve(type, bindings);
+        if (resolved instanceof GenericArrayType arrayType) {
+            return simpleName(arrayType.getGenericComponentType(), bindings) + "[]";
+        }
+        return rawType(resolved).getSimpleName();
+    }
+
+    private static String leafType(Class<?> type) {
+        if (type == String.class || type == Character.class || type == char.class)
+            return "string";
+        if (type == Integer.class || type == int.class ||
+                type == Long.class || type == long.class ||
+                type == Short.class || type == short.class ||
+                type == Byte.class || type == byte.class ||
+                type == BigInteger.class)
+            return "integer";
+        if (type == Boolean.class || type == boolean.class)
+            return "boolean";
+        if (type == Double.class || type == double.class ||
+                type == Float.class || type == float.class ||
+                type == BigDecimal.class)
+            return "number";
+        if (type == Date.class || type == Instant.class || type == UUID.class || type == URI.class
+                || type == URL.class || "java.time".equals(type.getPackageName()))
+            return "string";
+        return null;
+    }
+
+    private static boolean isJdkType(Class<?> type) {
+        String name = type.getName();
+        return type.isPrimitive() || name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("jdk.");
+    }
+}
@@ -0,0 +1,230 @@
+package de.prgrm.topology.runtime.service;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.prgrm.topology.runtime.model.TopologyInfo;
+
+/**
+ * Fetches live topologies from the {@code /q/messaging-topology} endpoint of other services.
+ * <p>
+ * All services are fetched concurrently on virtual threads through one shared {@link HttpClient}.
+ * Each service has its own cached result: fresh results are served as they are, stale results are
+ * served while a background refresh is running, and callers only wait for services that have never
+ * been fetched, bounded by the request timeout. Topologies are requested gzip-compressed and revalidated with
+ * their ETag, so unchanged services answer with an empty {@code 304}. Cached results of services that were not
+ * requested for five minutes are dropped.
+ */
+class RemoteTopologyFetcher implements AutoCloseable {
+
+    private static final String TOPOLOGY_PATH = "/q/messaging-topology";
+    // Services that no fetch asked for within this time are forgotten
+    private static final long IDLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final ObjectMapper mapper;
+    private final Duration timeout;
+    private final long ttlNanos;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpClient client;
+    private final Map<String, RemoteService> services = new ConcurrentHashMap<>();
+
+    RemoteTopologyFetcher(ObjectMapper mapper, Duration timeout, Duration ttl) {
+        this.mapper = mapper;
+        this.timeout = timeout;
+        this.ttlNanos = ttl.toNanos();
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .executor(executor)
+                .build();
+    }
+
+    /**
+     * Returns one result per service URL, in the given order.
+     */
+    List<Result> fetch(List<String> serviceUrls) {
+        long now = System.nanoTime();
+        List<RemoteService> requested = new ArrayList<>(serviceUrls.size());
+        List<CompletableFuture<Snapshot>> initialFetches = new ArrayList<>();
+
+        for (String serviceUrl : serviceUrls) {
+            RemoteService service = services.computeIfAbsent(serviceUrl, RemoteService::new);
+            service.lastRequested = now;
+            requested.add(service);
+            Snapshot snapshot = service.snapshot;
+            if (snapshot == null) {
+                initialFetches.add(service.refresh());
+            } else if (now - snapshot.fetchedAt() > ttlNanos) {
+                // Serve the stale result, refresh in the background
+                service.refresh();
+            }
+        }
+
+        if (!initialFetches.isEmpty()) {
+            try {
+                CompletableFuture.allOf(initialFetches.toArray(new CompletableFuture[0]))
+                        .get(timeout.toMillis() * 2, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // Services that did not answer in time are reported as pending
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                // Failures are recorded per service
+            }
+        }
+
+        // Concurrent calls may ask for other services, so only those idle for a while are dropped
+        List<Result> results = new ArrayList<>(requested.size());
+        for (RemoteService service : requested) {
+            results.add(service.result());
+        }
+
+        services.values().removeIf(service -> now - service.lastRequested > IDLE_NANOS);
+        return results;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private Snapshot load(String serviceUrl, Snapshot previous) {
+        long start = System.nanoTime();
+        String error;
+
+        try {
+            HttpRequest.Builder request = HttpRequest.newBuilder()
+                    .uri(URI.create(serviceUrl + TOPOLOGY_PATH))
+                    .timeout(timeout)
+                    .header("Accept-Encoding", "gzip")
+                    .GET();
+            if (previous != null && previous.etag() != null) {
+                request.header("If-None-Match", previous.etag());
+            }
+
+            HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            long fetchMillis = (System.nanoTime() - start) / 1_000_000;
+
+            if (response.statusCode() == 304 && previous != null && previous.topology() != null) {
+                return new Snapshot(previous.topology(), previous.contentHash(), previous.etag(), System.nanoTime(),
+                        fetchMillis, null);
+            }
+            if (response.statusCode() == 200) {
+                byte[] body = response.body();
+                if (response.headers().firstValue("Content-Encoding").filter("gzip"::equalsIgnoreCase).isPresent()) {
+                    try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                        body = gzip.readAllBytes();
+                    }
+                }
+                TopologyInfo topology = TopologyJsonReader.read(body, mapper);
+                topology.setServiceUrl(serviceUrl);
+                return new Snapshot(topology, ContentHash.of(body), response.headers().firstValue("ETag").orElse(null),
+                        System.nanoTime(), fetchMillis, null);
+            }
+            error = "HTTP " + response.statusCode();
+        } catch (HttpTimeoutException e) {
+            error = "timed out after " + timeout.toMillis() + " ms";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            error = "interrupted";
+        } catch (Exception e) {
+            error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        }
+
+        long fetchMillis = (System.nanoTime() - start) / 1_000_000;
+        return previous != null
+                ? new Snapshot(previous.topology(), previous.contentHash(), previous.etag(), System.nanoTime(),
+                        fetchMillis, error)
+                : new Snapshot(null, null, null, System.nanoTime(), fetchMillis, error);
+    }
+
+    /**
+     * Outcome for one service. {@code topology} is {@code null} if the service has never answered;
+     * {@code problem} describes a failed, pending or slow fetch for people, {@code status} classifies it stably.
+     */
+    record Result(String serviceUrl, TopologyInfo topology, String contentHash, Status status, String problem) {
+    }
+
+    /**
+     * Stable classification of a fetch outcome. Unlike the problem text it does not carry timings or error
+     * messages, so it can go into content hashes.
+     */
+    enum Status {
+        OK,
+        PENDING,
+        FAILED,
+        STALE,
+        SLOW
+    }
+
+    private record Snapshot(TopologyInfo topology, String contentHash, String etag, long fetchedAt, long fetchMillis,
+            String error) {
+    }
+
+    private final class RemoteService {
+
+        private final String serviceUrl;
+        private final AtomicReference<CompletableFuture<Snapshot>> inFlight = new AtomicReference<>();
+
+        private volatile Snapshot snapshot;
+        private volatile long lastRequested;
+
+        RemoteService(String serviceUrl) {
+            this.serviceUrl = serviceUrl;
+        }
+
+        /**
+         * Starts a fetch unless one is already running for this service.
+         */
+        CompletableFuture<Snapshot> refresh() {
+            CompletableFuture<Snapshot> fetch = new CompletableFuture<>();
+            CompletableFuture<Snapshot> running = inFlight.compareAndExchange(null, fetch);
+            if (running != null) {
+                return running;
+            }
+
+            try {
+                executor.execute(() -> {
+                    Snapshot loaded = load(serviceUrl, snapshot);
+                    snapshot = loaded;
+                    inFlight.set(null);
+                    fetch.complete(loaded);
+                });
+            } catch (RejectedExecutionException e) {
+                inFlight.set(null);
+                fetch.completeExceptionally(e);
+            }
+            return fetch;
+        }
+
+        Result result() {
+            Snapshot current = snapshot;
+            if (current == null) {
+                return new Result(serviceUrl, null, null, Status.PENDING, "no response yet");
+            }
+
+            Status status = Status.OK;
+            String problem = null;
+            if (current.error() != null) {
+                status = current.topology() != null ? Status.STALE : Status.FAILED;
+                problem = current.topology() != null
+                        ? current.error() + ", showing last known topology"
+                        : current.error();
+            } else if (current.fetchMillis() > timeout.toMillis() / 2) {
+                status = Status.SLOW;
+                problem = "slow, took " + current.fetchMillis() + " ms";
+            }
+            return new Result(serviceUrl, current.topology(), current.contentHash(), status, problem);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package de.prgrm.topology.runtime.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded, thread-safe cache of introspected schemas keyed by message class.
+ * <p>
+ * Concurrent lookups of the same class are computed only once. When the cache grows beyond
+ * its maximum size the oldest entries are evicted first.
+ */
+public class SchemaCache {
+
+    private final ConcurrentHashMap<Class<?>, Map<String, Object>> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Class<?>> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final int maxSize;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public SchemaCache(int maxSize) {
+        this.maxSize = Math.max(1, maxSize);
+    }
+
+    public Map<String, Object> get(Class<?> type, Function<Class<?>, Map<String, Object>> loader) {
+        Map<String, Object> schema = entries.get(type);
+        if (schema != null) {
+            hits.increment();
+            return schema;
+        }
+
+        // Only the thread whose loader result was stored enqueues the key, so it is queued once per insertion
+        boolean[] computed = new boolean[1];
+        boolean[] inserted = new boolean[1];
+        schema = entries.computeIfAbsent(type, t -> {
+            computed[0] = true;
+            Map<String, Object> loaded = loader.apply(t);
+            inserted[0] = loaded != null;
+            return loaded;
+        });
+
+        if (computed[0]) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        if (inserted[0]) {
+            insertionOrder.add(type);
+            evictIfNecessary();
+        }
+
+        return schema;
+    }
+
+    private void evictIfNecessary() {
+        while (entries.size() > maxSize) {
+            Class<?> eldest = insertionOrder.poll();
+            if (eldest == null) {
+                return;
+            }
+            if (entries.remove(eldest) != null) {
+                evictions.increment();
+            }
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+        insertionOrder.clear();
+    }
+
+    public Stats getStats() {
+        return new Stats(entries.size(), maxSize, hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    public record Stats(int size, int maxSize, long hits, long misses, long evictions) {
+
+        public double getHitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+}
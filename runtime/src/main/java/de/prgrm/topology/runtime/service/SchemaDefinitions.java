@@ -0,0 +1,142 @@
+package de.prgrm.topology.runtime.service;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Named type definitions shared by all schemas of one generator.
+ * <p>
+ * Every nested type is introspected once and referenced as {@code {"$ref": "#/$defs/<name>"}}. A definition is
+ * registered before its properties are introspected, so self-referencing and mutually referencing types end in
+ * a reference instead of recursing. Schemas only carry the definitions reachable from their root type.
+ * <p>
+ * Not thread-safe. Concurrent generators each use their own instance on top of a shared map of completed
+ * definitions, and publish {@link #created()} into it when done.
+ */
+public class SchemaDefinitions {
+
+    public static final String DEFS = "$defs";
+    public static final String REF = "$ref";
+    public static final String REF_PREFIX = "#/$defs/";
+
+    private final Map<String, Map<String, Object>> completed;
+    private final Map<String, Map<String, Object>> definitions = new HashMap<>();
+
+    public SchemaDefinitions() {
+        this(Map.of());
+    }
+
+    /**
+     * @param completed definitions built earlier, which are referenced instead of being introspected again
+     */
+    public SchemaDefinitions(Map<String, Map<String, Object>> completed) {
+        this.completed = completed;
+    }
+
+    /**
+     * Returns a reference to the named definition, building it with {@code builder} if it does not exist yet.
+     */
+    public Map<String, Object> reference(String name, Consumer<Map<String, Object>> builder) {
+        define(name, builder);
+        Map<String, Object> ref = new HashMap<>();
+        ref.put(REF, REF_PREFIX + name);
+        return ref;
+    }
+
+    /**
+     * Builds the named definition unless it already exists.
+     */
+    public void define(String name, Consumer<Map<String, Object>> builder) {
+        if (!definitions.containsKey(name) && !completed.containsKey(name)) {
+            Map<String, Object> definition = new HashMap<>();
+            definitions.put(name, definition);
+            builder.accept(definition);
+        }
+    }
+
+    /**
+     * Returns a copy of the named definition as a root schema, with all definitions it references in {@code $defs}.
+     */
+    public Map<String, Object> schema(String name) {
+        Map<String, Object> root = copy(lookup(name));
+
+        Map<String, Object> defs = new TreeMap<>();
+        Deque<Object> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Object node = pending.pop();
+            if (node instanceof Map<?, ?> map) {
+                if (map.get(REF) instanceof String ref && ref.startsWith(REF_PREFIX)) {
+                    String referenced = ref.substring(REF_PREFIX.length());
+                    if (!defs.containsKey(referenced) && lookup(referenced) != null) {
+                        Map<String, Object> definition = copy(lookup(referenced));
+                        defs.put(referenced, definition);
+                        pending.push(definition);
+                    }
+                }
+                pending.addAll(map.values());
+            } else if (node instanceof List<?> list) {
+                pending.addAll(list);
+            }
+        }
+
+        if (!defs.isEmpty()) {
+            root.put(DEFS, new HashMap<>(defs));
+        }
+        return root;
+    }
+
+    /**
+     * Definitions built by this instance.
+     */
+    public Map<String, Map<String, Object>> created() {
+        return definitions;
+    }
+
+    private Map<String, Object> lookup(String name) {
+        Map<String, Object> definition = definitions.get(name);
+        return definition != null ? definition : completed.get(name);
+    }
+
+    /**
+     * Deep copy with unmodifiable collections, so one schema can be shared by a cache and all channels using it.
+     * Iteration order is kept.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T readOnly(T value) {
+        if (value instanceof Map<?, ?> map) {
+            Map<String, Object> copy = new LinkedHashMap<>();
+            map.forEach((key, entry) -> copy.put((String) key, readOnly(entry)));
+            return (T) Collections.unmodifiableMap(copy);
+        }
+        if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+            for (Object entry : list) {
+                copy.add(readOnly(entry));
+            }
+            return (T) Collections.unmodifiableList(copy);
+        }
+        return value;
+    }
+
+    /**
+     * Deep copy with mutable collections only, so schemas can be passed through the bytecode recorder and
+     * enriched per channel without sharing state.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T copy(T value) {
+        if (value instanceof Map<?, ?> map) {
+            Map<String, Object> copy = new HashMap<>();
+            map.forEach((key, entry) -> copy.put((String) key, copy(entry)));
+            return (T) copy;
+        }
+        if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+            for (Object entry : list) {
+                copy.add(copy(entry));
+            }
+            return (T) copy;
+        }
+        return value;
+    }
+}
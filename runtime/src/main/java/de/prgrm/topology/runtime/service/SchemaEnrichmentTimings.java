@@ -0,0 +1,17 @@
+package de.prgrm.topology.runtime.service;
+
+/**
+ * Timing breakdown of the startup schema enrichment. Channels are grouped by message type, each distinct
+ * type is introspected once and the result is fanned back out to all channels of the group.
+ */
+public record SchemaEnrichmentTimings(
+        String mode,
+        int parallelism,
+        int channels,
+        int types,
+        int failed,
+        double groupMillis,
+        double introspectMillis,
+        double fanOutMillis,
+        double wallMillis) {
+}
@@ -1,11 +1,22 @@
 package de.prgrm.topology.runtime.service;
 
 import java.lang.reflect.*;
-import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import de.prgrm.topology.runtime.config.TopologyConfig;
 import de.prgrm.topology.runtime.model.ChannelInfo;
 import de.prgrm.topology.runtime.model.TopologyInfo;
 import de.prgrm.topology.runtime.model.TopologyRegistry;
@@ -13,88 +24,316 @@ import de.prgrm.topology.runtime.model.TopologyRegistry;
 @ApplicationScoped
 public class SchemaIntrospector {
 
-    private final Map<String, Map<String, Object>> schemaCache = new HashMap<>();
+    private static final ObjectMapper CANONICAL_MAPPER = new ObjectMapper()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
 
-    public Map<String, Object> getSchema(String channelName, String direction) {
-        String key = channelName + ":" + direction;
+    @Inject
+    TopologyConfig config;
 
-        if (schemaCache.containsKey(key)) {
-            return schemaCache.get(key);
-        }
+    private SchemaCache schemaCache;
+
+    private final ExamplePayloadGenerator exampleGenerator = new ExamplePayloadGenerator();
+
+    private final ReflectionSchemaGenerator schemaGenerator = new ReflectionSchemaGenerator();
+
+    // Build-time schemas removed from the topology in lazy mode, keyed by direction and channel name
+    private final Map<String, Map<String, Object>> detachedSchemas = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Object>> examplePayloads = new ConcurrentHashMap<>();
+    // Fingerprints of schemas resolved on request, as the published topology cannot be changed
+    private final Map<String, String> fingerprints = new ConcurrentHashMap<>();
+    // Message types resolved on request, keyed by direction and channel name; empty if it cannot be resolved
+    private final Map<String, Optional<Class<?>>> messageTypes = new ConcurrentHashMap<>();
+
+    private volatile SchemaEnrichmentTimings lastEnrichment;
+
+    @PostConstruct
+    void init() {
+        schemaCache = new SchemaCache(config.schemaCacheMaxSize());
+    }
 
+    public Map<String, Object> getSchema(String channelName, String direction) {
         TopologyInfo topology = TopologyRegistry.INSTANCE.getTopology();
         if (topology == null) {
             return Collections.emptyMap();
         }
 
+        ChannelInfo channel = topology.channelIndex().find(channelName, direction);
+        if (channel == null) {
+            return Collections.emptyMap();
+        }
+
+        // Schema generated at build time from the Jandex index
+        if (channel.getSchema() != null && !channel.getSchema().isEmpty()) {
+            return channel.getSchema();
+        }
+        Map<String, Object> detached = detachedSchemas.get(key(channelName, direction));
+        if (detached != null) {
+            return detached;
+        }
+
+        // Resolved once per channel, so repeated lookups, e.g. one per generated message, do no reflection
+        Optional<Class<?>> messageType = messageTypes.computeIfAbsent(key(channelName, direction), k -> {
+            Class<?> resolved = resolveMessageType(channel, direction);
+            if (resolved == null) {
+                System.out.println("      ✗ Message type is null");
+            }
+            return Optional.ofNullable(resolved);
+        });
+
+        // Keyed by message type, so channels carrying the same event share one entry
+        return messageType
+                .map(type -> schemaCache.get(type, this::generateSchema))
+                .orElse(Collections.emptyMap());
+    }
+
+    /**
+     * Attaches schemas, example payloads and fingerprints to all channels without a build-time schema.
+     * Channels are grouped by message type, each distinct type is resolved and introspected once, concurrently
+     * up to the configured parallelism, and the results are fanned back out to the channels of each group.
+     */
+    public SchemaEnrichmentTimings enrich(TopologyInfo topology) {
+        long start = System.nanoTime();
+
+        Map<String, List<ChannelInfo>> groups = new LinkedHashMap<>();
+        int channels = 0;
         for (ChannelInfo channel : topology.getChannels()) {
+            if (channel.getSchema() != null) {
+                continue;
+            }
+            // Without a build-time message type, it is resolved from the declaring member, which depends on the direction
+            String key = channel.getMessageType() != null
+                    ? channel.getMessageType()
+                    : channel.getClassName() + "#" + channel.getMethodName() + ":" + channel.getDirection();
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(channel);
+            channels++;
+        }
+        long grouped = System.nanoTime();
+
+        int parallelism = Math.max(1, config.schemaParallelism());
+        boolean parallel = parallelism > 1 && groups.size() > 1;
+        List<List<ChannelInfo>> groupList = new ArrayList<>(groups.values());
+        List<IntrospectedType> introspected = parallel
+                ? introspectParallel(groupList, parallelism)
+                : groupList.stream().map(this::introspect).toList();
+        long introspectedAt = System.nanoTime();
+
+        int failed = 0;
+        for (int i = 0; i < groupList.size(); i++) {
+            IntrospectedType type = introspected.get(i);
+            if (type == null) {
+                failed++;
+                continue;
+            }
+            for (ChannelInfo channel : groupList.get(i)) {
+                channel.setSchema(type.schema());
+                channel.setExamplePayload(type.examplePayload());
+                channel.setSchemaFingerprint(type.fingerprint());
+            }
+        }
+        long end = System.nanoTime();
+
+        SchemaEnrichmentTimings timings = new SchemaEnrichmentTimings(
+                parallel ? "parallel" : "sequential",
+                parallel ? parallelism : 1,
+                channels,
+                groups.size(),
+                failed,
+                toMillis(grouped - start),
+                toMillis(introspectedAt - grouped),
+                toMillis(end - introspectedAt),
+                toMillis(end - start));
+        lastEnrichment = timings;
+        return timings;
+    }
 
-            if (channel.getChannelName().equals(channelName) &&
-                    channel.getDirection().equals(direction)) {
+    /**
+     * Timing breakdown of the startup schema enrichment, or {@code null} if it did not run.
+     */
+    public SchemaEnrichmentTimings getLastEnrichmentTimings() {
+        return lastEnrichment;
+    }
 
-                Class<?> messageType = null;
+    private List<IntrospectedType> introspectParallel(List<List<ChannelInfo>> groups, int parallelism) {
+        Semaphore permits = new Semaphore(parallelism);
+        List<Future<IntrospectedType>> futures = new ArrayList<>(groups.size());
 
-                // Try using messageType from build-time analysis first
-                if (channel.getMessageType() != null) {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (List<ChannelInfo> group : groups) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
                     try {
-                        messageType = Thread.currentThread().getContextClassLoader()
-                                .loadClass(channel.getMessageType());
-                        System.out.println("      ✓ Message type loaded from build-time info: " + messageType.getName());
-                    } catch (ClassNotFoundException e) {
-                        System.err.println("      ✗ Could not load message type: " + channel.getMessageType());
+                        return introspect(group);
+                    } finally {
+                        permits.release();
                     }
-                }
+                }));
+            }
 
-                // Fallback to runtime introspection
-                if (messageType == null) {
-                    try {
-                        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
-                        Class<?> clazz = contextClassLoader.loadClass(channel.getClassName());
-                        System.out.println("      ✓ Class loaded: " + clazz.getName());
-
-                        messageType = findMessageTypeFromField(clazz, channel.getMethodName());
-
-                        if (messageType != null) {
-                            System.out.println("      ✓ Message type found from field: " + messageType.getName());
-                        } else {
-                            Method method = findMethod(clazz, channel.getMethodName());
-                            if (method != null) {
-                                messageType = extractMessageType(method, direction);
-                            } else {
-                                System.out.println("      ✗ Method not found");
-                            }
-                        }
-                    } catch (ClassNotFoundException e) {
-                        try {
-                            Class<?> clazz = Class.forName(channel.getClassName(), true,
-                                    SchemaIntrospector.class.getClassLoader());
-
-                            messageType = findMessageTypeFromField(clazz, channel.getMethodName());
-                        } catch (ClassNotFoundException e2) {
-                            System.err.println("      ✗ Also failed with alternative classloader: " + e2.getMessage());
-                        }
-                    } catch (Exception e) {
-                        System.err.println("      ✗ Error: " + e.getMessage());
-                    }
+            List<IntrospectedType> results = new ArrayList<>(groups.size());
+            for (Future<IntrospectedType> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (Exception e) {
+                    results.add(null);
                 }
+            }
+            return results;
+        }
+    }
 
-                if (messageType != null) {
-                    Map<String, Object> schema = introspectClass(messageType);
-                    schemaCache.put(key, schema);
-                    return schema;
-                } else {
-                    System.out.println("      ✗ Message type is null");
-                }
+    /**
+     * Generates the schema of a message type as the cache keeps it: read-only, as it is handed out to every caller
+     * and every channel carrying the type.
+     */
+    private Map<String, Object> generateSchema(Class<?> messageType) {
+        return SchemaDefinitions.readOnly(schemaGenerator.generate(messageType));
+    }
+
+    /**
+     * Resolves and introspects the message type shared by a group of channels, or returns {@code null} if it
+     * cannot be resolved.
+     */
+    private IntrospectedType introspect(List<ChannelInfo> group) {
+        ChannelInfo channel = group.get(0);
+        try {
+            Class<?> messageType = resolveMessageType(channel, channel.getDirection());
+            if (messageType == null) {
+                return null;
+            }
+
+            // Read-only, as every channel of the group shares the cached schema and the example payload
+            Map<String, Object> schema = schemaCache.get(messageType, this::generateSchema);
+            return new IntrospectedType(schema, SchemaDefinitions.readOnly(exampleGenerator.generate(schema)),
+                    fingerprint(schema));
+        } catch (Exception e) {
+            System.err.println("      ✗ Could not introspect " + channel.getChannelName() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Returns the schema and example payload of a local channel, resolving and caching them on first use.
+     * Empty if the channel does not exist or its message type cannot be resolved.
+     */
+    public Optional<ChannelSchema> getChannelSchema(String channelName, String direction) {
+        TopologyInfo topology = TopologyRegistry.INSTANCE.getTopology();
+        ChannelInfo channel = topology != null ? topology.channelIndex().find(channelName, direction) : null;
+        if (channel == null) {
+            return Optional.empty();
+        }
+
+        Map<String, Object> schema = getSchema(channelName, direction);
+        if (schema.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Map<String, Object> example = channel.getExamplePayload() != null
+                ? channel.getExamplePayload()
+                : examplePayloads.computeIfAbsent(key(channelName, direction),
+                        k -> SchemaDefinitions.readOnly(exampleGenerator.generate(schema)));
+        String fingerprint = channel.getSchemaFingerprint() != null
+                ? channel.getSchemaFingerprint()
+                : fingerprints.computeIfAbsent(key(channelName, direction), k -> fingerprint(schema));
+
+        return Optional.of(new ChannelSchema(channelName, direction, channel.getMessageType(), fingerprint, schema,
+                example));
+    }
+
+    /**
+     * Removes build-time schemas and example payloads from the topology, keeping only their fingerprints.
+     * They are served from here on request instead.
+     */
+    public void detachSchemas(TopologyInfo topology) {
+        for (ChannelInfo channel : topology.getChannels()) {
+            if (channel.getSchema() == null) {
+                continue;
             }
+            if (channel.getSchemaFingerprint() == null) {
+                channel.setSchemaFingerprint(fingerprint(channel.getSchema()));
+            }
+
+            detachedSchemas.put(key(channel.getChannelName(), channel.getDirection()), channel.getSchema());
+            if (channel.getExamplePayload() != null) {
+                examplePayloads.put(key(channel.getChannelName(), channel.getDirection()), channel.getExamplePayload());
+            }
+            channel.setSchema(null);
+            channel.setExamplePayload(null);
+        }
+    }
+
+    /**
+     * Short hash over the canonical JSON form of a schema; equal schemas have equal fingerprints across
+     * services and restarts.
+     */
+    public static String fingerprint(Map<String, Object> schema) {
+        try {
+            return ContentHash.of(CANONICAL_MAPPER.writeValueAsString(schema)).substring(0, 16);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Schema is not serializable", e);
         }
+    }
 
-        System.out.println("  ✗ No matching channel found or no schema extracted");
-        return Collections.emptyMap();
+    public SchemaCache.Stats getCacheStats() {
+        return schemaCache.getStats();
     }
 
     public Map<String, Object> getExamplePayload(String channelName, String direction) {
         Map<String, Object> schema = getSchema(channelName, direction);
-        return generateExample(schema);
+        return exampleGenerator.generate(schema);
+    }
+
+    private static String key(String channelName, String direction) {
+        return direction + ":" + channelName;
+    }
+
+    private Class<?> resolveMessageType(ChannelInfo channel, String direction) {
+        Class<?> messageType = null;
+
+        // Try using messageType from build-time analysis first
+        if (channel.getMessageType() != null) {
+            try {
+                messageType = Thread.currentThread().getContextClassLoader()
+                        .loadClass(channel.getMessageType());
+                System.out.println("      ✓ Message type loaded from build-time info: " + messageType.getName());
+            } catch (ClassNotFoundException e) {
+                System.err.println("      ✗ Could not load message type: " + channel.getMessageType());
+            }
+        }
+
+        // Fallback to runtime introspection
+        if (messageType == null) {
+            try {
+                ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+                Class<?> clazz = contextClassLoader.loadClass(channel.getClassName());
+                System.out.println("      ✓ Class loaded: " + clazz.getName());
+
+                messageType = findMessageTypeFromField(clazz, channel.getMethodName());
+
+                if (messageType != null) {
+                    System.out.println("      ✓ Message type found from field: " + messageType.getName());
+                } else {
+                    Method method = findMethod(clazz, channel.getMethodName());
+                    if (method != null) {
+                        messageType = extractMessageType(method, direction);
+                    } else {
+                        System.out.println("      ✗ Method not found");
+                    }
+                }
+            } catch (ClassNotFoundException e) {
+                try {
+                    Class<?> clazz = Class.forName(channel.getClassName(), true,
+                            SchemaIntrospector.class.getClassLoader());
+
+                    messageType = findMessageTypeFromField(clazz, channel.getMethodName());
+                } catch (ClassNotFoundException e2) {
+                    System.err.println("      ✗ Also failed with alternative classloader: " + e2.getMessage());
+                }
+            } catch (Exception e) {
+                System.err.println("      ✗ Error: " + e.getMessage());
+            }
+        }
+
+        return messageType;
     }
 
     private Class<?> findMessageTypeFromField(Class<?> clazz, String fieldName) {
@@ -155,133 +394,14 @@ public class SchemaIntrospector {
         return null;
     }
 
-    private Map<String, Object> introspectClass(Class<?> clazz) {
-        Map<String, Object> schema = new HashMap<>();
-        schema.put("type", "object");
-        schema.put("className", clazz.getName());
-        schema.put("simpleName", clazz.getSimpleName());
-
-        Map<String, Object> properties = new HashMap<>();
-
-        for (Field field : getAllFields(clazz)) {
-            if (Modifier.isStatic(field.getModifiers()))
-                continue;
-            if (Modifier.isTransient(field.getModifiers()))
-                continue;
-
-            Map<String, Object> fieldSchema = new HashMap<>();
-            fieldSchema.put("type", getJsonType(field.getType()));
-            fieldSchema.put("javaType", field.getType().getSimpleName());
-
-            if (field.getGenericType() instanceof ParameterizedType) {
-                ParameterizedType pType = (ParameterizedType) field.getGenericType();
-                Type[] args = pType.getActualTypeArguments();
-                if (args.length > 0 && args[0] instanceof Class) {
-                    fieldSchema.put("genericType", ((Class<?>) args[0]).getSimpleName());
-                }
-            }
-
-            properties.put(field.getName(), fieldSchema);
-        }
-
-        schema.put("properties", properties);
-
-        List<String> requiredFields = new ArrayList<>();
-        for (Field field : getAllFields(clazz)) {
-            if (!Modifier.isStatic(field.getModifiers()) &&
-                    !Modifier.isTransient(field.getModifiers())) {
-                requiredFields.add(field.getName());
-            }
-        }
-        schema.put("required", requiredFields);
-
-        return schema;
-    }
-
-    private List<Field> getAllFields(Class<?> clazz) {
-        List<Field> fields = new ArrayList<>();
-        Class<?> current = clazz;
-
-        while (current != null && current != Object.class) {
-            fields.addAll(Arrays.asList(current.getDeclaredFields()));
-            current = current.getSuperclass();
-        }
-
-        return fields;
-    }
-
-    private String getJsonType(Class<?> type) {
-        if (type == String.class)
-            return "string";
-        if (type == Integer.class || type == int.class ||
-                type == Long.class || type == long.class ||
-                type == Short.class || type == short.class ||
-                type == Byte.class || type == byte.class)
-            return "integer";
-        if (type == Boolean.class || type == boolean.class)
-            return "boolean";
-        if (type == Double.class || type == double.class ||
-                type == Float.class || type == float.class)
-            return "number";
-        if (type.isArray() || Collection.class.isAssignableFrom(type))
-            return "array";
-        if (type == Date.class || type == Instant.class)
-            return "string";
-        if (type.isEnum())
-            return "string";
-        return "object";
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
     }
 
-    private Map<String, Object> generateExample(Map<String, Object> schema) {
-        if (schema.isEmpty()) {
-            return Map.of(
-                    "id", "example-" + System.currentTimeMillis(),
-                    "message", "Example message",
-                    "timestamp", Instant.now().toString());
-        }
-
-        Map<String, Object> example = new LinkedHashMap<>();
-
-        @SuppressWarnings("unchecked")
-        Map<String, Object> properties = (Map<String, Object>) schema.get("properties");
-
-        if (properties != null) {
-            for (Map.Entry<String, Object> entry : properties.entrySet()) {
-                @SuppressWarnings("unchecked")
-                Map<String, Object> prop = (Map<String, Object>) entry.getValue();
-                String type = (String) prop.get("type");
-                String javaType = (String) prop.get("javaType");
-
-                example.put(entry.getKey(), generateExampleValue(type, javaType, entry.getKey()));
-            }
-        }
-
-        return example;
+    private record IntrospectedType(Map<String, Object> schema, Map<String, Object> examplePayload, String fingerprint) {
     }
 
-    private Object generateExampleValue(String jsonType, String javaType, String fieldName) {
-        if (fieldName.toLowerCase().contains("id")) {
-            return "example-" + UUID.randomUUID().toString().substring(0, 8);
-        }
-        if (fieldName.toLowerCase().contains("timestamp") ||
-                fieldName.toLowerCase().contains("date") ||
-                fieldName.toLowerCase().contains("time")) {
-            return Instant.now().toString();
-        }
-        if (fieldName.toLowerCase().contains("email")) {
-            return "user@example.com";
-        }
-        if (fieldName.toLowerCase().contains("name")) {
-            return "Example Name";
-        }
-
-        return switch (jsonType) {
-            case "string" -> "example-value";
-            case "integer" -> 123;
-            case "number" -> 123.45;
-            case "boolean" -> true;
-            case "array" -> List.of("item1", "item2");
-            default -> Map.of("key", "value");
-        };
+    public record ChannelSchema(String channelName, String direction, String messageType, String fingerprint,
+            Map<String, Object> schema, Map<String, Object> examplePayload) {
     }
 }
@@ -7,6 +7,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.function.Consumer;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Observes;
@@ -15,7 +16,6 @@ import jakarta.inject.Inject;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import de.prgrm.topology.runtime.config.TopologyConfig;
-import de.prgrm.topology.runtime.model.ChannelInfo;
 import de.prgrm.topology.runtime.model.TopologyInfo;
 import de.prgrm.topology.runtime.model.TopologyRegistry;
 import io.quarkus.runtime.ShutdownEvent;
@@ -32,6 +32,14 @@ public class ServiceRegistry {
 
     private final ObjectMapper mapper = new ObjectMapper();
 
+    private static final String DEFAULT_PROJECT = "default";
+
+    private TopologySource source;
+
+    private RemoteTopologyFetcher remoteFetcher;
+
+    private Consumer<TopologyRegistry.Snapshot> topologyListener;
+
     void onStart(@Observes StartupEvent event) {
         if (!config.enabled()) {
             System.out.println("🔇 Messaging Topology is disabled");
@@ -41,19 +49,42 @@ public class ServiceRegistry {
         try {
             Files.createDirectories(Paths.get(config.directory()));
 
-            // Always enrich with schema for live topology
-            TopologyInfo topology = TopologyRegistry.INSTANCE.getTopology();
-            if (topology != null) {
-                enrichWithSchema(topology);
-                System.out.println("✅ Topology enriched with schemas");
+            // Overrides, schemas and fingerprints are applied to a copy that is published once complete
+            SchemaEnrichmentTimings[] enrichment = new SchemaEnrichmentTimings[1];
+            TopologyRegistry.Snapshot snapshot = TopologyRegistry.INSTANCE.update(topology -> {
+                config.serviceName().ifPresent(topology::setServiceName);
+                config.groupId().ifPresent(topology::setGroupId);
+                config.projectName().ifPresent(topology::setProjectName);
+
+                // Schemas are generated at build time; only enrich channels whose
+                // message type was not part of the Jandex index
+                if (config.includeSchema()) {
+                    enrichment[0] = schemaIntrospector.enrich(topology);
+                } else {
+                    // Lazy mode: only fingerprints are published, schemas are resolved on request
+                    schemaIntrospector.detachSchemas(topology);
+                }
+            });
+            if (enrichment[0] != null) {
+                SchemaEnrichmentTimings timings = enrichment[0];
+                System.out.printf("✅ Topology enriched with schemas (%d channels, %d types, %d failed; "
+                        + "group %.1f ms, introspect %.1f ms %s, fan-out %.1f ms)%n",
+                        timings.channels(), timings.types(), timings.failed(), timings.groupMillis(),
+                        timings.introspectMillis(), timings.mode(), timings.fanOutMillis());
+            } else if (snapshot.topology() != null) {
+                System.out.println("📐 Schemas are resolved on first request");
             }
 
             if (config.autoSave()) {
-                saveLocalTopology();
+                saveLocalTopology(snapshot.topology());
                 System.out.println("📝 Topology saved to " + config.directory());
                 if (config.projectName().isPresent()) {
                     System.out.println("   Project: " + config.projectName().get());
                 }
+
+                // Later changes replace the saved topology, so other services pick them up
+                topologyListener = changed -> saveLocalTopology(changed.topology());
+                TopologyRegistry.INSTANCE.addListener(topologyListener);
             }
         } catch (IOException e) {
             System.err.println("⚠️ Warning: Could not create topology dir: " + e.getMessage());
@@ -61,64 +92,101 @@ public class ServiceRegistry {
     }
 
     void onStop(@Observes ShutdownEvent event) {
+        if (topologyListener != null) {
+            TopologyRegistry.INSTANCE.removeListener(topologyListener);
+        }
         if (config.enabled() && config.cleanupOnShutdown()) {
             deleteLocalTopology();
         }
+
+        synchronized (this) {
+            if (source != null) {
+                source.close();
+            }
+            if (remoteFetcher != null) {
+                remoteFetcher.close();
+            }
+        }
     }
 
-    private void saveLocalTopology() {
+    private void saveLocalTopology(TopologyInfo topology) {
         try {
-            TopologyInfo topology = TopologyRegistry.INSTANCE.getTopology();
             if (topology == null) {
                 return;
             }
 
-            config.serviceName().ifPresent(topology::setServiceName);
-            config.groupId().ifPresent(topology::setGroupId);
-
-            if (config.projectName().isPresent()) {
-                topology.setProjectName(config.projectName().get());
+            if (config.registryBackend() == TopologyConfig.RegistryBackend.JOURNAL) {
+                ((TopologyJournal) getSource()).register(topology, serviceUrl(), config.storageFormat());
+                return;
             }
 
-            // Schema is already enriched in onStart(), no need to do it again
-
-            String filename = topology.getServiceName() + ".json";
-            Path file = Paths.get(config.directory(), filename);
-
-            String json = mapper.writerWithDefaultPrettyPrinter().writeValueAsString(topology);
-            Files.writeString(file, json, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+            Path directory = topologyDirectory();
+            Files.createDirectories(directory);
+            Path jsonFile = directory.resolve(topology.getServiceName() + ".json");
+            Path binaryFile = directory.resolve(topology.getServiceName() + TopologyBinaryFormat.SUFFIX);
+
+            // Remove a file of the other format left by an earlier run, readers prefer the binary one
+            if (config.storageFormat() == TopologyConfig.StorageFormat.BINARY) {
+                TopologyBinaryFormat.write(topology, binaryFile, mapper);
+                Files.deleteIfExists(jsonFile);
+            } else {
+                String json = mapper.writerWithDefaultPrettyPrinter().writeValueAsString(topology);
+                Files.writeString(jsonFile, json, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+                Files.deleteIfExists(binaryFile);
+            }
 
-            saveServiceUrl(topology.getServiceName());
+            saveServiceUrl(directory, topology.getServiceName());
+            removeFlatLayout(topology);
         } catch (IOException e) {
             System.err.println("⚠️ Warning: Could not save topology: " + e.getMessage());
         }
     }
 
-    private void enrichWithSchema(TopologyInfo topology) {
-        for (ChannelInfo channel : topology.getChannels()) {
-            try {
-                Map<String, Object> schema = schemaIntrospector.getSchema(
-                        channel.getChannelName(),
-                        channel.getDirection());
-                channel.setSchema(schema);
-
-                Map<String, Object> example = schemaIntrospector.getExamplePayload(
-                        channel.getChannelName(),
-                        channel.getDirection());
-                channel.setExamplePayload(example);
-            } catch (Exception e) {
-                // Schema nicht verfügbar - kein Problem
-            }
+    private void saveServiceUrl(Path directory, String serviceName) throws IOException {
+        Files.writeString(directory.resolve(serviceName + ".url"), serviceUrl());
+    }
+
+    /**
+     * Directory this service writes its topology files to: the subdirectory of its project, or the topology
+     * directory itself without a project name.
+     */
+    private Path topologyDirectory() {
+        Path root = Paths.get(config.directory());
+        return config.projectName().map(project -> root.resolve(TopologyFileCache.partitionOf(project))).orElse(root);
+    }
+
+    /**
+     * Removes the files an older version of this service wrote into the flat layout, so they do not reappear once
+     * the files in the project subdirectory are deleted. Files of a same-named service of another project are kept.
+     */
+    private void removeFlatLayout(TopologyInfo topology) throws IOException {
+        Path root = Paths.get(config.directory());
+        if (topologyDirectory().equals(root)) {
+            return;
+        }
+
+        Path jsonFile = root.resolve(topology.getServiceName() + ".json");
+        Path binaryFile = root.resolve(topology.getServiceName() + TopologyBinaryFormat.SUFFIX);
+        String project;
+        if (Files.exists(binaryFile)) {
+            project = TopologyBinaryFormat.read(binaryFile, mapper).topology().getProjectName();
+        } else if (Files.exists(jsonFile)) {
+            project = mapper.readTree(jsonFile.toFile()).path("projectName").asText(null);
+        } else {
+            return;
+        }
+
+        if (Objects.equals(project, topology.getProjectName())) {
+            Files.deleteIfExists(jsonFile);
+            Files.deleteIfExists(binaryFile);
+            Files.deleteIfExists(root.resolve(topology.getServiceName() + ".url"));
         }
     }
 
-    private void saveServiceUrl(String serviceName) throws IOException {
+    private static String serviceUrl() {
         String port = System.getProperty("quarkus.http.port", "8080");
         String host = System.getProperty("quarkus.http.host", "localhost");
-        String serviceUrl = "http://" + host + ":" + port;
-
-        Path urlFile = Paths.get(config.directory(), serviceName + ".url");
-        Files.writeString(urlFile, serviceUrl);
+        return "http://" + host + ":" + port;
     }
 
     private void deleteLocalTopology() {
@@ -126,8 +194,15 @@ public class ServiceRegistry {
             TopologyInfo topology = TopologyRegistry.INSTANCE.getTopology();
             if (topology != null) {
                 String serviceName = topology.getServiceName();
-                Files.deleteIfExists(Paths.get(config.directory(), serviceName + ".json"));
-                Files.deleteIfExists(Paths.get(config.directory(), serviceName + ".url"));
+                if (config.registryBackend() == TopologyConfig.RegistryBackend.JOURNAL) {
+                    ((TopologyJournal) getSource()).deregister(serviceName);
+                    System.out.println("🗑️ Topology deregistered from journal");
+                    return;
+                }
+                Path directory = topologyDirectory();
+                Files.deleteIfExists(directory.resolve(serviceName + ".json"));
+                Files.deleteIfExists(directory.resolve(serviceName + TopologyBinaryFormat.SUFFIX));
+                Files.deleteIfExists(directory.resolve(serviceName + ".url"));
                 System.out.println("🗑️ Topology files removed");
             }
         } catch (IOException e) {
@@ -136,47 +211,118 @@ public class ServiceRegistry {
     }
 
     public List<TopologyInfo> getAllTopologies() {
+        return getAggregatedTopology().topologies();
+    }
+
+    public AggregatedTopology getAggregatedTopology() {
         if (!config.enabled()) {
-            return Collections.emptyList();
+            return new AggregatedTopology(Collections.emptyList(), Collections.emptyList(), ContentHash.of(""));
         }
 
-        List<TopologyInfo> topologies = new ArrayList<>();
+        List<TopologySource.Entry> entries = new ArrayList<>();
+        List<String> failedServices = new ArrayList<>();
+        // Service name and status of every failed service; unlike the reported text free of timings and messages
+        List<String> failureKeys = new ArrayList<>();
 
         try {
-            Files.list(Paths.get(config.directory()))
-                    .filter(p -> p.toString().endsWith(".json"))
-                    .forEach(file -> {
-                        try {
-                            String json = Files.readString(file);
-                            TopologyInfo topology = mapper.readValue(json, TopologyInfo.class);
-
-                            if (config.projectName().isPresent()) {
-                                if (config.projectName().get().equals(topology.getProjectName())) {
-                                    loadTopology(topology, file, topologies);
-                                }
-                            } else {
-                                loadTopology(topology, file, topologies);
-                            }
-                        } catch (Exception e) {
-                            System.err.println("  ✗ Failed to load: " + file + " - " + e.getMessage());
-                        }
-                    });
+            for (TopologySource.Entry entry : getSource().refresh()) {
+                TopologyInfo topology = entry.topology();
+                if (config.projectName().isEmpty()
+                        || config.projectName().get().equals(topology.getProjectName())) {
+                    entries.add(entry);
+                }
+            }
         } catch (IOException e) {
             System.err.println("⚠️ Warning: Could not read topologies: " + e.getMessage());
         }
 
-        return topologies;
+        if (config.remoteFetch()) {
+            entries = fetchRemoteTopologies(entries, failedServices, failureKeys);
+        }
+
+        List<TopologyInfo> topologies = new ArrayList<>(entries.size());
+        ContentHash hash = ContentHash.builder();
+        for (TopologySource.Entry entry : entries) {
+            topologies.add(entry.topology());
+            hash.add(entry.contentHash()).add(entry.topology().getServiceUrl());
+        }
+        for (String failure : failureKeys) {
+            hash.add(failure);
+        }
+
+        return new AggregatedTopology(topologies, failedServices, hash.toHex());
+    }
+
+    /**
+     * Replaces the file-based topology of every other service that has a service URL with its live
+     * topology. Services that fail or respond slowly keep their last known (or file-based) topology
+     * and are reported in {@code failedServices}, with a stable key per failure in {@code failureKeys}.
+     */
+    private List<TopologySource.Entry> fetchRemoteTopologies(List<TopologySource.Entry> entries,
+            List<String> failedServices, List<String> failureKeys) {
+        TopologyInfo local = TopologyRegistry.INSTANCE.getTopology();
+        String localService = local != null ? local.getServiceName() : null;
+
+        List<String> serviceUrls = new ArrayList<>();
+        for (TopologySource.Entry entry : entries) {
+            TopologyInfo topology = entry.topology();
+            if (topology.getServiceUrl() != null && !topology.getServiceName().equals(localService)) {
+                serviceUrls.add(topology.getServiceUrl());
+            }
+        }
+        if (serviceUrls.isEmpty()) {
+            return entries;
+        }
+
+        Map<String, RemoteTopologyFetcher.Result> results = new HashMap<>();
+        for (RemoteTopologyFetcher.Result result : getRemoteFetcher().fetch(serviceUrls)) {
+            results.put(result.serviceUrl(), result);
+        }
+
+        List<TopologySource.Entry> merged = new ArrayList<>(entries.size());
+        for (TopologySource.Entry entry : entries) {
+            TopologyInfo topology = entry.topology();
+            RemoteTopologyFetcher.Result result = topology.getServiceName().equals(localService)
+                    ? null
+                    : results.get(topology.getServiceUrl());
+
+            if (result == null) {
+                merged.add(entry);
+                continue;
+            }
+            if (result.problem() != null) {
+                failedServices.add(topology.getServiceName() + " @ " + result.serviceUrl() + " (" + result.problem() + ")");
+                failureKeys.add(topology.serviceKey() + " " + result.status());
+            }
+            merged.add(result.topology() != null
+                    ? new TopologySource.Entry(result.topology(), result.contentHash())
+                    : entry);
+        }
+        return merged;
+    }
+
+    private synchronized TopologySource getSource() {
+        if (source == null) {
+            source = config.registryBackend() == TopologyConfig.RegistryBackend.JOURNAL
+                    ? new TopologyJournal(Paths.get(config.directory()), config.projectName().orElse(DEFAULT_PROJECT),
+                            mapper, config.journalCompactionThreshold())
+                    : new TopologyFileCache(Paths.get(config.directory()), config.projectName().orElse(null), mapper,
+                            config.watchDirectory(), config.loadParallelism());
+        }
+        return source;
     }
 
-    private void loadTopology(TopologyInfo topology, Path file, List<TopologyInfo> topologies) throws IOException {
-        String serviceName = file.getFileName().toString().replace(".json", "");
-        Path urlFile = Paths.get(config.directory(), serviceName + ".url");
-        if (Files.exists(urlFile)) {
-            String serviceUrl = Files.readString(urlFile).trim();
-            topology.setServiceUrl(serviceUrl);
+    private synchronized RemoteTopologyFetcher getRemoteFetcher() {
+        if (remoteFetcher == null) {
+            remoteFetcher = new RemoteTopologyFetcher(mapper, config.remoteTimeout(), config.remoteCacheTtl());
         }
+        return remoteFetcher;
+    }
 
-        topologies.add(topology);
-        System.out.println("  ✓ Loaded: " + serviceName + " (" + topology.getChannels().size() + " channels)");
+    /**
+     * Timing breakdown of the most recent (re)load of topology files, or {@code null} if nothing was loaded yet.
+     */
+    public TopologyLoadTimings getLastLoadTimings() {
+        return getSource().getLastLoadTimings();
     }
 }
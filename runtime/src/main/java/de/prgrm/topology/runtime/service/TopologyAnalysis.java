@@ -0,0 +1,47 @@
+package de.prgrm.topology.runtime.service;
+
+import java.util.List;
+
+/**
+ * Structural findings about the aggregated topology.
+ *
+ * @param unconsumedTopics topics with producers but no consumers
+ * @param unproducedTopics topics with consumers but no producers
+ * @param cycles groups of services whose messages flow back to themselves
+ * @param longestChains the longest producer-to-consumer chains outside of cycles, longest first
+ * @param highestFanOut topics consumed by the most services, highest first
+ */
+public record TopologyAnalysis(
+        List<String> unconsumedTopics,
+        List<String> unproducedTopics,
+        List<Cycle> cycles,
+        List<Chain> longestChains,
+        List<TopicFanOut> highestFanOut) {
+
+    /**
+     * Whether any of the findings is non-empty, which is when the viewer shows them.
+     */
+    public boolean hasWarnings() {
+        return !unconsumedTopics.isEmpty() || !unproducedTopics.isEmpty() || !cycles.isEmpty()
+                || !longestChains.isEmpty() || !highestFanOut.isEmpty();
+    }
+
+    /**
+     * Services that consume each other's messages, directly or indirectly, and the topics between them.
+     */
+    public record Cycle(List<String> services, List<String> topics) {
+    }
+
+    /**
+     * A path from a producing service through {@code topics.get(i)} to {@code services.get(i + 1)}.
+     */
+    public record Chain(List<String> services, List<String> topics) {
+
+        public int hops() {
+            return topics.size();
+        }
+    }
+
+    public record TopicFanOut(String topic, int producers, int consumers) {
+    }
+}
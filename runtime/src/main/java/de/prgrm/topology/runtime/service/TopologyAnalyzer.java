@@ -0,0 +1,279 @@
+package de.prgrm.topology.runtime.service;
+
+import java.util.*;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import de.prgrm.topology.runtime.model.TopologyGraph;
+import de.prgrm.topology.runtime.model.TopologyInfo;
+import de.prgrm.topology.runtime.service.TopologyAnalysis.Chain;
+import de.prgrm.topology.runtime.service.TopologyAnalysis.Cycle;
+import de.prgrm.topology.runtime.service.TopologyAnalysis.TopicFanOut;
+
+/**
+ * Analyzes the aggregated topology for unconsumed and unproduced topics, message cycles, long
+ * producer-to-consumer chains and high fan-out topics.
+ * <p>
+ * The graph is kept between calls and only the services whose topology changed are replaced in it. Topic
+ * findings are updated for the topics of those services; cycles and chains are only recomputed when a service
+ * started or stopped consuming from another one. Services are identified by {@link TopologyInfo#serviceKey()}, so
+ * findings name services of a project as {@code project/service}.
+ */
+@ApplicationScoped
+public class TopologyAnalyzer {
+
+    static final int TOP = 10;
+
+    private static final Comparator<TopicFanOut> FAN_OUT_ORDER = Comparator
+            .comparingInt(TopicFanOut::consumers).reversed()
+            .thenComparing(Comparator.comparingInt(TopicFanOut::producers).reversed())
+            .thenComparing(TopicFanOut::topic);
+
+    @Inject
+    ServiceRegistry serviceRegistry;
+
+    private final TopologyGraph graph = new TopologyGraph();
+    private final Map<String, TopologyInfo> analyzed = new HashMap<>();
+
+    private final Set<String> unconsumed = new TreeSet<>();
+    private final Set<String> unproduced = new TreeSet<>();
+    private final Map<String, TopicFanOut> fanOutByTopic = new HashMap<>();
+    private final NavigableSet<TopicFanOut> fanOut = new TreeSet<>(FAN_OUT_ORDER);
+
+    private long analyzedStructure = -1;
+    private List<Cycle> cycles = List.of();
+    private List<Chain> chains = List.of();
+    private TopologyAnalysis analysis;
+
+    public TopologyAnalysis analyze() {
+        return analyze(serviceRegistry.getAllTopologies());
+    }
+
+    public synchronized TopologyAnalysis analyze(List<TopologyInfo> topologies) {
+        Set<String> touched = new HashSet<>();
+        Set<String> present = new HashSet<>();
+        for (TopologyInfo topology : topologies) {
+            present.add(topology.serviceKey());
+            // Unchanged topology files are served as the same instance
+            if (analyzed.put(topology.serviceKey(), topology) != topology) {
+                touched.addAll(graph.put(topology));
+            }
+        }
+        for (Iterator<String> services = analyzed.keySet().iterator(); services.hasNext();) {
+            String service = services.next();
+            if (!present.contains(service)) {
+                services.remove();
+                touched.addAll(graph.remove(service));
+            }
+        }
+
+        if (analysis != null && touched.isEmpty() && graph.structureVersion() == analyzedStructure) {
+            return analysis;
+        }
+
+        for (String topic : touched) {
+            updateTopic(topic);
+        }
+        if (graph.structureVersion() != analyzedStructure) {
+            analyzeServiceGraph();
+            analyzedStructure = graph.structureVersion();
+        }
+
+        analysis = new TopologyAnalysis(
+                List.copyOf(unconsumed),
+                List.copyOf(unproduced),
+                cycles,
+                chains,
+                fanOut.stream().limit(TOP).toList());
+        return analysis;
+    }
+
+    private void updateTopic(String name) {
+        unconsumed.remove(name);
+        unproduced.remove(name);
+        TopicFanOut previous = fanOutByTopic.remove(name);
+        if (previous != null) {
+            fanOut.remove(previous);
+        }
+
+        TopologyGraph.Topic topic = graph.topic(name);
+        if (topic == null) {
+            return;
+        }
+
+        boolean produced = !topic.producerServices().isEmpty();
+        boolean consumed = !topic.consumerServices().isEmpty();
+        if (produced && !consumed) {
+            unconsumed.add(name);
+        } else if (consumed && !produced) {
+            unproduced.add(name);
+        }
+        if (consumed) {
+            TopicFanOut current = new TopicFanOut(name, topic.producerServices().size(), topic.consumerServices().size());
+            fanOutByTopic.put(name, current);
+            fanOut.add(current);
+        }
+    }
+
+    /**
+     * Finds cycles as strongly connected components of the service graph. Without the edges inside them the
+     * graph is acyclic, so the longest chains follow from one pass in topological order.
+     */
+    private void analyzeServiceGraph() {
+        List<String> services = new ArrayList<>(graph.services());
+        Collections.sort(services);
+        Map<String, Integer> component = components(services);
+
+        Map<Integer, List<String>> members = new TreeMap<>();
+        for (String service : services) {
+            members.computeIfAbsent(component.get(service), c -> new ArrayList<>()).add(service);
+        }
+
+        List<Cycle> foundCycles = new ArrayList<>();
+        for (List<String> cycle : members.values()) {
+            Set<String> topics = new TreeSet<>();
+            for (String producer : cycle) {
+                for (String consumer : graph.downstreamOf(producer)) {
+                    if (component.get(consumer).equals(component.get(producer))) {
+                        topics.addAll(graph.topicsBetween(producer, consumer));
+                    }
+                }
+            }
+            if (!topics.isEmpty()) {
+                foundCycles.add(new Cycle(List.copyOf(cycle), List.copyOf(topics)));
+            }
+        }
+        foundCycles.sort(Comparator.comparingInt((Cycle cycle) -> cycle.services().size()).reversed()
+                .thenComparing(cycle -> cycle.services().get(0)));
+        cycles = List.copyOf(foundCycles);
+        chains = longestChains(services, component);
+    }
+
+    private List<Chain> longestChains(List<String> services, Map<String, Integer> component) {
+        Map<String, Integer> indegree = new HashMap<>();
+        for (String service : services) {
+            indegree.putIfAbsent(service, 0);
+            for (String consumer : graph.downstreamOf(service)) {
+                if (!component.get(consumer).equals(component.get(service))) {
+                    indegree.merge(consumer, 1, Integer::sum);
+                }
+            }
+        }
+
+        Map<String, Integer> depth = new HashMap<>();
+        Map<String, String> predecessor = new HashMap<>();
+        Deque<String> ready = new ArrayDeque<>();
+        for (String service : services) {
+            if (indegree.get(service) == 0) {
+                ready.add(service);
+            }
+        }
+
+        List<String> ends = new ArrayList<>();
+        while (!ready.isEmpty()) {
+            String service = ready.poll();
+            int length = depth.getOrDefault(service, 0);
+            boolean end = true;
+            for (String consumer : graph.downstreamOf(service)) {
+                if (component.get(consumer).equals(component.get(service))) {
+                    continue;
+                }
+                end = false;
+                int current = depth.getOrDefault(consumer, 0);
+                if (length + 1 > current
+                        || (length + 1 == current && service.compareTo(predecessor.get(consumer)) < 0)) {
+                    depth.put(consumer, length + 1);
+                    predecessor.put(consumer, service);
+                }
+                if (indegree.merge(consumer, -1, Integer::sum) == 0) {
+                    ready.add(consumer);
+                }
+            }
+            if (end && length > 0) {
+                ends.add(service);
+            }
+        }
+
+        ends.sort(Comparator.comparingInt((String service) -> depth.get(service)).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+
+        List<Chain> longest = new ArrayList<>();
+        for (String end : ends.subList(0, Math.min(TOP, ends.size()))) {
+            LinkedList<String> path = new LinkedList<>();
+            LinkedList<String> topics = new LinkedList<>();
+            for (String service = end; service != null; service = predecessor.get(service)) {
+                String previous = predecessor.get(service);
+                path.addFirst(service);
+                if (previous != null) {
+                    topics.addFirst(graph.topicsBetween(previous, service).get(0));
+                }
+            }
+            longest.add(new Chain(List.copyOf(path), List.copyOf(topics)));
+        }
+        return List.copyOf(longest);
+    }
+
+    /**
+     * Tarjan's algorithm, iterative so that long chains of services cannot overflow the stack.
+     *
+     * @return the component number of every service
+     */
+    private Map<String, Integer> components(List<String> services) {
+        Map<String, Integer> index = new HashMap<>();
+        Map<String, Integer> low = new HashMap<>();
+        Map<String, Integer> component = new HashMap<>();
+        Deque<String> stack = new ArrayDeque<>();
+        Set<String> onStack = new HashSet<>();
+        int counter = 0;
+        int components = 0;
+
+        for (String root : services) {
+            if (index.containsKey(root)) {
+                continue;
+            }
+
+            Deque<Map.Entry<String, Iterator<String>>> work = new ArrayDeque<>();
+            index.put(root, counter);
+            low.put(root, counter++);
+            stack.push(root);
+            onStack.add(root);
+            work.push(Map.entry(root, graph.downstreamOf(root).iterator()));
+
+            while (!work.isEmpty()) {
+                String service = work.peek().getKey();
+                Iterator<String> consumers = work.peek().getValue();
+
+                if (consumers.hasNext()) {
+                    String consumer = consumers.next();
+                    if (!index.containsKey(consumer)) {
+                        index.put(consumer, counter);
+                        low.put(consumer, counter++);
+                        stack.push(consumer);
+                        onStack.add(consumer);
+                        work.push(Map.entry(consumer, graph.downstreamOf(consumer).iterator()));
+                    } else if (onStack.contains(consumer)) {
+                        low.put(service, Math.min(low.get(service), index.get(consumer)));
+                    }
+                    continue;
+                }
+
+                work.pop();
+                if (!work.isEmpty()) {
+                    String parent = work.peek().getKey();
+                    low.put(parent, Math.min(low.get(parent), low.get(service)));
+                }
+                if (low.get(service).equals(index.get(service))) {
+                    String member;
+                    do {
+                        member = stack.pop();
+                        onStack.remove(member);
+                        component.put(member, components);
+                    } while (!member.equals(service));
+                    components++;
+                }
+            }
+        }
+        return component;
+    }
+}
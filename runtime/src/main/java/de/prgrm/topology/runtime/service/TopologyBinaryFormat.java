@@ -0,0 +1,305 @@
+package de.prgrm.topology.runtime.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.prgrm.topology.runtime.model.ChannelInfo;
+import de.prgrm.topology.runtime.model.TopologyInfo;
+
+/**
+ * Compact binary layout for topology files, as an alternative to pretty-printed JSON.
+ * <p>
+ * A file consists of a fixed-size header, a string table, the graph section and the payload section:
+ *
+ * <pre>
+ * header    magic "MTOP", version, offsets of the three sections, file length, content hash
+ * strings   count, then length and UTF-8 bytes of every distinct string
+ * graph     service fields and channels as string table indexes, payload indexes per channel
+ * payloads  count, offset and length of every distinct schema or example payload, then compact JSON
+ * </pre>
+ *
+ * Readers map the file and decode only the string table and the graph. Schemas and example payloads stay in the
+ * mapping and are parsed on first access, so aggregating services, rendering diagrams and analyzing the topology
+ * never pay for them. Writers never change a file in place but replace it, so the mapping of a replaced file stays
+ * readable. The content hash is computed by the writer and read from the header.
+ */
+public final class TopologyBinaryFormat {
+
+    public static final String SUFFIX = ".mtop";
+
+    private static final int MAGIC = 0x4D544F50;
+    private static final short VERSION = 1;
+    private static final int HASH_LENGTH = 64;
+    private static final int HEADER_LENGTH = 4 + 2 + 2 + 4 * 4 + HASH_LENGTH;
+    private static final int NONE = -1;
+
+    private TopologyBinaryFormat() {
+    }
+
+    /**
+     * Writes the topology to a temporary file next to {@code file} and moves it into place, so readers never
+     * observe a partially written file. The service URL is not part of the file.
+     */
+    public static void write(TopologyInfo topology, Path file, ObjectMapper mapper) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temp, toBytes(topology, mapper));
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Encodes the topology without its service URL.
+     */
+    public static byte[] toBytes(TopologyInfo topology, ObjectMapper mapper) throws IOException {
+        StringTable strings = new StringTable();
+        PayloadTable payloads = new PayloadTable(mapper);
+
+        ByteArrayOutputStream graphBytes = new ByteArrayOutputStream();
+        DataOutputStream graph = new DataOutputStream(graphBytes);
+        graph.writeInt(strings.of(topology.getServiceName()));
+        graph.writeInt(strings.of(topology.getGroupId()));
+        graph.writeInt(strings.of(topology.getArtifactId()));
+        graph.writeInt(strings.of(topology.getVersion()));
+        graph.writeInt(strings.of(topology.getProjectName()));
+        graph.writeInt(topology.getChannels().size());
+        for (ChannelInfo channel : topology.getChannels()) {
+            graph.writeInt(strings.of(channel.getChannelName()));
+            graph.writeInt(strings.of(channel.getDirection()));
+            graph.writeInt(strings.of(channel.getClassName()));
+            graph.writeInt(strings.of(channel.getMethodName()));
+            graph.writeInt(strings.of(channel.getTopic()));
+            graph.writeInt(strings.of(channel.getConnector()));
+            graph.writeInt(strings.of(channel.getMessageType()));
+            graph.writeInt(strings.of(channel.getSchemaFingerprint()));
+            graph.writeInt(payloads.of(channel.getSchema()));
+            graph.writeInt(payloads.of(channel.getExamplePayload()));
+        }
+
+        byte[] stringSection = strings.toBytes();
+        byte[] graphSection = graphBytes.toByteArray();
+        byte[] payloadSection = payloads.toBytes();
+        String hash = ContentHash.builder().add(stringSection).add(graphSection).add(payloadSection).toHex();
+
+        int stringsOffset = HEADER_LENGTH;
+        int graphOffset = stringsOffset + stringSection.length;
+        int payloadsOffset = graphOffset + graphSection.length;
+        int length = payloadsOffset + payloadSection.length;
+
+        ByteBuffer bytes = ByteBuffer.allocate(length);
+        bytes.putInt(MAGIC).putShort(VERSION).putShort((short) 0);
+        bytes.putInt(stringsOffset).putInt(graphOffset).putInt(payloadsOffset).putInt(length);
+        bytes.put(hash.getBytes(StandardCharsets.US_ASCII));
+        bytes.put(stringSection).put(graphSection).put(payloadSection);
+        return bytes.array();
+    }
+
+    /**
+     * Maps the file and decodes its graph. Schemas and example payloads of the returned topology are decoded
+     * lazily; the service URL is not set.
+     *
+     * @throws IOException if the file is not a topology file of a supported version or is truncated
+     */
+    public static Decoded read(Path file, ObjectMapper mapper) throws IOException {
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = in.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Not a topology file");
+            }
+            return decode(in.map(FileChannel.MapMode.READ_ONLY, 0, size), mapper);
+        }
+    }
+
+    /**
+     * Decodes the graph of an encoded topology that spans the whole {@code buffer}, like {@link #read}.
+     *
+     * @throws IOException if the buffer does not hold a topology of a supported version or is truncated
+     */
+    public static Decoded decode(ByteBuffer buffer, ObjectMapper mapper) throws IOException {
+        try {
+            return decodeSections(buffer, mapper);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException
+                | NegativeArraySizeException e) {
+            throw new IOException("Truncated topology file", e);
+        }
+    }
+
+    private static Decoded decodeSections(ByteBuffer buffer, ObjectMapper mapper) throws IOException {
+        if (buffer.limit() < HEADER_LENGTH || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a topology file");
+        }
+        buffer.position(4);
+        short version = buffer.getShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported topology file version " + version);
+        }
+        buffer.getShort();
+        int stringsOffset = buffer.getInt();
+        int graphOffset = buffer.getInt();
+        int payloadsOffset = buffer.getInt();
+        int length = buffer.getInt();
+        if (length != buffer.limit()) {
+            throw new IOException("Truncated topology file");
+        }
+        byte[] hash = new byte[HASH_LENGTH];
+        buffer.get(hash);
+
+        buffer.position(stringsOffset);
+        String[] strings = new String[buffer.getInt()];
+        for (int i = 0; i < strings.length; i++) {
+            byte[] bytes = new byte[buffer.getInt()];
+            buffer.get(bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        // Left in the buffer, schemas are only read from it when they are first accessed
+        Payloads payloads = Payloads.of(buffer.slice(payloadsOffset, length - payloadsOffset), mapper);
+
+        buffer.position(graphOffset);
+        TopologyInfo topology = new TopologyInfo();
+        topology.setServiceName(string(strings, buffer.getInt()));
+        topology.setGroupId(string(strings, buffer.getInt()));
+        topology.setArtifactId(string(strings, buffer.getInt()));
+        topology.setVersion(string(strings, buffer.getInt()));
+        topology.setProjectName(string(strings, buffer.getInt()));
+
+        int channelCount = buffer.getInt();
+        List<ChannelInfo> channels = new ArrayList<>(channelCount);
+        for (int i = 0; i < channelCount; i++) {
+            ChannelInfo channel = new ChannelInfo();
+            channel.setChannelName(string(strings, buffer.getInt()));
+            channel.setDirection(string(strings, buffer.getInt()));
+            channel.setClassName(string(strings, buffer.getInt()));
+            channel.setMethodName(string(strings, buffer.getInt()));
+            channel.setTopic(string(strings, buffer.getInt()));
+            channel.setConnector(string(strings, buffer.getInt()));
+            channel.setMessageType(string(strings, buffer.getInt()));
+            channel.setSchemaFingerprint(string(strings, buffer.getInt()));
+            channel.setSchema(payloads.get(buffer.getInt()));
+            channel.setExamplePayload(payloads.get(buffer.getInt()));
+            channels.add(channel);
+        }
+        topology.setChannels(channels);
+
+        return new Decoded(topology, new String(hash, StandardCharsets.US_ASCII));
+    }
+
+    private static String string(String[] strings, int index) {
+        return index == NONE ? null : strings[index];
+    }
+
+    /**
+     * A topology read from a binary file, with the content hash stored by the writer.
+     */
+    public record Decoded(TopologyInfo topology, String contentHash) {
+    }
+
+    /**
+     * Distinct strings in order of first use.
+     */
+    private static final class StringTable {
+        private final Map<String, Integer> indexes = new LinkedHashMap<>();
+
+        int of(String value) {
+            return value == null ? NONE : indexes.computeIfAbsent(value, v -> indexes.size());
+        }
+
+        byte[] toBytes() throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(indexes.size());
+            for (String value : indexes.keySet()) {
+                byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(utf8.length);
+                out.write(utf8);
+            }
+            return bytes.toByteArray();
+        }
+    }
+
+    /**
+     * Distinct schemas and example payloads as compact JSON, so channels sharing a message type share one entry.
+     */
+    private static final class PayloadTable {
+        private final ObjectMapper mapper;
+        private final Map<String, Integer> indexes = new LinkedHashMap<>();
+
+        PayloadTable(ObjectMapper mapper) {
+            this.mapper = mapper;
+        }
+
+        int of(Map<String, Object> payload) throws IOException {
+            if (payload == null) {
+                return NONE;
+            }
+            String json = mapper.writeValueAsString(payload);
+            return indexes.computeIfAbsent(json, j -> indexes.size());
+        }
+
+        byte[] toBytes() throws IOException {
+            List<byte[]> entries = new ArrayList<>(indexes.size());
+            for (String json : indexes.keySet()) {
+                entries.add(json.getBytes(StandardCharsets.UTF_8));
+            }
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(entries.size());
+            int offset = 4 + entries.size() * 8;
+            for (byte[] entry : entries) {
+                out.writeInt(offset);
+                out.writeInt(entry.length);
+                offset += entry.length;
+            }
+            for (byte[] entry : entries) {
+                out.write(entry);
+            }
+            return bytes.toByteArray();
+        }
+    }
+
+    /**
+     * Undecoded payload section of one file. Channels referencing the same entry share its bytes, but every channel
+     * gets a lazy map of its own, so changing one channel's schema leaves the others alone.
+     */
+    private static final class Payloads {
+        private final ObjectMapper mapper;
+        private final ByteBuffer[] entries;
+
+        private Payloads(ObjectMapper mapper, ByteBuffer[] entries) {
+            this.mapper = mapper;
+            this.entries = entries;
+        }
+
+        static Payloads of(ByteBuffer section, ObjectMapper mapper) {
+            int count = section.getInt(0);
+            if (count < 0 || count > (section.limit() - 4) / 8) {
+                throw new IndexOutOfBoundsException("Payload index out of bounds");
+            }
+            ByteBuffer[] entries = new ByteBuffer[count];
+            for (int i = 0; i < entries.length; i++) {
+                int offset = section.getInt(4 + i * 8);
+                int length = section.getInt(8 + i * 8);
+                if (offset < 0 || length < 0 || offset > section.limit() - length) {
+                    throw new IndexOutOfBoundsException("Payload " + i + " out of bounds");
+                }
+                entries[i] = section.slice(offset, length);
+            }
+            return new Payloads(mapper, entries);
+        }
+
+        Map<String, Object> get(int index) {
+            return index == NONE ? null : new LazyPayload(mapper, entries[index]);
+        }
+    }
+}
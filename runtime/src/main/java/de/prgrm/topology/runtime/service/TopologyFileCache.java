@@ -0,0 +1,376 @@
+package de.prgrm.topology.runtime.service;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.prgrm.topology.runtime.model.TopologyInfo;
+
+/**
+ * In-memory snapshot of the parsed topology files in the shared topology directory.
+ * <p>
+ * The directory is scanned once; afterwards only files reported by a {@link WatchService} are
+ * checked again. If no watcher is available (or events were lost), the directory is listed and
+ * files are compared by modification time and size. Either way, only files that actually
+ * changed are read and parsed again.
+ * <p>
+ * Services with a project name write into a subdirectory per project, so a project-scoped cache only lists and
+ * parses its own subdirectory, plus the flat layout of older versions in the topology directory itself. If a
+ * service has files in both, the ones in the project subdirectory are used. Without a project name, the cache reads
+ * the flat layout and every project subdirectory.
+ * <p>
+ * A service writes either a JSON or a binary topology file. If both exist, the binary one is used.
+ */
+class TopologyFileCache implements TopologySource {
+
+    private static final String TOPOLOGY_SUFFIX = ".json";
+    private static final String BINARY_SUFFIX = TopologyBinaryFormat.SUFFIX;
+    private static final String URL_SUFFIX = ".url";
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private final Path directory;
+    private final String project;
+    private final TopologyFileLoader loader;
+    private final boolean watch;
+
+    // Keyed by file path relative to the topology directory, without suffix
+    private final Map<String, CachedTopology> entries = new TreeMap<>();
+    private final Set<String> pendingRetries = new HashSet<>();
+    private final Set<Path> watchedPartitions = new HashSet<>();
+    private WatchService watchService;
+    private boolean initialized;
+
+    /**
+     * @param project project whose subdirectory is read, or {@code null} to read all projects
+     */
+    TopologyFileCache(Path directory, String project, ObjectMapper mapper, boolean watch, int loadParallelism) {
+        this.directory = directory;
+        this.project = project;
+        this.loader = new TopologyFileLoader(mapper, loadParallelism);
+        this.watch = watch;
+    }
+
+    /**
+     * Name of the subdirectory holding the topology files of a project. Letters, digits, {@code .}, {@code _} and
+     * {@code -} are kept, every other UTF-8 byte is percent-encoded, so distinct projects never share a directory.
+     * The names {@code .} and {@code ..} are encoded completely, as they would not name a subdirectory.
+     */
+    static String partitionOf(String project) {
+        boolean dots = project.equals(".") || project.equals("..");
+        StringBuilder name = new StringBuilder(project.length());
+        for (byte b : project.getBytes(StandardCharsets.UTF_8)) {
+            char c = (char) (b & 0xFF);
+            boolean kept = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '_' || c == '-' || (c == '.' && !dots);
+            if (kept) {
+                name.append(c);
+            } else {
+                name.append('%').append(HEX[c >> 4]).append(HEX[c & 0xF]);
+            }
+        }
+        return name.toString();
+    }
+
+    @Override
+    public synchronized List<Entry> refresh() throws IOException {
+        if (!initialized) {
+            registerWatcher();
+            fullScan();
+            initialized = true;
+        } else if (watchService != null) {
+            Set<String> changed = pollChanges();
+            if (changed == null) {
+                fullScan();
+            } else {
+                changed.addAll(pendingRetries);
+                pendingRetries.clear();
+                refreshServices(changed, System.nanoTime());
+            }
+        } else {
+            fullScan();
+        }
+
+        // A service still listed in the flat layout is shadowed by its files in the project subdirectory
+        Map<String, CachedTopology> services = new HashMap<>();
+        for (Map.Entry<String, CachedTopology> entry : entries.entrySet()) {
+            TopologyInfo topology = entry.getValue().topology;
+            String service = topology.getProjectName() + "\0" + topology.getServiceName();
+            if (entry.getKey().indexOf('/') >= 0 || !services.containsKey(service)) {
+                services.put(service, entry.getValue());
+            }
+        }
+
+        List<Entry> snapshot = new ArrayList<>(services.size());
+        for (CachedTopology entry : services.values()) {
+            snapshot.add(new Entry(entry.topology, entry.contentHash));
+        }
+        snapshot.sort(Comparator.comparing((Entry entry) -> entry.topology().getServiceName(),
+                Comparator.nullsFirst(String::compareTo))
+                .thenComparing(entry -> entry.topology().getProjectName(), Comparator.nullsFirst(String::compareTo)));
+        return snapshot;
+    }
+
+    @Override
+    public TopologyLoadTimings getLastLoadTimings() {
+        return loader.getLastTimings();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                // Nothing left to release
+            }
+            watchService = null;
+            watchedPartitions.clear();
+        }
+    }
+
+    /**
+     * Directories with topology files, relative to the topology directory: the project subdirectory and the flat
+     * layout, or the flat layout and all project subdirectories.
+     */
+    private List<Path> partitions() throws IOException {
+        Path root = Path.of("");
+        if (project != null) {
+            return List.of(Path.of(partitionOf(project)), root);
+        }
+
+        List<Path> partitions = new ArrayList<>();
+        partitions.add(root);
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(Files::isDirectory)
+                    .map(directory::relativize)
+                    .sorted()
+                    .forEach(partitions::add);
+        }
+        return partitions;
+    }
+
+    private void registerWatcher() {
+        if (!watch) {
+            return;
+        }
+
+        try {
+            if (project != null) {
+                // So the watcher sees the first service of the project arrive
+                Files.createDirectories(directory.resolve(partitionOf(project)));
+            }
+            watchService = directory.getFileSystem().newWatchService();
+            for (Path partition : partitions()) {
+                watchPartition(partition);
+            }
+        } catch (IOException | UnsupportedOperationException e) {
+            close();
+            System.err.println("⚠️ Warning: Could not watch topology dir, falling back to polling: " + e.getMessage());
+        }
+    }
+
+    private void watchPartition(Path partition) throws IOException {
+        if (watchService != null && watchedPartitions.add(partition)) {
+            directory.resolve(partition).register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+        }
+    }
+
+    /**
+     * Returns the keys of the files touched since the last call, or {@code null} if events were lost or the
+     * partitions changed.
+     */
+    private Set<String> pollChanges() {
+        Set<String> changed = new HashSet<>();
+        boolean rescan = false;
+
+        WatchKey key;
+        while ((key = watchService.poll()) != null) {
+            Path partition = directory.relativize((Path) key.watchable());
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == OVERFLOW) {
+                    rescan = true;
+                    continue;
+                }
+
+                String fileName = event.context().toString();
+                String serviceName = serviceNameOf(fileName);
+                if (serviceName != null) {
+                    changed.add(keyOf(partition, serviceName));
+                } else if (project == null && partition.toString().isEmpty() && event.kind() == ENTRY_CREATE) {
+                    // Possibly the subdirectory of a new project
+                    rescan = true;
+                }
+            }
+
+            if (!key.reset()) {
+                if (partition.toString().isEmpty()) {
+                    // Directory is no longer accessible, rely on polling from now on
+                    close();
+                    return null;
+                }
+                watchedPartitions.remove(partition);
+                rescan = true;
+            }
+        }
+
+        return rescan ? null : changed;
+    }
+
+    private void fullScan() throws IOException {
+        long start = System.nanoTime();
+
+        if (!Files.isDirectory(directory)) {
+            entries.clear();
+            return;
+        }
+
+        Set<String> present = new TreeSet<>();
+        for (Path partition : partitions()) {
+            Path partitionDirectory = directory.resolve(partition);
+            if (!Files.isDirectory(partitionDirectory)) {
+                continue;
+            }
+            try {
+                watchPartition(partition);
+            } catch (IOException e) {
+                // Changes in this partition are still found by the next full scan
+            }
+            try (Stream<Path> files = Files.list(partitionDirectory)) {
+                files.map(p -> p.getFileName().toString())
+                        .filter(name -> name.endsWith(TOPOLOGY_SUFFIX) || name.endsWith(BINARY_SUFFIX))
+                        .forEach(name -> present.add(keyOf(partition, serviceNameOf(name))));
+            }
+        }
+
+        entries.keySet().retainAll(present);
+        pendingRetries.clear();
+        refreshServices(present, start);
+    }
+
+    /**
+     * Checks the given files against their cached attributes and reloads the stale ones in a single batch.
+     */
+    private void refreshServices(Collection<String> keys, long start) {
+        List<TopologyFileLoader.Request> stale = new ArrayList<>();
+        Map<String, BasicFileAttributes> staleAttributes = new HashMap<>();
+
+        for (String key : new TreeSet<>(keys)) {
+            Path file = directory.resolve(key + BINARY_SUFFIX);
+            BasicFileAttributes attributes = readAttributes(file);
+            if (attributes == null) {
+                file = directory.resolve(key + TOPOLOGY_SUFFIX);
+                attributes = readAttributes(file);
+            }
+            Path urlFile = directory.resolve(key + URL_SUFFIX);
+
+            if (attributes == null) {
+                entries.remove(key);
+                continue;
+            }
+
+            CachedTopology cached = entries.get(key);
+            if (cached != null
+                    && cached.file.equals(file)
+                    && cached.modified.equals(attributes.lastModifiedTime())
+                    && cached.size == attributes.size()) {
+                FileTime urlModified = readModified(urlFile);
+                if (!Objects.equals(cached.urlModified, urlModified)) {
+                    // The cached topology may have been handed out already, so the new URL goes into a copy
+                    TopologyInfo topology = cached.topology.copy();
+                    topology.setServiceUrl(readServiceUrl(urlFile));
+                    entries.put(key, new CachedTopology(topology, cached.contentHash, cached.file, cached.modified,
+                            cached.size, urlModified));
+                }
+                continue;
+            }
+
+            stale.add(new TopologyFileLoader.Request(key, file, urlFile));
+            staleAttributes.put(key, attributes);
+        }
+
+        if (stale.isEmpty()) {
+            return;
+        }
+
+        for (TopologyFileLoader.LoadedFile loaded : loader.load(stale, System.nanoTime() - start)) {
+            String key = loaded.request().key();
+
+            if (loaded.error() != null) {
+                // Possibly a partially written file, try again on the next refresh
+                pendingRetries.add(key);
+                System.err.println("  ✗ Failed to load: " + loaded.request().file() + " - " + loaded.error().getMessage());
+                continue;
+            }
+
+            BasicFileAttributes attributes = staleAttributes.get(key);
+            entries.put(key, new CachedTopology(loaded.topology(), loaded.contentHash(), loaded.request().file(),
+                    attributes.lastModifiedTime(), attributes.size(), readModified(loaded.request().urlFile())));
+            System.out.println("  ✓ Loaded: " + key + " (" + loaded.topology().getChannels().size() + " channels)");
+        }
+    }
+
+    private static String keyOf(Path partition, String serviceName) {
+        return partition.toString().isEmpty() ? serviceName : partition + "/" + serviceName;
+    }
+
+    private String readServiceUrl(Path urlFile) {
+        try {
+            return Files.exists(urlFile) ? Files.readString(urlFile).trim() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static BasicFileAttributes readAttributes(Path file) {
+        try {
+            return Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static FileTime readModified(Path file) {
+        BasicFileAttributes attributes = readAttributes(file);
+        return attributes != null ? attributes.lastModifiedTime() : null;
+    }
+
+    private static String serviceNameOf(String fileName) {
+        if (fileName.endsWith(TOPOLOGY_SUFFIX)) {
+            return fileName.substring(0, fileName.length() - TOPOLOGY_SUFFIX.length());
+        }
+        if (fileName.endsWith(BINARY_SUFFIX)) {
+            return fileName.substring(0, fileName.length() - BINARY_SUFFIX.length());
+        }
+        if (fileName.endsWith(URL_SUFFIX)) {
+            return fileName.substring(0, fileName.length() - URL_SUFFIX.length());
+        }
+        return null;
+    }
+
+    private static class CachedTopology {
+        final TopologyInfo topology;
+        final String contentHash;
+        final Path file;
+        final FileTime modified;
+        final long size;
+        final FileTime urlModified;
+
+        CachedTopology(TopologyInfo topology, String contentHash, Path file, FileTime modified, long size,
+                FileTime urlModified) {
+            this.topology = topology;
+            this.contentHash = contentHash;
+            this.file = file;
+            this.modified = modified;
+            this.size = size;
+            this.urlModified = urlModified;
+        }
+    }
+}
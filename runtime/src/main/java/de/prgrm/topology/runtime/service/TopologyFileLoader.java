@@ -0,0 +1,149 @@
+package de.prgrm.topology.runtime.service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.prgrm.topology.runtime.model.TopologyInfo;
+
+/**
+ * Reads and parses topology files, either one after another or fanned out across virtual threads.
+ * <p>
+ * Results are always returned in the order of the requested files, so the merged snapshot does
+ * not depend on which file finished first.
+ */
+class TopologyFileLoader {
+
+    private final ObjectMapper mapper;
+    private final int parallelism;
+
+    private volatile TopologyLoadTimings lastTimings;
+
+    TopologyFileLoader(ObjectMapper mapper, int parallelism) {
+        this.mapper = mapper;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * @param listNanos time the caller spent listing and checking the directory before this load
+     */
+    List<LoadedFile> load(List<Request> requests, long listNanos) {
+        long start = System.nanoTime();
+
+        boolean parallel = parallelism > 1 && requests.size() > 1;
+        List<LoadedFile> results = parallel ? loadParallel(requests) : loadSequential(requests);
+
+        long readNanos = 0;
+        long parseNanos = 0;
+        int failed = 0;
+        for (LoadedFile result : results) {
+            readNanos += result.readNanos();
+            parseNanos += result.parseNanos();
+            if (result.error() != null) {
+                failed++;
+            }
+        }
+
+        lastTimings = new TopologyLoadTimings(
+                parallel ? "parallel" : "sequential",
+                parallel ? parallelism : 1,
+                results.size(),
+                failed,
+                toMillis(listNanos),
+                toMillis(readNanos),
+                toMillis(parseNanos),
+                toMillis(System.nanoTime() - start));
+
+        return results;
+    }
+
+    TopologyLoadTimings getLastTimings() {
+        return lastTimings;
+    }
+
+    private List<LoadedFile> loadSequential(List<Request> requests) {
+        List<LoadedFile> results = new ArrayList<>(requests.size());
+        for (Request request : requests) {
+            results.add(loadFile(request));
+        }
+        return results;
+    }
+
+    private List<LoadedFile> loadParallel(List<Request> requests) {
+        Semaphore permits = new Semaphore(parallelism);
+        List<Future<LoadedFile>> futures = new ArrayList<>(requests.size());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Request request : requests) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return loadFile(request);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+
+            List<LoadedFile> results = new ArrayList<>(requests.size());
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    results.add(futures.get(i).get());
+                } catch (Exception e) {
+                    results.add(new LoadedFile(requests.get(i), null, null, e, 0, 0));
+                }
+            }
+            return results;
+        }
+    }
+
+    private LoadedFile loadFile(Request request) {
+        long readStart = System.nanoTime();
+        long readNanos = 0;
+        try {
+            String serviceUrl = Files.exists(request.urlFile()) ? Files.readString(request.urlFile()).trim() : null;
+
+            if (request.file().getFileName().toString().endsWith(TopologyBinaryFormat.SUFFIX)) {
+                // Mapping and decoding the graph are one step, schemas are decoded on first access
+                TopologyBinaryFormat.Decoded decoded = TopologyBinaryFormat.read(request.file(), mapper);
+                decoded.topology().setServiceUrl(serviceUrl);
+                return new LoadedFile(request, decoded.topology(), decoded.contentHash(), null,
+                        System.nanoTime() - readStart, 0);
+            }
+
+            byte[] json = Files.readAllBytes(request.file());
+            readNanos = System.nanoTime() - readStart;
+
+            long parseStart = System.nanoTime();
+            TopologyInfo topology = TopologyJsonReader.read(json, mapper);
+            topology.setServiceUrl(serviceUrl);
+
+            return new LoadedFile(request, topology, ContentHash.of(json), null, readNanos,
+                    System.nanoTime() - parseStart);
+        } catch (Exception e) {
+            return new LoadedFile(request, null, null, e, readNanos, 0);
+        }
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * @param key identifies the file towards the caller, such as its path relative to the topology directory
+     */
+    record Request(String key, Path file, Path urlFile) {
+    }
+
+    record LoadedFile(Request request, TopologyInfo topology, String contentHash, Exception error,
+            long readNanos, long parseNanos) {
+    }
+
+}
@@ -0,0 +1,403 @@
+package de.prgrm.topology.runtime.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.CRC32;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.prgrm.topology.runtime.config.TopologyConfig;
+import de.prgrm.topology.runtime.model.TopologyInfo;
+
+/**
+ * Append-only journal of the topologies of all services of one project, as an alternative to one topology file
+ * and one URL file per service.
+ * <p>
+ * Services append a record when they register, update or deregister. Every record carries the topology together
+ * with the service URL, so readers never see one without the other. Readers remember the offset they have read up
+ * to and only read the records appended since, so a refresh costs O(changes) instead of listing the directory and
+ * checking every file.
+ * <p>
+ * Records are framed by length and CRC32. A record that is still being written fails the check and is read again
+ * on the next refresh; one left behind by a crashed writer is cut off by the next writer. Writers take turns through
+ * a lock file and compact the journal once it holds more superseded records than the threshold: the live records
+ * are written to a new journal with the next generation, which atomically replaces the old one, and readers that
+ * see a new generation read it from the start, keeping topologies whose record did not change.
+ *
+ * <pre>
+ * header  magic "MTJL", version, generation
+ * record  length, CRC32, kind, service name, service URL, format, encoded topology
+ * </pre>
+ *
+ * Unlike the files backend, which reads the files of all projects when no project name is configured, a journal
+ * holds one project only: services without a project name read and write the {@code default} journal.
+ * Decoded topologies reference their record body instead of copies of it, and a record whose checksum matches but
+ * which cannot be parsed is skipped like one that fails to decode.
+ */
+class TopologyJournal implements TopologySource {
+
+    static final String SUFFIX = ".journal";
+
+    private static final int MAGIC = 0x4D544A4C;
+    private static final short VERSION = 1;
+    private static final int HEADER_LENGTH = 4 + 2 + 2 + 8;
+    private static final int FRAME_LENGTH = 4 + 4;
+    // Kind, empty service name and URL, format
+    private static final int MIN_BODY_LENGTH = 1 + 2 + 2 + 1;
+
+    private static final byte REGISTER = 1;
+    private static final byte UPDATE = 2;
+    private static final byte DEREGISTER = 3;
+
+    private static final byte NO_TOPOLOGY = 0;
+    private static final byte JSON = 1;
+    private static final byte BINARY = 2;
+
+    private final Path file;
+    private final Path lockFile;
+    private final ObjectMapper mapper;
+    private final int compactionThreshold;
+
+    // Read position within the current generation of the journal file
+    private long generation;
+    private boolean initialized;
+    private long offset;
+    private int records;
+
+    private final Map<String, LiveRecord> live = new TreeMap<>();
+    private Map<String, LiveRecord> retired = Map.of();
+    private volatile TopologyLoadTimings lastTimings;
+
+    TopologyJournal(Path directory, String project, ObjectMapper mapper, int compactionThreshold) {
+        String name = TopologyFileCache.partitionOf(project);
+        this.file = directory.resolve(name + SUFFIX);
+        this.lockFile = directory.resolve(name + SUFFIX + ".lock");
+        this.mapper = mapper;
+        this.compactionThreshold = Math.max(0, compactionThreshold);
+    }
+
+    @Override
+    public synchronized List<Entry> refresh() throws IOException {
+        tail();
+
+        List<Entry> snapshot = new ArrayList<>(live.size());
+        for (LiveRecord record : live.values()) {
+            snapshot.add(record.entry);
+        }
+        return snapshot;
+    }
+
+    @Override
+    public TopologyLoadTimings getLastLoadTimings() {
+        return lastTimings;
+    }
+
+    @Override
+    public void close() {
+        // Files are only open while reading or appending
+    }
+
+    /**
+     * Appends the topology of a service, as a registration or, if the service is registered already, as an update.
+     */
+    synchronized void register(TopologyInfo topology, String serviceUrl, TopologyConfig.StorageFormat format)
+            throws IOException {
+        byte[] encoded = format == TopologyConfig.StorageFormat.BINARY
+                ? TopologyBinaryFormat.toBytes(topology, mapper)
+                : mapper.writeValueAsBytes(topology);
+        append(topology.getServiceName(), serviceUrl,
+                format == TopologyConfig.StorageFormat.BINARY ? BINARY : JSON, encoded);
+    }
+
+    /**
+     * Appends the deregistration of a service, unless it is not registered.
+     */
+    synchronized void deregister(String serviceName) throws IOException {
+        append(serviceName, null, NO_TOPOLOGY, null);
+    }
+
+    private void append(String serviceName, String serviceUrl, byte format, byte[] topology) throws IOException {
+        Files.createDirectories(file.getParent());
+
+        try (FileChannel lockChannel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                FileLock lock = lockChannel.lock()) {
+            if (!Files.exists(file)) {
+                replace(List.of(), ThreadLocalRandom.current().nextLong());
+            }
+
+            long size = tail();
+            byte kind;
+            if (topology == null) {
+                if (!live.containsKey(serviceName)) {
+                    return;
+                }
+                kind = DEREGISTER;
+            } else {
+                kind = live.containsKey(serviceName) ? UPDATE : REGISTER;
+            }
+
+            try (FileChannel out = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                if (size > offset) {
+                    // Incomplete record of a writer that crashed while holding the lock
+                    out.truncate(offset);
+                }
+                writeFully(out, frame(body(kind, serviceName, serviceUrl, format, topology)), offset);
+            }
+
+            tail();
+            if (records - live.size() > compactionThreshold) {
+                compact();
+            }
+        }
+    }
+
+    /**
+     * Rewrites the journal with one registration per live service. Must hold the lock.
+     */
+    private void compact() throws IOException {
+        int before = records;
+        List<byte[]> bodies = new ArrayList<>(live.size());
+        for (LiveRecord record : live.values()) {
+            byte[] body = record.body.clone();
+            body[0] = REGISTER;
+            bodies.add(body);
+        }
+
+        replace(bodies, generation + 1);
+        tail();
+        System.out.println("🗜️ Topology journal compacted (" + before + " → " + records + " records)");
+    }
+
+    private void replace(List<byte[]> bodies, long nextGeneration) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+            header.putInt(MAGIC).putShort(VERSION).putShort((short) 0).putLong(nextGeneration).flip();
+            long position = writeFully(out, header, 0);
+            for (byte[] body : bodies) {
+                position = writeFully(out, frame(body), position);
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads and applies the complete records appended since the last call.
+     *
+     * @return size of the journal, larger than the read offset if it ends with an incomplete record
+     */
+    private long tail() throws IOException {
+        long start = System.nanoTime();
+
+        if (!Files.exists(file)) {
+            live.clear();
+            initialized = false;
+            return 0;
+        }
+
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+            if (readFully(in, header, 0) < HEADER_LENGTH || header.getInt(0) != MAGIC) {
+                throw new IOException("Not a topology journal: " + file);
+            }
+            if (header.getShort(4) != VERSION) {
+                throw new IOException("Unsupported topology journal version " + header.getShort(4) + ": " + file);
+            }
+
+            long fileGeneration = header.getLong(8);
+            if (!initialized || fileGeneration != generation) {
+                // Compacted or recreated, keep decoded topologies for records that did not change
+                retired = new HashMap<>(live);
+                live.clear();
+                generation = fileGeneration;
+                initialized = true;
+                offset = HEADER_LENGTH;
+                records = 0;
+            }
+
+            long size = in.size();
+            if (size <= offset) {
+                retired = Map.of();
+                return size;
+            }
+
+            ByteBuffer appended = ByteBuffer.allocate(Math.toIntExact(size - offset));
+            readFully(in, appended, offset);
+            long readNanos = System.nanoTime() - start;
+
+            // The last record per service wins, so services that came and went are never decoded
+            Map<String, Record> changes = new LinkedHashMap<>();
+            int position = 0;
+            int read = 0;
+            int failed = 0;
+            while (appended.limit() - position >= FRAME_LENGTH) {
+                int length = appended.getInt(position);
+                // Also ends at zeros left by a crash, whose empty body would match the CRC32 of 0
+                if (length < MIN_BODY_LENGTH || length > appended.limit() - position - FRAME_LENGTH) {
+                    break;
+                }
+                byte[] body = new byte[length];
+                appended.get(position + FRAME_LENGTH, body);
+                CRC32 crc = new CRC32();
+                crc.update(body);
+                if ((int) crc.getValue() != appended.getInt(position + 4)) {
+                    break;
+                }
+
+                position += FRAME_LENGTH + length;
+                read++;
+                Record record;
+                try {
+                    record = Record.parse(body);
+                } catch (IOException e) {
+                    // Written completely but unreadable, so it stays unreadable; the records after it still apply
+                    failed++;
+                    System.err.println("  ✗ Skipped malformed record in " + file + " - " + e.getMessage());
+                    continue;
+                }
+                changes.remove(record.serviceName);
+                changes.put(record.serviceName, record);
+            }
+            offset += position;
+            records += read;
+
+            long parseStart = System.nanoTime();
+            for (Record record : changes.values()) {
+                if (record.kind == DEREGISTER) {
+                    live.remove(record.serviceName);
+                    continue;
+                }
+                try {
+                    live.put(record.serviceName, decode(record));
+                } catch (IOException e) {
+                    failed++;
+                    System.err.println("  ✗ Failed to load: " + record.serviceName + " from " + file + " - "
+                            + e.getMessage());
+                }
+            }
+            retired = Map.of();
+
+            if (read > 0) {
+                lastTimings = new TopologyLoadTimings("journal", 1, read, failed, 0,
+                        toMillis(readNanos), toMillis(System.nanoTime() - parseStart), toMillis(System.nanoTime() - start));
+            }
+            return size;
+        }
+    }
+
+    private LiveRecord decode(Record record) throws IOException {
+        LiveRecord previous = live.containsKey(record.serviceName)
+                ? live.get(record.serviceName)
+                : retired.get(record.serviceName);
+        if (previous != null && sameContent(previous.body, record.body)) {
+            return new LiveRecord(record.body, previous.entry);
+        }
+
+        byte[] body = record.body;
+        int length = body.length - record.topologyOffset;
+        TopologyInfo topology;
+        String contentHash;
+        if (record.format == BINARY) {
+            TopologyBinaryFormat.Decoded decoded = TopologyBinaryFormat.decode(
+                    ByteBuffer.wrap(body, record.topologyOffset, length).slice(), mapper);
+            topology = decoded.topology();
+            contentHash = decoded.contentHash();
+        } else {
+            // Schemas are parsed lazily from the body kept for compaction, so it is not copied
+            topology = TopologyJsonReader.read(body, record.topologyOffset, length, mapper);
+            contentHash = ContentHash.of(body, record.topologyOffset, length);
+        }
+        topology.setServiceUrl(record.serviceUrl);
+
+        System.out.println("  ✓ Loaded: " + record.serviceName + " (" + topology.getChannels().size() + " channels)");
+        return new LiveRecord(body, new Entry(topology, contentHash));
+    }
+
+    /**
+     * Whether two record bodies differ at most in their kind.
+     */
+    private static boolean sameContent(byte[] a, byte[] b) {
+        return Arrays.equals(a, 1, a.length, b, 1, b.length);
+    }
+
+    private static byte[] body(byte kind, String serviceName, String serviceUrl, byte format, byte[] topology)
+            throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(kind);
+        out.writeUTF(serviceName);
+        out.writeUTF(serviceUrl != null ? serviceUrl : "");
+        out.writeByte(format);
+        if (topology != null) {
+            out.write(topology);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static ByteBuffer frame(byte[] body) {
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_LENGTH + body.length);
+        frame.putInt(body.length).putInt((int) crc.getValue()).put(body).flip();
+        return frame;
+    }
+
+    private static long writeFully(FileChannel out, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += out.write(buffer, position);
+        }
+        return position;
+    }
+
+    private static int readFully(FileChannel in, ByteBuffer buffer, long position) throws IOException {
+        int total = 0;
+        while (buffer.hasRemaining()) {
+            int read = in.read(buffer, position + total);
+            if (read < 0) {
+                break;
+            }
+            total += read;
+        }
+        return total;
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * A record as read from the journal, with its topology still encoded.
+     */
+    private record Record(byte kind, String serviceName, String serviceUrl, byte format, byte[] body,
+            int topologyOffset) {
+
+        static Record parse(byte[] body) throws IOException {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+            byte kind = in.readByte();
+            String serviceName = in.readUTF();
+            String serviceUrl = in.readUTF();
+            byte format = in.readByte();
+            return new Record(kind, serviceName, serviceUrl.isEmpty() ? null : serviceUrl, format, body,
+                    body.length - in.available());
+        }
+    }
+
+    /**
+     * The latest record of a registered service with its decoded topology. The record is kept for compaction.
+     */
+    private record LiveRecord(byte[] body, Entry entry) {
+    }
+}
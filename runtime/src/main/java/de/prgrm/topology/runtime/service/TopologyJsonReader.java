@@ -0,0 +1,135 @@
+package de.prgrm.topology.runtime.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.prgrm.topology.runtime.model.ChannelInfo;
+import de.prgrm.topology.runtime.model.TopologyInfo;
+
+/**
+ * Streaming reader for topology JSON that builds services and channels but skips schema subtrees.
+ * <p>
+ * Binding the whole document with {@code mapper.readValue(json, TopologyInfo.class)} turns every schema and example
+ * payload into nested maps, even though aggregating, rendering and analyzing the topology never read them. Schemas
+ * also make up most of a topology file. This reader only records where each schema and example payload starts and
+ * ends in the input. It parses them on first access, for example when the viewer opens a channel. Unknown fields are
+ * skipped.
+ */
+public final class TopologyJsonReader {
+
+    private TopologyJsonReader() {
+    }
+
+    /**
+     * Reads the services and channels of a topology. Schemas and example payloads are parsed lazily from
+     * {@code json}, which the returned topology keeps until then; the array must not be modified afterwards.
+     *
+     * @throws IOException if {@code json} is not a topology document
+     */
+    public static TopologyInfo read(byte[] json, ObjectMapper mapper) throws IOException {
+        return read(json, 0, json.length, mapper);
+    }
+
+    /**
+     * Reads the topology held in {@code length} bytes of {@code json} from {@code offset}, like
+     * {@link #read(byte[], ObjectMapper)}. Schemas and example payloads keep a reference to the whole array.
+     */
+    public static TopologyInfo read(byte[] json, int offset, int length, ObjectMapper mapper) throws IOException {
+        try (JsonParser parser = mapper.getFactory().createParser(json, offset, length)) {
+            expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+
+            TopologyInfo topology = new TopologyInfo();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "serviceName" -> topology.setServiceName(text(parser));
+                    case "groupId" -> topology.setGroupId(text(parser));
+                    case "artifactId" -> topology.setArtifactId(text(parser));
+                    case "version" -> topology.setVersion(text(parser));
+                    case "serviceUrl" -> topology.setServiceUrl(text(parser));
+                    case "projectName" -> topology.setProjectName(text(parser));
+                    case "channels" -> {
+                        if (parser.currentToken() != JsonToken.VALUE_NULL) {
+                            topology.setChannels(channels(parser, json, offset, mapper));
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+            expect(parser, parser.currentToken(), JsonToken.END_OBJECT);
+            return topology;
+        }
+    }
+
+    private static List<ChannelInfo> channels(JsonParser parser, byte[] json, int base, ObjectMapper mapper)
+            throws IOException {
+        expect(parser, parser.currentToken(), JsonToken.START_ARRAY);
+
+        List<ChannelInfo> channels = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            ChannelInfo channel = new ChannelInfo();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "channelName" -> channel.setChannelName(text(parser));
+                    case "direction" -> channel.setDirection(text(parser));
+                    case "className" -> channel.setClassName(text(parser));
+                    case "methodName" -> channel.setMethodName(text(parser));
+                    case "topic" -> channel.setTopic(text(parser));
+                    case "connector" -> channel.setConnector(text(parser));
+                    case "messageType" -> channel.setMessageType(text(parser));
+                    case "schemaFingerprint" -> channel.setSchemaFingerprint(text(parser));
+                    case "schema" -> channel.setSchema(payload(parser, json, base, mapper));
+                    case "examplePayload" -> channel.setExamplePayload(payload(parser, json, base, mapper));
+                    default -> parser.skipChildren();
+                }
+            }
+            channels.add(channel);
+        }
+        expect(parser, parser.currentToken(), JsonToken.END_ARRAY);
+        return channels;
+    }
+
+    /**
+     * Skips the object at the current token and returns a map that parses it on first access. The parser reports
+     * offsets relative to {@code base}, where it started reading {@code json}.
+     */
+    private static Map<String, Object> payload(JsonParser parser, byte[] json, int base, ObjectMapper mapper)
+            throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expect(parser, parser.currentToken(), JsonToken.START_OBJECT);
+
+        long start = parser.currentTokenLocation().getByteOffset();
+        parser.skipChildren();
+        long end = parser.currentLocation().getByteOffset();
+        return new LazyPayload(mapper, json, base + (int) start, (int) (end - start));
+    }
+
+    private static String text(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (!token.isScalarValue()) {
+            throw new JsonParseException(parser, "Expected a value for '" + parser.currentName() + "' but got " + token);
+        }
+        return parser.getValueAsString();
+    }
+
+    private static void expect(JsonParser parser, JsonToken actual, JsonToken expected) throws JsonParseException {
+        if (actual != expected) {
+            throw new JsonParseException(parser, "Expected " + expected + " but got " + actual);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package de.prgrm.topology.runtime.service;
+
+/**
+ * Timing breakdown of the last topology load. Read and parse times are summed over all files, so
+ * in parallel mode they can exceed the wall-clock time.
+ */
+public record TopologyLoadTimings(
+        String mode,
+        int parallelism,
+        int files,
+        int failed,
+        double listMillis,
+        double readMillis,
+        double parseMillis,
+        double wallMillis) {
+}
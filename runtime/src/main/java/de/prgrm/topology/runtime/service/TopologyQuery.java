@@ -0,0 +1,273 @@
+package de.prgrm.topology.runtime.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import de.prgrm.topology.runtime.model.ChannelInfo;
+import de.prgrm.topology.runtime.model.TopologyInfo;
+
+/**
+ * Filtered, paginated and projected views over the aggregated topology of all services.
+ * <p>
+ * Results are ordered by service key ({@code project/service}), direction and channel name. Cursors encode the last
+ * returned key, so paging stays consistent when services or channels are added or removed between requests, and
+ * same-named services of different projects are neither skipped nor repeated. Service filters accept a service
+ * name, which matches it in every project, or a service key.
+ */
+@ApplicationScoped
+public class TopologyQuery {
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    private static final Map<String, Function<ChannelRow, Object>> CHANNEL_FIELDS = new LinkedHashMap<>();
+    private static final Map<String, Function<TopologyInfo, Object>> SERVICE_FIELDS = new LinkedHashMap<>();
+
+    static {
+        CHANNEL_FIELDS.put("service", row -> row.topology().getServiceName());
+        CHANNEL_FIELDS.put("projectName", row -> row.topology().getProjectName());
+        CHANNEL_FIELDS.put("serviceUrl", row -> row.topology().getServiceUrl());
+        CHANNEL_FIELDS.put("channelName", row -> row.channel().getChannelName());
+        CHANNEL_FIELDS.put("direction", row -> row.channel().getDirection());
+        CHANNEL_FIELDS.put("topic", row -> effectiveTopic(row.channel()));
+        CHANNEL_FIELDS.put("connector", row -> row.channel().getConnector());
+        CHANNEL_FIELDS.put("messageType", row -> row.channel().getMessageType());
+        CHANNEL_FIELDS.put("className", row -> row.channel().getClassName());
+        CHANNEL_FIELDS.put("methodName", row -> row.channel().getMethodName());
+        CHANNEL_FIELDS.put("schemaFingerprint", row -> row.channel().getSchemaFingerprint());
+        CHANNEL_FIELDS.put("schema", row -> row.channel().getSchema());
+        CHANNEL_FIELDS.put("examplePayload", row -> row.channel().getExamplePayload());
+
+        SERVICE_FIELDS.put("service", TopologyInfo::getServiceName);
+        SERVICE_FIELDS.put("serviceUrl", TopologyInfo::getServiceUrl);
+        SERVICE_FIELDS.put("projectName", TopologyInfo::getProjectName);
+        SERVICE_FIELDS.put("groupId", TopologyInfo::getGroupId);
+        SERVICE_FIELDS.put("artifactId", TopologyInfo::getArtifactId);
+        SERVICE_FIELDS.put("version", TopologyInfo::getVersion);
+        SERVICE_FIELDS.put("channelCount", topology -> topology.getChannels().size());
+    }
+
+    @Inject
+    ServiceRegistry serviceRegistry;
+
+    /**
+     * Returns one page of channels across all services that match every given filter.
+     *
+     * @throws IllegalArgumentException if the cursor, limit or a field name is invalid
+     */
+    public Page channels(ChannelFilter filter, String cursor, int limit, String fields) {
+        List<String> projection = parseFields(fields, CHANNEL_FIELDS.keySet());
+        List<String> after = decodeCursor(cursor, 3);
+        checkLimit(limit);
+
+        AggregatedTopology aggregated = serviceRegistry.getAggregatedTopology();
+        List<ChannelRow> rows = new ArrayList<>();
+        for (TopologyInfo topology : aggregated.topologies()) {
+            if (!selects(filter.services(), topology)) {
+                continue;
+            }
+            for (ChannelInfo channel : candidates(topology, filter)) {
+                if (filter.matches(channel)) {
+                    rows.add(new ChannelRow(topology, channel));
+                }
+            }
+        }
+        rows.sort(ChannelRow.ORDER);
+
+        int start = 0;
+        if (after != null) {
+            ChannelRow last = new ChannelRow(after.get(0), after.get(1), after.get(2));
+            while (start < rows.size() && ChannelRow.ORDER.compare(rows.get(start), last) <= 0) {
+                start++;
+            }
+        }
+
+        int end = Math.min(start + limit, rows.size());
+        List<Map<String, Object>> items = new ArrayList<>(end - start);
+        for (ChannelRow row : rows.subList(start, end)) {
+            items.add(project(row, projection, CHANNEL_FIELDS));
+        }
+
+        String nextCursor = null;
+        if (end < rows.size()) {
+            ChannelRow last = rows.get(end - 1);
+            nextCursor = encodeCursor(last.serviceKey(), last.direction(), last.channelName());
+        }
+        return new Page(items, rows.size(), nextCursor, aggregated.contentHash());
+    }
+
+    /**
+     * Returns one page of services, optionally restricted to the given service names or keys.
+     *
+     * @throws IllegalArgumentException if the cursor, limit or a field name is invalid
+     */
+    public Page services(Set<String> services, String cursor, int limit, String fields) {
+        List<String> projection = parseFields(fields, SERVICE_FIELDS.keySet());
+        List<String> after = decodeCursor(cursor, 1);
+        checkLimit(limit);
+
+        AggregatedTopology aggregated = serviceRegistry.getAggregatedTopology();
+        List<TopologyInfo> matching = new ArrayList<>();
+        for (TopologyInfo topology : aggregated.topologies()) {
+            if (selects(services, topology)) {
+                matching.add(topology);
+            }
+        }
+        matching.sort(Comparator.comparing(TopologyInfo::serviceKey, TopologyQuery::compare));
+
+        int start = 0;
+        if (after != null) {
+            while (start < matching.size() && compare(matching.get(start).serviceKey(), after.get(0)) <= 0) {
+                start++;
+            }
+        }
+
+        int end = Math.min(start + limit, matching.size());
+        List<Map<String, Object>> items = new ArrayList<>(end - start);
+        for (TopologyInfo topology : matching.subList(start, end)) {
+            items.add(project(topology, projection, SERVICE_FIELDS));
+        }
+
+        String nextCursor = end < matching.size() ? encodeCursor(matching.get(end - 1).serviceKey()) : null;
+        return new Page(items, matching.size(), nextCursor, aggregated.contentHash());
+    }
+
+    /**
+     * Narrows the channels of a topology through its index when filtering by topic or connector.
+     */
+    private static Collection<ChannelInfo> candidates(TopologyInfo topology, ChannelFilter filter) {
+        if (filter.topics().size() == 1) {
+            return topology.channelIndex().byTopic(filter.topics().iterator().next());
+        }
+        if (filter.connectors().size() == 1) {
+            return topology.channelIndex().byConnector(filter.connectors().iterator().next());
+        }
+        return topology.getChannels();
+    }
+
+    private static <T> Map<String, Object> project(T source, List<String> projection,
+            Map<String, Function<T, Object>> fields) {
+        Map<String, Object> item = new LinkedHashMap<>();
+        for (String field : projection) {
+            item.put(field, fields.get(field).apply(source));
+        }
+        return item;
+    }
+
+    private static List<String> parseFields(String fields, Set<String> available) {
+        if (fields == null || fields.isBlank()) {
+            return List.copyOf(available);
+        }
+
+        List<String> projection = new ArrayList<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!available.contains(name)) {
+                throw new IllegalArgumentException("Unknown field '" + name + "', expected one of " + available);
+            }
+            if (!projection.contains(name)) {
+                projection.add(name);
+            }
+        }
+        return projection;
+    }
+
+    private static void checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+    }
+
+    private static String encodeCursor(String... key) {
+        String joined = String.join("\0", Arrays.stream(key).map(k -> k != null ? k : "").toList());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joined.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<String> decodeCursor(String cursor, int parts) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            List<String> key = List.of(decoded.split("\0", -1));
+            if (key.size() == parts) {
+                return key;
+            }
+        } catch (IllegalArgumentException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Invalid cursor");
+    }
+
+    /**
+     * Whether a topology is selected by a set of service names and keys; an empty set selects every topology.
+     */
+    private static boolean selects(Set<String> services, TopologyInfo topology) {
+        return services.isEmpty() || services.contains(topology.getServiceName())
+                || services.contains(topology.serviceKey());
+    }
+
+    private static String effectiveTopic(ChannelInfo channel) {
+        return channel.getTopic() != null ? channel.getTopic() : channel.getChannelName();
+    }
+
+    private static int compare(String a, String b) {
+        return (a != null ? a : "").compareTo(b != null ? b : "");
+    }
+
+    /**
+     * Channel filters; every non-empty set must contain the channel's value. The topic filter matches the
+     * channel name for channels without an explicit topic, the message type filter also accepts simple class names.
+     */
+    public record ChannelFilter(Set<String> services, Set<String> topics, Set<String> connectors,
+            Set<String> directions, Set<String> messageTypes) {
+
+        boolean matches(ChannelInfo channel) {
+            return (topics.isEmpty() || topics.contains(effectiveTopic(channel)))
+                    && (connectors.isEmpty() || connectors.contains(channel.getConnector()))
+                    && (directions.isEmpty() || directions.contains(channel.getDirection()))
+                    && (messageTypes.isEmpty() || matchesMessageType(channel.getMessageType()));
+        }
+
+        private boolean matchesMessageType(String messageType) {
+            if (messageType == null) {
+                return false;
+            }
+            if (messageTypes.contains(messageType)) {
+                return true;
+            }
+            int simpleNameStart = Math.max(messageType.lastIndexOf('.'), messageType.lastIndexOf('$')) + 1;
+            return messageTypes.contains(messageType.substring(simpleNameStart));
+        }
+    }
+
+    /**
+     * One page of results. {@code total} counts all matches, {@code nextCursor} is {@code null} on the last page
+     * and {@code contentHash} identifies the aggregated topology the page was taken from.
+     */
+    public record Page(List<Map<String, Object>> items, int total, String nextCursor, String contentHash) {
+    }
+
+    private record ChannelRow(TopologyInfo topology, ChannelInfo channel, String serviceKey, String direction,
+            String channelName) {
+
+        static final Comparator<ChannelRow> ORDER = Comparator.comparing(ChannelRow::serviceKey, TopologyQuery::compare)
+                .thenComparing(ChannelRow::direction, TopologyQuery::compare)
+                .thenComparing(ChannelRow::channelName, TopologyQuery::compare);
+
+        ChannelRow(TopologyInfo topology, ChannelInfo channel) {
+            this(topology, channel, topology.serviceKey(), channel.getDirection(), channel.getChannelName());
+        }
+
+        ChannelRow(String serviceKey, String direction, String channelName) {
+            this(null, null, serviceKey, direction, channelName);
+        }
+    }
+}
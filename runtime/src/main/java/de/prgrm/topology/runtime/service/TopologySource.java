@@ -0,0 +1,30 @@
+package de.prgrm.topology.runtime.service;
+
+import java.io.IOException;
+import java.util.List;
+
+import de.prgrm.topology.runtime.model.TopologyInfo;
+
+/**
+ * Where the registry reads the topologies of all services from: one file per service or a journal per project.
+ */
+interface TopologySource {
+
+    /**
+     * Brings the snapshot up to date and returns the topologies ordered by service name.
+     */
+    List<Entry> refresh() throws IOException;
+
+    /**
+     * Timing breakdown of the most recent (re)load, or {@code null} if nothing was loaded yet.
+     */
+    TopologyLoadTimings getLastLoadTimings();
+
+    void close();
+
+    /**
+     * A topology together with the hash of the content it was parsed from.
+     */
+    record Entry(TopologyInfo topology, String contentHash) {
+    }
+}
@@ -0,0 +1,38 @@
+package de.prgrm.topology.runtime.web;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Date;
+import java.util.zip.GZIPOutputStream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.prgrm.topology.runtime.model.TopologyRegistry;
+import de.prgrm.topology.runtime.service.ContentHash;
+
+/**
+ * One version of the local topology serialized once, as plain and gzip-compressed JSON.
+ * <p>
+ * The ETag is derived from the JSON, so it stays the same across restarts as long as the topology does.
+ * {@code lastModified} is the time of serialization, truncated to seconds as HTTP dates are.
+ */
+record SerializedTopology(long version, byte[] json, byte[] gzip, String etag, Date lastModified) {
+
+    static SerializedTopology of(TopologyRegistry.Snapshot snapshot, ObjectMapper mapper) {
+        try {
+            byte[] json = mapper.writeValueAsBytes(snapshot.topology());
+
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(json);
+            }
+
+            String etag = ContentHash.of(json).substring(0, 32);
+            long now = System.currentTimeMillis();
+            return new SerializedTopology(snapshot.version(), json, compressed.toByteArray(), etag, new Date(now - now % 1000));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not serialize topology", e);
+        }
+    }
+}
@@ -1,21 +1,47 @@
 package de.prgrm.topology.runtime.web;
 
-import java.util.Map;
+import java.io.InputStream;
+import java.util.*;
 
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.prgrm.topology.runtime.config.TopologyConfig;
+import de.prgrm.topology.runtime.generator.MermaidDiagramGenerator;
+import de.prgrm.topology.runtime.metrics.ChannelMetrics;
 import de.prgrm.topology.runtime.model.TopologyInfo;
 import de.prgrm.topology.runtime.model.TopologyRegistry;
+import de.prgrm.topology.runtime.service.BatchSendResult;
+import de.prgrm.topology.runtime.service.LoadGenerator;
 import de.prgrm.topology.runtime.service.MessageSender;
 import de.prgrm.topology.runtime.service.SchemaIntrospector;
 import de.prgrm.topology.runtime.service.ServiceRegistry;
+import de.prgrm.topology.runtime.service.TopologyAnalysis;
+import de.prgrm.topology.runtime.service.TopologyAnalyzer;
+import de.prgrm.topology.runtime.service.TopologyQuery;
 
 @Path("/q/messaging-topology")
 public class TopologyApiController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
+    private static final TypeReference<Map<String, Object>> ENTRY_TYPE = new TypeReference<>() {
+    };
+
     @Inject
     SchemaIntrospector schemaIntrospector;
 
@@ -25,10 +51,202 @@ public class TopologyApiController {
     @Inject
     ServiceRegistry serviceRegistry;
 
+    @Inject
+    LoadGenerator loadGenerator;
+
+    @Inject
+    ChannelMetrics channelMetrics;
+
+    @Inject
+    TopologyEventStream eventStream;
+
+    @Inject
+    TopologyQuery topologyQuery;
+
+    @Inject
+    TopologyAnalyzer topologyAnalyzer;
+
+    @Inject
+    MermaidDiagramGenerator mermaidGenerator;
+
+    @Inject
+    TopologyConfig config;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private volatile SerializedTopology serializedTopology;
+
+    /**
+     * Serves the local topology from JSON serialized once, gzip-compressed if the client accepts it.
+     * Aggregating services poll this endpoint and revalidate with {@code If-None-Match}.
+     */
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getTopology(@HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding,
+            @Context Request request) {
+        TopologyRegistry.Snapshot snapshot = TopologyRegistry.INSTANCE.snapshot();
+        if (snapshot.topology() == null) {
+            return Response.noContent().build();
+        }
+
+        // Serialized once per published version
+        SerializedTopology serialized = serializedTopology;
+        if (serialized == null || serialized.version() != snapshot.version()) {
+            serialized = SerializedTopology.of(snapshot, mapper);
+            serializedTopology = serialized;
+        }
+
+        // Weak, because the plain and gzip-compressed bodies share one tag
+        EntityTag etag = new EntityTag(serialized.etag(), true);
+        CacheControl cacheControl = new CacheControl();
+        cacheControl.setNoCache(true);
+
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(serialized.lastModified(), etag);
+        if (notModified != null) {
+            return notModified.tag(etag)
+                    .cacheControl(cacheControl)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        boolean gzip = acceptsGzip(acceptEncoding);
+        Response.ResponseBuilder response = Response.ok(gzip ? serialized.gzip() : serialized.json(),
+                MediaType.APPLICATION_JSON_TYPE)
+                .tag(etag)
+                .lastModified(serialized.lastModified())
+                .cacheControl(cacheControl)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.build();
+    }
+
+    @GET
+    @Path("/stream")
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    public void stream(@Context SseEventSink sink, @Context Sse sse) {
+        eventStream.subscribe(sink, sse);
+    }
+
+    @GET
+    @Path("/channels")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response queryChannels(
+            @QueryParam("service") List<String> services,
+            @QueryParam("topic") List<String> topics,
+            @QueryParam("connector") List<String> connectors,
+            @QueryParam("direction") List<String> directions,
+            @QueryParam("messageType") List<String> messageTypes,
+            @QueryParam("cursor") String cursor,
+            @QueryParam("limit") @DefaultValue("" + TopologyQuery.DEFAULT_LIMIT) int limit,
+            @QueryParam("fields") String fields) {
+        TopologyQuery.ChannelFilter filter = new TopologyQuery.ChannelFilter(values(services), values(topics),
+                values(connectors), values(directions), values(messageTypes));
+
+        try {
+            return Response.ok(topologyQuery.channels(filter, cursor, limit, fields)).build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(400)
+                    .entity(Map.of("error", e.getMessage()))
+                    .build();
+        }
+    }
+
+    @GET
+    @Path("/channels/{name}/{direction}/schema")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getChannelSchema(@PathParam("name") String name, @PathParam("direction") String direction,
+            @Context Request request) {
+        Optional<SchemaIntrospector.ChannelSchema> schema = schemaIntrospector.getChannelSchema(name, direction);
+        if (schema.isEmpty()) {
+            return Response.status(404)
+                    .entity(Map.of("error", "No schema for " + direction + " channel " + name))
+                    .build();
+        }
+
+        // The fingerprint is derived from the schema itself, so it stays valid across restarts
+        EntityTag etag = new EntityTag(schema.get().fingerprint());
+        CacheControl cacheControl = new CacheControl();
+        cacheControl.setNoCache(true);
+
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(etag);
+        if (notModified != null) {
+            return notModified.cacheControl(cacheControl).build();
+        }
+        return Response.ok(schema.get()).tag(etag).cacheControl(cacheControl).build();
+    }
+
+    @GET
+    @Path("/services")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response queryServices(
+            @QueryParam("service") List<String> services,
+            @QueryParam("cursor") String cursor,
+            @QueryParam("limit") @DefaultValue("" + TopologyQuery.DEFAULT_LIMIT) int limit,
+            @QueryParam("fields") String fields) {
+        try {
+            return Response.ok(topologyQuery.services(values(services), cursor, limit, fields)).build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(400)
+                    .entity(Map.of("error", e.getMessage()))
+                    .build();
+        }
+    }
+
+    @GET
+    @Path("/analysis")
+    @Produces(MediaType.APPLICATION_JSON)
+    public TopologyAnalysis getAnalysis() {
+        return topologyAnalyzer.analyze();
+    }
+
     @GET
+    @Path("/stats")
     @Produces(MediaType.APPLICATION_JSON)
-    public TopologyInfo getTopology() {
-        return TopologyRegistry.INSTANCE.getTopology();
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("schemaCache", schemaIntrospector.getCacheStats());
+        stats.put("schemaEnrichment", schemaIntrospector.getLastEnrichmentTimings());
+        stats.put("topologyLoad", serviceRegistry.getLastLoadTimings());
+        return stats;
+    }
+
+    @GET
+    @Path("/metrics")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("enabled", channelMetrics.isEnabled());
+        metrics.put("channels", channelMetrics.snapshot(TopologyRegistry.INSTANCE.getTopology()));
+        return metrics;
+    }
+
+    /**
+     * Streams the Mermaid source of the aggregated topology. {@code collapse=true} always groups services,
+     * {@code collapse=false} never does; by default they are grouped above the configured node count.
+     */
+    @GET
+    @Path("/mermaid")
+    @Produces(MediaType.TEXT_PLAIN)
+    public Response getMermaid(@QueryParam("collapse") String collapse) {
+        int collapseThreshold;
+        if (collapse == null || collapse.isBlank()) {
+            collapseThreshold = config.mermaidCollapseThreshold();
+        } else if (collapse.equalsIgnoreCase("true")) {
+            collapseThreshold = 0;
+        } else if (collapse.equalsIgnoreCase("false")) {
+            collapseThreshold = MermaidDiagramGenerator.NO_COLLAPSE;
+        } else {
+            return Response.status(400)
+                    .entity(Map.of("error", "collapse must be true or false"))
+                    .type(MediaType.APPLICATION_JSON_TYPE)
+                    .build();
+        }
+
+        List<TopologyInfo> topologies = serviceRegistry.getAllTopologies();
+        StreamingOutput diagram = out -> mermaidGenerator.write(topologies, out, collapseThreshold);
+        return Response.ok(diagram, MediaType.TEXT_PLAIN_TYPE.withCharset("UTF-8")).build();
     }
 
     @POST
@@ -63,4 +281,157 @@ public class TopologyApiController {
                     .build();
         }
     }
+
+    @POST
+    @Path("/send/batch")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response sendBatch(List<Map<String, Object>> entries) {
+        return sendBatchEntries(entries);
+    }
+
+    @POST
+    @Path("/send/batch")
+    @Consumes(NDJSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response sendBatchNdjson(InputStream body) {
+        System.out.println("📨 Batch send endpoint called (NDJSON stream)");
+
+        // Lines are parsed while earlier chunks are published, so the body is never held as a whole
+        try (MappingIterator<Map<String, Object>> lines = mapper.readerFor(ENTRY_TYPE).readValues(body)) {
+            BatchSendResult result = messageSender.sendBatch(lines);
+            if (result.total() == 0) {
+                return Response.status(400)
+                        .entity(Map.of("error", "Batch is empty"))
+                        .build();
+            }
+            return Response.ok(result).build();
+        } catch (Exception e) {
+            return Response.status(500)
+                    .entity(Map.of("error", e.getMessage()))
+                    .build();
+        }
+    }
+
+    @POST
+    @Path("/load")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response startLoad(Map<String, Object> request) {
+        Object channel = request != null ? request.get("channel") : null;
+        Object rate = request != null ? request.get("rate") : null;
+        if (!(channel instanceof String) || !(rate instanceof Number)) {
+            return Response.status(400)
+                    .entity(Map.of("error", "Missing channel or rate"))
+                    .build();
+        }
+
+        int durationSeconds = request.get("durationSeconds") instanceof Number n ? n.intValue() : 10;
+        int concurrency = request.get("concurrency") instanceof Number n ? n.intValue() : 1;
+
+        try {
+            return Response.accepted(loadGenerator.start((String) channel, ((Number) rate).doubleValue(),
+                    durationSeconds, concurrency)).build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(400)
+                    .entity(Map.of("error", e.getMessage()))
+                    .build();
+        } catch (Exception e) {
+            return Response.status(500)
+                    .entity(Map.of("error", e.getMessage()))
+                    .build();
+        }
+    }
+
+    @GET
+    @Path("/load")
+    @Produces(MediaType.APPLICATION_JSON)
+    public List<LoadGenerator.LoadRun.Status> getLoadRuns() {
+        return loadGenerator.statuses();
+    }
+
+    @GET
+    @Path("/load/{id}")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getLoadRun(@PathParam("id") String id) {
+        return loadGenerator.status(id)
+                .map(status -> Response.ok(status).build())
+                .orElseGet(() -> Response.status(404).entity(Map.of("error", "Load run not found: " + id)).build());
+    }
+
+    @DELETE
+    @Path("/load/{id}")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response stopLoadRun(@PathParam("id") String id) {
+        return loadGenerator.stop(id)
+                .map(status -> Response.ok(status).build())
+                .orElseGet(() -> Response.status(404).entity(Map.of("error", "Load run not found: " + id)).build());
+    }
+
+    /**
+     * Whether {@code Accept-Encoding} allows gzip, explicitly or through {@code *}, with a quality above zero.
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        boolean wildcard = false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            boolean accepted = true;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        accepted = Double.parseDouble(parameter.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        accepted = false;
+                    }
+                }
+            }
+            if (name.equalsIgnoreCase("gzip")) {
+                return accepted;
+            }
+            if (name.equals("*")) {
+                wildcard = accepted;
+            }
+        }
+        return wildcard;
+    }
+
+    /**
+     * Accepts both repeated query parameters and comma-separated values.
+     */
+    private static Set<String> values(List<String> params) {
+        Set<String> values = new HashSet<>();
+        if (params != null) {
+            for (String param : params) {
+                for (String value : param.split(",")) {
+                    if (!value.isBlank()) {
+                        values.add(value.trim());
+                    }
+                }
+            }
+        }
+        return values;
+    }
+
+    private Response sendBatchEntries(List<Map<String, Object>> entries) {
+        if (entries == null || entries.isEmpty()) {
+            return Response.status(400)
+                    .entity(Map.of("error", "Batch is empty"))
+                    .build();
+        }
+
+        System.out.println("📨 Batch send endpoint called (" + entries.size() + " messages)");
+
+        try {
+            return Response.ok(messageSender.sendBatch(entries)).build();
+        } catch (Exception e) {
+            return Response.status(500)
+                    .entity(Map.of("error", e.getMessage()))
+                    .build();
+        }
+    }
 }
@@ -0,0 +1,310 @@
+package de.prgrm.topology.runtime.web;
+
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseBroadcaster;
+import jakarta.ws.rs.sse.SseEventSink;
+
+import de.prgrm.topology.runtime.metrics.ChannelMetrics;
+import de.prgrm.topology.runtime.model.ChannelInfo;
+import de.prgrm.topology.runtime.model.TopologyInfo;
+import de.prgrm.topology.runtime.model.TopologyRegistry;
+import de.prgrm.topology.runtime.service.AggregatedTopology;
+import de.prgrm.topology.runtime.service.ServiceRegistry;
+import io.quarkus.runtime.ShutdownEvent;
+
+/**
+ * Streams the aggregated topology to viewers as server-sent events.
+ * <p>
+ * Every subscriber first receives a {@code snapshot} event, followed by incremental events for
+ * added, updated and removed services and channels, changed failed services and updated metrics. A service is
+ * updated when its URL, version or group changed.
+ * Every incremental event increases the version by one; the snapshot carries the version it reflects,
+ * so clients can apply the following events to a single model.
+ * Changes are detected once per second for all subscribers together, and right away when the local
+ * topology changes; the topology is only diffed when its content hash changed. Polling stops when the
+ * last subscriber disconnects. Services are told apart by project and name.
+ */
+@ApplicationScoped
+public class TopologyEventStream {
+
+    private static final long POLL_INTERVAL_MILLIS = 1000;
+
+    @Inject
+    ServiceRegistry serviceRegistry;
+
+    @Inject
+    ChannelMetrics channelMetrics;
+
+    private Sse sse;
+    private SseBroadcaster broadcaster;
+    private ScheduledExecutorService poller;
+    private ScheduledFuture<?> polling;
+    private Consumer<TopologyRegistry.Snapshot> topologyListener;
+    private final Set<SseEventSink> sinks = new HashSet<>();
+
+    private long version;
+    private String contentHash;
+    private List<String> failedServices = List.of();
+    private Map<String, ServiceState> services = new LinkedHashMap<>();
+    private List<ChannelMetrics.ChannelRate> metrics = List.of();
+
+    public void subscribe(SseEventSink sink, Sse sse) {
+        // Aggregated without holding the lock, as remote services may have to be fetched first
+        AggregatedTopology aggregated = null;
+        List<ChannelMetrics.ChannelRate> currentMetrics = null;
+        try {
+            aggregated = serviceRegistry.getAggregatedTopology();
+            currentMetrics = currentMetrics();
+        } catch (Exception e) {
+            System.err.println("⚠️ Warning: Could not update topology stream: " + e.getMessage());
+        }
+
+        synchronized (this) {
+            startPolling(sse);
+
+            // Bring existing subscribers up to date before the snapshot defines the new one's baseline
+            if (aggregated != null) {
+                apply(aggregated, currentMetrics);
+            }
+
+            TopologyInfo local = TopologyRegistry.INSTANCE.getTopology();
+            Map<String, Object> snapshot = new LinkedHashMap<>();
+            snapshot.put("localService", local != null ? local.getServiceName() : null);
+            snapshot.put("localProject", local != null ? local.getProjectName() : null);
+            snapshot.put("topologies", services.values().stream().map(ServiceState::topology).toList());
+            snapshot.put("failedServices", failedServices);
+            snapshot.put("metrics", metrics);
+
+            sink.send(event("snapshot", snapshot));
+            broadcaster.register(sink);
+            sinks.add(sink);
+        }
+    }
+
+    private void startPolling(Sse sse) {
+        if (broadcaster == null) {
+            this.sse = sse;
+            this.broadcaster = sse.newBroadcaster();
+            broadcaster.onClose(this::unsubscribe);
+            broadcaster.onError((closed, error) -> unsubscribe(closed));
+            // A platform thread: polling may wait for topology files parsed on virtual threads
+            this.poller = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                    .name("topology-events")
+                    .daemon()
+                    .factory());
+        }
+        if (polling == null) {
+            polling = poller.scheduleWithFixedDelay(this::poll, POLL_INTERVAL_MILLIS, POLL_INTERVAL_MILLIS,
+                    TimeUnit.MILLISECONDS);
+            ScheduledExecutorService localPoller = poller;
+            topologyListener = snapshot -> localPoller.execute(this::poll);
+            TopologyRegistry.INSTANCE.addListener(topologyListener);
+        }
+    }
+
+    /**
+     * Stops polling once no subscriber is left. The next subscriber starts again from a fresh baseline.
+     */
+    private synchronized void unsubscribe(SseEventSink sink) {
+        if (!sinks.remove(sink) || !sinks.isEmpty() || polling == null) {
+            return;
+        }
+        polling.cancel(false);
+        polling = null;
+        TopologyRegistry.INSTANCE.removeListener(topologyListener);
+        topologyListener = null;
+
+        contentHash = null;
+        services = new LinkedHashMap<>();
+        failedServices = List.of();
+        metrics = List.of();
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        synchronized (this) {
+            if (topologyListener != null) {
+                TopologyRegistry.INSTANCE.removeListener(topologyListener);
+            }
+            if (poller != null) {
+                poller.shutdownNow();
+            }
+            if (broadcaster != null) {
+                broadcaster.close();
+            }
+        }
+    }
+
+    /**
+     * Aggregates without holding the lock, so subscribers are not blocked while remote services are fetched; only
+     * diffing and broadcasting happen under it.
+     */
+    private void poll() {
+        try {
+            AggregatedTopology aggregated = serviceRegistry.getAggregatedTopology();
+            apply(aggregated, currentMetrics());
+        } catch (Exception e) {
+            System.err.println("⚠️ Warning: Could not update topology stream: " + e.getMessage());
+        }
+    }
+
+    private List<ChannelMetrics.ChannelRate> currentMetrics() {
+        return channelMetrics.isEnabled()
+                ? channelMetrics.snapshot(TopologyRegistry.INSTANCE.getTopology())
+                : List.of();
+    }
+
+    private synchronized void apply(AggregatedTopology aggregated, List<ChannelMetrics.ChannelRate> currentMetrics) {
+        if (!aggregated.contentHash().equals(contentHash)) {
+            diffTopologies(aggregated);
+            contentHash = aggregated.contentHash();
+        }
+
+        if (!currentMetrics.equals(metrics)) {
+            metrics = currentMetrics;
+            broadcast("metrics", Map.of("channels", currentMetrics));
+        }
+    }
+
+    private void diffTopologies(AggregatedTopology aggregated) {
+        boolean initial = contentHash == null;
+        Map<String, ServiceState> next = new LinkedHashMap<>();
+
+        for (TopologyInfo topology : aggregated.topologies()) {
+            ServiceState state = ServiceState.of(topology);
+            ServiceState previous = services.get(topology.serviceKey());
+            next.put(topology.serviceKey(), state);
+
+            if (initial) {
+                continue;
+            }
+            if (previous == null) {
+                broadcast("service-added", Map.of("topology", topology));
+            } else {
+                diffService(topology, previous.topology());
+                diffChannels(topology, previous, state);
+            }
+        }
+
+        if (!initial) {
+            for (Map.Entry<String, ServiceState> removed : services.entrySet()) {
+                if (!next.containsKey(removed.getKey())) {
+                    broadcast("service-removed", service(removed.getValue().topology()));
+                }
+            }
+            if (!aggregated.failedServices().equals(failedServices)) {
+                broadcast("failed-services", Map.of("failedServices", aggregated.failedServices()));
+            }
+        }
+
+        services = next;
+        failedServices = List.copyOf(aggregated.failedServices());
+    }
+
+    private void diffService(TopologyInfo topology, TopologyInfo previous) {
+        if (!Objects.equals(topology.getServiceUrl(), previous.getServiceUrl())
+                || !Objects.equals(topology.getVersion(), previous.getVersion())
+                || !Objects.equals(topology.getGroupId(), previous.getGroupId())) {
+            Map<String, Object> data = service(topology);
+            data.put("serviceUrl", topology.getServiceUrl());
+            data.put("version", topology.getVersion());
+            data.put("groupId", topology.getGroupId());
+            broadcast("service-updated", data);
+        }
+    }
+
+    private void diffChannels(TopologyInfo topology, ServiceState previous, ServiceState current) {
+        for (Map.Entry<String, ChannelSignature> channel : current.signatures().entrySet()) {
+            ChannelSignature before = previous.signatures().get(channel.getKey());
+            if (before == null) {
+                Map<String, Object> data = service(topology);
+                data.put("channel", current.channels().get(channel.getKey()));
+                broadcast("channel-added", data);
+            } else if (!before.equals(channel.getValue())) {
+                Map<String, Object> data = service(topology);
+                data.put("channel", current.channels().get(channel.getKey()));
+                broadcast("channel-updated", data);
+            }
+        }
+
+        for (String key : previous.signatures().keySet()) {
+            if (!current.signatures().containsKey(key)) {
+                ChannelInfo removed = previous.channels().get(key);
+                Map<String, Object> data = service(topology);
+                data.put("channelName", removed.getChannelName());
+                data.put("direction", removed.getDirection());
+                broadcast("channel-removed", data);
+            }
+        }
+    }
+
+    private static Map<String, Object> service(TopologyInfo topology) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("service", topology.getServiceName());
+        data.put("project", topology.getProjectName());
+        return data;
+    }
+
+    private void broadcast(String name, Map<String, Object> data) {
+        if (broadcaster != null) {
+            version++;
+            broadcaster.broadcast(event(name, data));
+        }
+    }
+
+    private OutboundSseEvent event(String name, Map<String, Object> data) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("version", version);
+        payload.putAll(data);
+
+        return sse.newEventBuilder()
+                .id(Long.toString(version))
+                .name(name)
+                .mediaType(MediaType.APPLICATION_JSON_TYPE)
+                .data(payload)
+                .build();
+    }
+
+    /**
+     * One service's topology with its channels keyed by direction and name, plus their signatures
+     * to detect changed channels.
+     */
+    private record ServiceState(TopologyInfo topology, Map<String, ChannelInfo> channels,
+            Map<String, ChannelSignature> signatures) {
+
+        static ServiceState of(TopologyInfo topology) {
+            Map<String, ChannelInfo> channels = new LinkedHashMap<>();
+            Map<String, ChannelSignature> signatures = new HashMap<>();
+            for (ChannelInfo channel : topology.getChannels()) {
+                String key = channel.getDirection() + ":" + channel.getChannelName();
+                channels.put(key, channel);
+                signatures.put(key, ChannelSignature.of(channel));
+            }
+            return new ServiceState(topology, channels, signatures);
+        }
+    }
+
+    /**
+     * The graph fields of a channel and the fingerprint standing in for its schema. Comparing these instead of the
+     * serialized channel leaves schemas that are parsed lazily unparsed.
+     */
+    private record ChannelSignature(String className, String methodName, String topic, String connector,
+            String messageType, String schemaFingerprint) {
+
+        static ChannelSignature of(ChannelInfo channel) {
+            return new ChannelSignature(channel.getClassName(), channel.getMethodName(), channel.getTopic(),
+                    channel.getConnector(), channel.getMessageType(), channel.getSchemaFingerprint());
+        }
+    }
+}
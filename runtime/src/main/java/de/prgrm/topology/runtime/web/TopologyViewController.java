@@ -1,22 +1,21 @@
 package de.prgrm.topology.runtime.web;
 
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.time.Duration;
 import java.util.*;
 
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-
+import de.prgrm.topology.runtime.config.TopologyConfig;
 import de.prgrm.topology.runtime.generator.MermaidDiagramGenerator;
 import de.prgrm.topology.runtime.model.TopologyInfo;
-import de.prgrm.topology.runtime.model.TopologyRegistry;
+import de.prgrm.topology.runtime.service.AggregatedTopology;
 import de.prgrm.topology.runtime.service.ServiceRegistry;
+import de.prgrm.topology.runtime.service.TopologyAnalyzer;
 import de.prgrm.topology.runtime.web.model.TopologyViewModel;
 import io.quarkus.qute.CheckedTemplate;
 import io.quarkus.qute.TemplateInstance;
@@ -30,7 +29,20 @@ public class TopologyViewController {
     @Inject
     MermaidDiagramGenerator mermaidGenerator;
 
-    private final ObjectMapper mapper = new ObjectMapper();
+    @Inject
+    TopologyConfig config;
+
+    @Inject
+    TopologyAnalyzer topologyAnalyzer;
+
+    /**
+     * Distinguishes ETags across restarts, so that pages rendered by an older version are not reused.
+     */
+    private static final String BOOT_ID = Long.toHexString(System.currentTimeMillis());
+
+    private static final CacheControl REVALIDATE = revalidate();
+
+    private volatile RenderedView renderedView;
 
     @CheckedTemplate
     public static class Templates {
@@ -39,59 +51,67 @@ public class TopologyViewController {
 
     @GET
     @Produces(MediaType.TEXT_HTML)
-    public TemplateInstance viewer() {
-        List<TopologyInfo> allTopologies = serviceRegistry.getAllTopologies();
+    public Response viewer(@HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+        AggregatedTopology aggregated = serviceRegistry.getAggregatedTopology();
+        EntityTag etag = new EntityTag(aggregated.contentHash() + "-" + BOOT_ID);
+
+        if (matches(ifNoneMatch, etag)) {
+            return Response.notModified(etag).cacheControl(REVALIDATE).build();
+        }
 
-        System.out.println("📊 Loaded " + allTopologies.size() + " topologies from files");
+        RenderedView view = renderedView;
+        if (view == null || !view.contentHash().equals(aggregated.contentHash())) {
+            view = render(aggregated);
+            renderedView = view;
+        }
+
+        return Response.ok(view.html(), MediaType.TEXT_HTML_TYPE.withCharset("UTF-8"))
+                .tag(etag)
+                .cacheControl(REVALIDATE)
+                .build();
+    }
+
+    private RenderedView render(AggregatedTopology aggregated) {
+        List<TopologyInfo> allTopologies = aggregated.topologies();
+
+        System.out.println("📊 Loaded " + allTopologies.size() + " topologies");
 
         TopologyViewModel model = new TopologyViewModel(
                 allTopologies,
                 allTopologies.size(),
-                Collections.emptyList() // Keine failed services bei file-basiert
-        );
+                aggregated.failedServices(),
+                topologyAnalyzer.analyze(allTopologies));
 
-        String mermaidDiagram = mermaidGenerator.generate(allTopologies);
-        return Templates.topologyViewer(model, mermaidDiagram);
+        String mermaidDiagram = mermaidGenerator.generate(allTopologies, config.mermaidCollapseThreshold());
+        String html = Templates.topologyViewer(model, mermaidDiagram).render();
+        return new RenderedView(aggregated.contentHash(), html);
     }
 
-    private TopologyInfo getLocalTopology() {
-        TopologyInfo localTopology = TopologyRegistry.INSTANCE.getTopology();
-        if (localTopology == null) {
-            localTopology = new TopologyInfo();
-            localTopology.setServiceName("Unknown");
+    private static boolean matches(String ifNoneMatch, EntityTag etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals("\"" + etag.getValue() + "\"")) {
+                return true;
+            }
         }
-        return localTopology;
+        return false;
     }
 
-    private void loadRemoteTopologies(List<String> serviceUrls,
-            List<TopologyInfo> allTopologies,
-            List<String> failedServices) {
-        if (serviceUrls.isEmpty())
-            return;
-
-        HttpClient client = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(2))
-                .build();
+    private static CacheControl revalidate() {
+        CacheControl cacheControl = new CacheControl();
+        cacheControl.setNoCache(true);
+        return cacheControl;
+    }
 
-        for (String serviceUrl : serviceUrls) {
-            try {
-                HttpRequest request = HttpRequest.newBuilder()
-                        .uri(URI.create(serviceUrl + "/q/messaging-topology"))
-                        .timeout(Duration.ofSeconds(2))
-                        .GET()
-                        .build();
-
-                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-
-                if (response.statusCode() == 200) {
-                    TopologyInfo remoteTopology = mapper.readValue(response.body(), TopologyInfo.class);
-                    allTopologies.add(remoteTopology);
-                } else {
-                    failedServices.add(serviceUrl + " (HTTP " + response.statusCode() + ")");
-                }
-            } catch (Exception e) {
-                failedServices.add(serviceUrl + " (" + e.getMessage() + ")");
-            }
-        }
+    /**
+     * Rendered page for one aggregated topology set, keyed by its content hash.
+     */
+    private record RenderedView(String contentHash, String html) {
     }
 }
@@ -4,20 +4,24 @@ import java.util.*;
 import java.util.stream.Collectors;
 
 import de.prgrm.topology.runtime.model.TopologyInfo;
+import de.prgrm.topology.runtime.service.TopologyAnalysis;
 
 public class TopologyViewModel {
     private final List<TopologyWithChannels> topologies;
     private final Stats stats;
     private final List<String> failedServices;
     private final int discoveredServicesCount;
+    private final TopologyAnalysis analysis;
 
-    public TopologyViewModel(List<TopologyInfo> topologies, int totalServices, List<String> failedServices) {
+    public TopologyViewModel(List<TopologyInfo> topologies, int totalServices, List<String> failedServices,
+            TopologyAnalysis analysis) {
         this.topologies = topologies.stream()
                 .map(TopologyWithChannels::new)
                 .collect(Collectors.toList());
         this.failedServices = failedServices;
         this.discoveredServicesCount = totalServices;
         this.stats = new Stats(topologies);
+        this.analysis = analysis;
     }
 
     public List<TopologyWithChannels> getTopologies() {
@@ -36,6 +40,10 @@ public class TopologyViewModel {
         return discoveredServicesCount;
     }
 
+    public TopologyAnalysis getAnalysis() {
+        return analysis;
+    }
+
     public static class Stats {
         private final int servicesCount;
         private final int topicsCount;
@@ -99,6 +107,13 @@ public class TopologyViewModel {
             return topology.getServiceName();
         }
 
+        /**
+         * Project and service name, which the viewer keys services by.
+         */
+        public String getServiceKey() {
+            return topology.serviceKey();
+        }
+
         public String getVersion() {
             return topology.getVersion();
         }
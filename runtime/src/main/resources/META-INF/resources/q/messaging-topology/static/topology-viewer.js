@@ -12,6 +12,17 @@ mermaid.initialize({
 let currentChannel = {};
 let currentSchema = null;
 let currentMode = 'json'; // 'json' or 'form'
+let currentLoadRun = null;
+let loadPollTimer = null;
+
+// Client-side model of the aggregated topology, kept up to date by the event stream
+const topologyModel = {
+    version: 0,
+    localService: null,
+    services: {},
+    failedServices: [],
+    metrics: []
+};
 
 /**
  * Show channel details modal
@@ -32,17 +43,22 @@ async function showChannelDetails(service, channelName, topic, direction, classN
     document.getElementById('detailImplementation').textContent = className + '.' + methodName + '()';
 
     // Check if local service
-    const localTopology = await fetch('/q/messaging-topology').then(r => r.json());
-    const isLocal = localTopology.serviceName === service;
+    const isLocal = topologyModel.localService === service;
 
     // Show/hide send button based on local/remote and direction
     const sendButton = document.getElementById('sendMessageBtn');
+    const loadTestButton = document.getElementById('loadTestBtn');
     if (!isLocal || direction === 'incoming') {
         sendButton.style.display = 'none';
+        loadTestButton.style.display = 'none';
     } else {
         sendButton.style.display = 'flex';
+        loadTestButton.style.display = 'flex';
     }
 
+    // Show processing time of local consumers
+    loadProcessingTime(isLocal ? channelName : null, direction);
+
     // Load schema
     await loadSchema(service, channelName, direction);
 
@@ -56,6 +72,8 @@ async function showChannelDetails(service, channelName, topic, direction, classN
 function closeModal() {
     document.getElementById('channelModal').classList.remove('show');
     document.getElementById('messageComposer').classList.remove('show');
+    document.getElementById('loadTest').classList.remove('show');
+    stopLoadPolling();
     currentSchema = null;
     currentMode = 'json';
 }
@@ -72,123 +90,91 @@ function toggleMessageComposer() {
     }
 }
 
+/**
+ * Load the processing time percentiles of a local incoming channel
+ */
+function loadProcessingTime(channelName, direction) {
+    const section = document.getElementById('processingTimeSection');
+    section.style.display = 'none';
+    if (!channelName || direction !== 'incoming') {
+        return;
+    }
+
+    const channel = topologyModel.metrics
+        .find(c => c.channel === channelName && c.direction === 'incoming');
+    const latency = channel && channel.processingTime;
+    if (!latency || latency.count === 0) {
+        return;
+    }
+
+    document.getElementById('detailProcessedCount').textContent = latency.count;
+    document.getElementById('detailProcessingPercentiles').textContent =
+        formatMicros(latency.p50Micros) + ' / ' + formatMicros(latency.p99Micros);
+    document.getElementById('detailProcessingMax').textContent = formatMicros(latency.maxMicros);
+    section.style.display = 'block';
+}
+
 /**
  * Load schema for a channel
  */
 async function loadSchema(service, channelName, direction) {
-    try {
-        const localTopology = await fetch('/q/messaging-topology').then(r => r.json());
-        const isLocal = localTopology.serviceName === service;
+    const channel = findChannel(service, channelName, direction);
 
-        let topology;
-        if (isLocal) {
-            topology = localTopology;
-        } else {
-            // Try to get remote topology
-            const remoteUrl = await findRemoteServiceUrl(service);
-            if (remoteUrl) {
-                const response = await fetch(`${remoteUrl}/q/messaging-topology`);
-                if (response.ok) {
-                    topology = await response.json();
-                }
-            }
-        }
-
-        if (topology && topology.channels) {
-            // Find the matching channel and extract its schema
-            const channel = topology.channels.find(ch =>
-                ch.channelName === channelName && ch.direction === direction
-            );
+    if (channel && !channel.schema) {
+        await resolveSchema(service, channel);
+    }
 
-            if (channel && channel.schema) {
-                currentSchema = channel.schema;
-                console.log('✅ Schema loaded:', currentSchema);
-            } else {
-                console.log('⚠️ No schema found for channel');
-                currentSchema = null;
-            }
-        }
-    } catch (error) {
-        console.error('Failed to load schema:', error);
+    if (channel && channel.schema) {
+        currentSchema = channel.schema;
+        console.log('✅ Schema loaded:', currentSchema);
+    } else {
+        console.log('⚠️ No schema found for channel');
         currentSchema = null;
     }
 }
 
-// Removed: findRemoteSchemaUrl - no longer needed as schema is in topology response
-
 /**
- * Load example payload for a channel
+ * Fetch a schema that is not embedded in the topology (include-schema=false) from the service owning
+ * the channel, and keep it in the model
  */
-async function loadExamplePayload() {
-    const textarea = document.getElementById('messagePayload');
+async function resolveSchema(service, channel) {
+    const topology = topologyModel.services[service];
+    const baseUrl = service === topologyModel.localService ? '' : topology && topology.serviceUrl;
+    if (baseUrl === undefined || baseUrl === null) {
+        return;
+    }
 
     try {
-        const localTopology = await fetch('/q/messaging-topology').then(r => r.json());
-        const isLocal = localTopology.serviceName === currentChannel.service;
-
-        let topology;
-        if (isLocal) {
-            topology = localTopology;
-        } else {
-            const remoteUrl = await findRemoteServiceUrl(currentChannel.service);
-            if (remoteUrl) {
-                const response = await fetch(`${remoteUrl}/q/messaging-topology`);
-                if (response.ok) {
-                    topology = await response.json();
-                }
-            }
-        }
-
-        if (topology && topology.channels) {
-            const channel = topology.channels.find(ch =>
-                ch.channelName === currentChannel.channelName &&
-                ch.direction === currentChannel.direction
-            );
-
-            if (channel && channel.examplePayload) {
-                textarea.value = JSON.stringify(channel.examplePayload, null, 2);
-                return;
-            }
+        const response = await fetch(baseUrl + '/q/messaging-topology/channels/'
+            + encodeURIComponent(channel.channelName) + '/' + channel.direction + '/schema');
+        if (response.ok) {
+            const resolved = await response.json();
+            channel.schema = resolved.schema;
+            channel.examplePayload = resolved.examplePayload;
         }
-
-        // Fallback example
-        textarea.value = JSON.stringify({
-            id: "test-" + Date.now(),
-            message: "Test message from topology viewer",
-            timestamp: new Date().toISOString()
-        }, null, 2);
     } catch (error) {
-        console.error('Failed to load example:', error);
+        console.error('Failed to load schema:', error);
     }
 }
 
 /**
- * Find remote service URL by name
+ * Load example payload for a channel
  */
-async function findRemoteServiceUrl(serviceName) {
-    try {
-        const response = await fetch('/q/messaging-topology/services');
-        if (!response.ok) return null;
-
-        const services = await response.json();
+function loadExamplePayload() {
+    const textarea = document.getElementById('messagePayload');
+    const channel = findChannel(currentChannel.service, currentChannel.channelName, currentChannel.direction);
 
-        for (const serviceUrl of services) {
-            try {
-                const topologyResponse = await fetch(`${serviceUrl}/q/messaging-topology`);
-                if (topologyResponse.ok) {
-                    const topology = await topologyResponse.json();
-                    if (topology.serviceName === serviceName) {
-                        return serviceUrl;
-                    }
-                }
-            } catch (e) {
-                // Ignore and continue
-            }
-        }
-        return null;
-    } catch (error) {
-        return null;
+    if (channel && channel.examplePayload) {
+        textarea.value = JSON.stringify(channel.examplePayload, null, 2);
+        return;
     }
+
+    // Fallback example
+    textarea.value = JSON.stringify({
+        id: "test-" + Date.now(),
+        message: "Test message from topology viewer",
+        timestamp: new Date().toISOString()
+    }, null, 2);
 }
 
 /**
@@ -231,6 +217,119 @@ async function sendMessage() {
     }
 }
 
+/**
+ * Toggle load test panel visibility
+ */
+function toggleLoadTest() {
+    document.getElementById('loadTest').classList.toggle('show');
+}
+
+/**
+ * Start a load run against the current channel
+ */
+async function startLoadTest() {
+    const result = document.getElementById('loadResult');
+    result.innerHTML = '<div style="color: #999;">Starting...</div>';
+
+    try {
+        const response = await fetch('/q/messaging-topology/load', {
+            method: 'POST',
+            headers: { 'Content-Type': 'application/json' },
+            body: JSON.stringify({
+                channel: currentChannel.channelName,
+                rate: Number(document.getElementById('loadRate').value),
+                durationSeconds: Number(document.getElementById('loadDuration').value),
+                concurrency: Number(document.getElementById('loadConcurrency').value)
+            })
+        });
+
+        const status = await response.json();
+        if (!response.ok) {
+            result.innerHTML = createErrorMessage('❌ Failed: ' + status.error);
+            return;
+        }
+
+        currentLoadRun = status.id;
+        renderLoadStatus(status);
+        stopLoadPolling();
+        loadPollTimer = setInterval(pollLoadTest, 1000);
+    } catch (error) {
+        result.innerHTML = createErrorMessage('❌ Error: ' + error.message);
+    }
+}
+
+/**
+ * Stop the running load run
+ */
+async function stopLoadTest() {
+    if (!currentLoadRun) {
+        return;
+    }
+    const response = await fetch('/q/messaging-topology/load/' + currentLoadRun, { method: 'DELETE' });
+    if (response.ok) {
+        renderLoadStatus(await response.json());
+    }
+}
+
+/**
+ * Poll the status of the current load run until it has finished
+ */
+async function pollLoadTest() {
+    try {
+        const response = await fetch('/q/messaging-topology/load/' + currentLoadRun);
+        if (!response.ok) {
+            stopLoadPolling();
+            return;
+        }
+        const status = await response.json();
+        renderLoadStatus(status);
+        if (status.state === 'completed' || status.state === 'stopped') {
+            stopLoadPolling();
+        }
+    } catch (error) {
+        stopLoadPolling();
+    }
+}
+
+function stopLoadPolling() {
+    if (loadPollTimer) {
+        clearInterval(loadPollTimer);
+        loadPollTimer = null;
+    }
+}
+
+/**
+ * Render throughput and publish latency of a load run
+ */
+function renderLoadStatus(status) {
+    const running = status.state === 'running' || status.state === 'stopping';
+    document.getElementById('loadStartBtn').style.display = running ? 'none' : 'inline-block';
+    document.getElementById('loadStopBtn').style.display = running ? 'inline-block' : 'none';
+
+    const latency = status.publishLatency;
+    const errors = status.errors > 0
+        ? `<div class="detail-label">Errors:</div><div class="detail-value">${status.errors} (${status.lastError})</div>`
+        : '';
+
+    document.getElementById('loadResult').innerHTML = `
+        <div class="detail-grid">
+            <div class="detail-label">State:</div>
+            <div class="detail-value">${status.state} (${status.elapsedSeconds.toFixed(1)}s / ${status.durationSeconds}s)</div>
+            <div class="detail-label">Throughput:</div>
+            <div class="detail-value">${status.achievedRate.toFixed(1)} / ${status.targetRate} msg/s</div>
+            <div class="detail-label">Sent:</div>
+            <div class="detail-value">${status.sent}</div>
+            ${errors}
+            <div class="detail-label">Publish latency:</div>
+            <div class="detail-value">p50 ${formatMicros(latency.p50Micros)} · p99 ${formatMicros(latency.p99Micros)} · max ${formatMicros(latency.maxMicros)}</div>
+        </div>
+    `;
+}
+
+function formatMicros(micros) {
+    return micros >= 1000 ? (micros / 1000).toFixed(2) + ' ms' : micros + ' µs';
+}
+
 /**
  * Export schema as JSON file
  */
@@ -393,52 +492,31 @@ function generateInputField(fieldName, fieldSchema) {
 /**
  * Populate form fields with example data
  */
-async function populateFormWithExample() {
+function populateFormWithExample() {
     try {
-        const localTopology = await fetch('/q/messaging-topology').then(r => r.json());
-        const isLocal = localTopology.serviceName === currentChannel.service;
-
-        let topology;
-        if (isLocal) {
-            topology = localTopology;
-        } else {
-            const remoteUrl = await findRemoteServiceUrl(currentChannel.service);
-            if (remoteUrl) {
-                const response = await fetch(`${remoteUrl}/q/messaging-topology`);
-                if (response.ok) {
-                    topology = await response.json();
-                }
-            }
-        }
-
-        if (topology && topology.channels) {
-            const channel = topology.channels.find(ch =>
-                ch.channelName === currentChannel.channelName &&
-                ch.direction === currentChannel.direction
-            );
-
-            if (channel && channel.examplePayload) {
-                const example = channel.examplePayload;
-
-                // Populate form fields with example values
-                for (const [fieldName, value] of Object.entries(example)) {
-                    const fieldId = `field_${fieldName}`;
-                    const fieldElement = document.getElementById(fieldId);
-
-                    if (fieldElement) {
-                        if (fieldElement.type === 'checkbox') {
-                            fieldElement.checked = value === true;
-                        } else if (fieldElement.type === 'datetime-local' && value) {
-                            // Convert ISO string to datetime-local format
-                            const date = new Date(value);
-                            fieldElement.value = date.toISOString().slice(0, 16);
-                        } else if (typeof value === 'object') {
-                            fieldElement.value = JSON.stringify(value, null, 2);
-                        } else if (Array.isArray(value)) {
-                            fieldElement.value = value.join(', ');
-                        } else {
-                            fieldElement.value = value;
-                        }
+        const channel = findChannel(currentChannel.service, currentChannel.channelName, currentChannel.direction);
+
+        if (channel && channel.examplePayload) {
+            const example = channel.examplePayload;
+
+            // Populate form fields with example values
+            for (const [fieldName, value] of Object.entries(example)) {
+                const fieldId = `field_${fieldName}`;
+                const fieldElement = document.getElementById(fieldId);
+
+                if (fieldElement) {
+                    if (fieldElement.type === 'checkbox') {
+                        fieldElement.checked = value === true;
+                    } else if (fieldElement.type === 'datetime-local' && value) {
+                        // Convert ISO string to datetime-local format
+                        const date = new Date(value);
+                        fieldElement.value = date.toISOString().slice(0, 16);
+                    } else if (typeof value === 'object') {
+                        fieldElement.value = JSON.stringify(value, null, 2);
+                    } else if (Array.isArray(value)) {
+                        fieldElement.value = value.join(', ');
+                    } else {
+                        fieldElement.value = value;
                     }
                 }
             }
@@ -492,6 +570,229 @@ function getFormData() {
     return data;
 }
 
+/**
+ * Show the metrics of the local service on the services grid and the diagram
+ */
+function renderChannelMetrics() {
+    const topics = {};
+    topologyModel.metrics.forEach(channel => {
+        const badge = document.querySelector(
+            `.channel[data-service="${topologyModel.localService}"][data-channel="${channel.channel}"][data-direction="${channel.direction}"] .channel-rate`);
+        if (badge) {
+            badge.textContent = channel.total > 0 ? formatRate(channel.rate1m) : '';
+            badge.title = `1s: ${formatRate(channel.rate1s)} · 1m: ${formatRate(channel.rate1m)} · 5m: ${formatRate(channel.rate5m)} · total: ${channel.total}`;
+        }
+
+        const topic = topics[channel.topic] || (topics[channel.topic] = { in: 0, out: 0, total: 0 });
+        topic[channel.direction === 'incoming' ? 'in' : 'out'] += channel.rate1m;
+        topic.total += channel.total;
+    });
+
+    Object.entries(topics).forEach(([topic, rates]) => renderTopicRate(topic, rates));
+}
+
+/**
+ * Add or update a rate label below a topic node of the rendered Mermaid diagram
+ */
+function renderTopicRate(topic, rates) {
+    const topicId = 'topic_' + topic.replace(/[^a-zA-Z0-9_]/gu, '_');
+    const node = Array.from(document.querySelectorAll('#mermaid-diagram g.node'))
+        .find(n => new RegExp(`^flowchart-${topicId}-\\d+$`).test(n.id));
+    if (!node) {
+        return;
+    }
+
+    let label = node.querySelector('text.topic-rate');
+    if (!label) {
+        const box = node.getBBox();
+        label = document.createElementNS('http://www.w3.org/2000/svg', 'text');
+        label.setAttribute('class', 'topic-rate');
+        label.setAttribute('x', box.x + box.width / 2);
+        label.setAttribute('y', box.y + box.height + 14);
+        label.setAttribute('text-anchor', 'middle');
+        node.appendChild(label);
+    }
+    label.textContent = rates.total > 0 ? `⬆ ${formatRate(rates.out)} ⬇ ${formatRate(rates.in)}` : '';
+}
+
+function formatRate(rate) {
+    return (rate >= 100 ? rate.toFixed(0) : rate.toFixed(1)) + '/s';
+}
+
+/**
+ * Key of a service in the model and in data-service attributes, like TopologyInfo.serviceKey()
+ */
+function serviceKey(service, project) {
+    return project ? project + '/' + service : service;
+}
+
+/**
+ * Find a channel in the client-side model
+ */
+function findChannel(service, channelName, direction) {
+    const topology = topologyModel.services[service];
+    return topology && topology.channels
+        ? topology.channels.find(ch => ch.channelName === channelName && ch.direction === direction)
+        : null;
+}
+
+/**
+ * Subscribe to the topology event stream. The first event is a full snapshot, all further events
+ * are applied to the same model; after a reconnect the server sends a fresh snapshot.
+ */
+function connectTopologyStream() {
+    const source = new EventSource('/q/messaging-topology/stream');
+    const on = (name, apply) => source.addEventListener(name, e => {
+        const event = JSON.parse(e.data);
+        apply(event);
+        topologyModel.version = event.version;
+    });
+
+    on('snapshot', event => {
+        topologyModel.localService = serviceKey(event.localService, event.localProject);
+        topologyModel.services = {};
+        event.topologies.forEach(t => topologyModel.services[serviceKey(t.serviceName, t.projectName)] = t);
+        topologyModel.failedServices = event.failedServices;
+        topologyModel.metrics = event.metrics;
+        renderChannelMetrics();
+    });
+
+    on('metrics', event => {
+        topologyModel.metrics = event.channels;
+        renderChannelMetrics();
+    });
+
+    on('service-added', event => {
+        topologyModel.services[serviceKey(event.topology.serviceName, event.topology.projectName)] = event.topology;
+        addServiceCard(event.topology);
+        markDiagramOutdated();
+    });
+
+    on('service-updated', event => {
+        const key = serviceKey(event.service, event.project);
+        const topology = topologyModel.services[key];
+        topology.serviceUrl = event.serviceUrl;
+        topology.version = event.version;
+        topology.groupId = event.groupId;
+        const version = document.querySelector(`.service-card[data-service="${key}"] .version`);
+        if (version) {
+            version.textContent = 'v' + (event.version || 'unknown');
+        }
+    });
+
+    on('service-removed', event => {
+        const key = serviceKey(event.service, event.project);
+        delete topologyModel.services[key];
+        const card = document.querySelector(`.service-card[data-service="${key}"]`);
+        if (card) {
+            card.remove();
+        }
+        markDiagramOutdated();
+    });
+
+    on('channel-added', event => {
+        const key = serviceKey(event.service, event.project);
+        const topology = topologyModel.services[key];
+        topology.channels.push(event.channel);
+        const card = document.querySelector(`.service-card[data-service="${key}"]`);
+        if (card) {
+            card.querySelectorAll('.empty-state').forEach(e => e.remove());
+            card.appendChild(createChannelElement(key, event.channel));
+        }
+        markDiagramOutdated();
+    });
+
+    on('channel-updated', event => {
+        const topology = topologyModel.services[serviceKey(event.service, event.project)];
+        topology.channels = topology.channels.map(ch =>
+            ch.channelName === event.channel.channelName && ch.direction === event.channel.direction
+                ? event.channel
+                : ch);
+    });
+
+    on('channel-removed', event => {
+        const key = serviceKey(event.service, event.project);
+        const topology = topologyModel.services[key];
+        topology.channels = topology.channels.filter(ch =>
+            !(ch.channelName === event.channelName && ch.direction === event.direction));
+        const element = document.querySelector(
+            `.channel[data-service="${key}"][data-channel="${event.channelName}"][data-direction="${event.direction}"]`);
+        if (element) {
+            element.remove();
+        }
+        markDiagramOutdated();
+    });
+
+    on('failed-services', event => {
+        topologyModel.failedServices = event.failedServices;
+    });
+}
+
+/**
+ * Render a channel badge like the services grid template does
+ */
+function createChannelElement(service, channel) {
+    const topic = channel.topic || channel.channelName;
+    const simpleClassName = (channel.className || '').substring((channel.className || '').lastIndexOf('.') + 1);
+
+    const element = document.createElement('div');
+    element.className = 'channel ' + channel.direction;
+    element.dataset.service = service;
+    element.dataset.channel = channel.channelName;
+    element.dataset.direction = channel.direction;
+    element.onclick = () => showChannelDetails(service, channel.channelName, topic, channel.direction,
+        simpleClassName, channel.methodName);
+
+    const icon = document.createElement('span');
+    icon.className = 'channel-icon';
+    icon.textContent = channel.direction === 'incoming' ? '⬇️' : '⬆️';
+    const name = document.createElement('span');
+    name.className = 'channel-name';
+    name.textContent = topic;
+    const rate = document.createElement('span');
+    rate.className = 'channel-rate';
+    const info = document.createElement('span');
+    info.className = 'channel-info';
+    info.textContent = 'ℹ️';
+
+    element.append(icon, name, rate, info);
+    return element;
+}
+
+function addServiceCard(topology) {
+    const grid = document.querySelector('.services-grid');
+    if (!grid) {
+        return;
+    }
+
+    const card = document.createElement('div');
+    const key = serviceKey(topology.serviceName, topology.projectName);
+    card.className = 'service-card';
+    card.dataset.service = key;
+
+    const title = document.createElement('h3');
+    title.textContent = topology.serviceName;
+    const version = document.createElement('div');
+    version.className = 'version';
+    version.textContent = 'v' + (topology.version || 'unknown');
+    card.append(title, version);
+
+    (topology.channels || []).forEach(channel => card.appendChild(createChannelElement(key, channel)));
+    grid.appendChild(card);
+}
+
+/**
+ * The diagram is rendered on the server, so structural changes only show a hint to reload it
+ */
+function markDiagramOutdated() {
+    const hint = document.getElementById('diagram-outdated');
+    if (hint) {
+        hint.style.display = 'inline';
+    }
+}
+
+connectTopologyStream();
+
 /**
  * Keyboard shortcuts
  */
@@ -0,0 +1,39 @@
+package de.prgrm.topology.runtime.generator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import de.prgrm.topology.runtime.model.ChannelInfo;
+import de.prgrm.topology.runtime.model.TopologyInfo;
+
+class MermaidDiagramGeneratorTest {
+
+    @Test
+    void replacesOneUnderscorePerCodePoint() {
+        assertEquals("parcels___", MermaidDiagramGenerator.sanitize("parcels-📦€"));
+        assertEquals("_", MermaidDiagramGenerator.sanitize("\uD83D"));
+        String valid = "Parcels_2024";
+        assertSame(valid, MermaidDiagramGenerator.sanitize(valid));
+    }
+
+    @Test
+    void topicNodeIdMatchesViewer() {
+        TopologyInfo topology = new TopologyInfo();
+        topology.setServiceName("dispatch");
+        ChannelInfo channel = new ChannelInfo("parcels-out", "outgoing", "com.example.Dispatcher", "send");
+        channel.setTopic("parcels-📦");
+        topology.addChannel(channel);
+
+        String diagram = new MermaidDiagramGenerator().generate(List.of(topology));
+
+        // The viewer looks the node up as 'topic_' + topic.replace(/[^a-zA-Z0-9_]/gu, '_')
+        assertTrue(diagram.contains("    topic_parcels__(("), diagram);
+        assertFalse(diagram.contains("topic_parcels___"), diagram);
+    }
+}
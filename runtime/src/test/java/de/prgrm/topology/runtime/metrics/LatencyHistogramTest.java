@@ -0,0 +1,87 @@
+package de.prgrm.topology.runtime.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    @Test
+    void valuesBelowSixteenMicrosAreExact() {
+        for (int micros = 0; micros < 16; micros++) {
+            record(micros);
+        }
+
+        assertEquals(7, histogram.percentileMicros(50));
+        assertEquals(14, histogram.percentileMicros(90));
+        assertEquals(15, histogram.percentileMicros(100));
+        assertEquals(0, histogram.percentileMicros(0));
+    }
+
+    @Test
+    void percentilesReportUpperBoundOfBucket() {
+        // 16-31 µs have buckets of 1 µs, 32-63 µs of 2 µs, 64-127 µs of 4 µs
+        assertEquals(31, upperBoundOf(31));
+        assertEquals(33, upperBoundOf(32));
+        assertEquals(33, upperBoundOf(33));
+        assertEquals(35, upperBoundOf(34));
+        assertEquals(67, upperBoundOf(64));
+        assertEquals(127, upperBoundOf(127));
+    }
+
+    @Test
+    void relativeErrorStaysBelowOneSixteenth() {
+        for (long micros = 16; micros < 100_000_000; micros = micros * 3 + 1) {
+            long upper = upperBoundOf(micros);
+            assertTrue(upper >= micros && upper - micros <= micros / 16, micros + " µs reported as " + upper);
+        }
+    }
+
+    @Test
+    void percentilesAreCappedByMaximumAndRange() {
+        record(32);
+        assertEquals(32, histogram.percentileMicros(99));
+
+        // Beyond the largest bucket percentiles are clamped to its bound, about 35 minutes, the maximum stays exact
+        record(Long.MAX_VALUE / 1_000);
+        assertEquals((1L << 31) - 1, histogram.percentileMicros(100));
+        assertEquals(Long.MAX_VALUE / 1_000, histogram.snapshot().maxMicros());
+    }
+
+    @Test
+    void snapshotSummarizesAndResetClears() {
+        for (int i = 0; i < 98; i++) {
+            record(10);
+        }
+        record(1_000);
+        record(5_000);
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(100, snapshot.count());
+        assertEquals((98 * 10 + 1_000 + 5_000) / 100.0, snapshot.meanMicros(), 1e-9);
+        assertEquals(10, snapshot.p50Micros());
+        assertEquals(10, snapshot.p90Micros());
+        assertEquals(1_023, snapshot.p99Micros());
+        assertEquals(5_000, snapshot.p999Micros());
+        assertEquals(5_000, snapshot.maxMicros());
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.percentileMicros(99));
+    }
+
+    private long upperBoundOf(long micros) {
+        LatencyHistogram single = new LatencyHistogram();
+        single.recordNanos(micros * 1_000);
+        // A larger value keeps the maximum from capping the reported bound
+        single.recordNanos(Long.MAX_VALUE);
+        return single.percentileMicros(50);
+    }
+
+    private void record(long micros) {
+        histogram.recordNanos(micros * 1_000);
+    }
+}
@@ -0,0 +1,26 @@
+package de.prgrm.topology.runtime.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import org.junit.jupiter.api.Test;
+
+class ContentHashTest {
+
+    @Test
+    void hashesContentAsHexSha256() {
+        String hash = ContentHash.of("orders");
+
+        assertEquals(64, hash.length());
+        assertEquals(hash, ContentHash.of("orders"));
+        assertEquals(hash, ContentHash.builder().add("orders").toHex());
+        assertNotEquals(hash, ContentHash.of("orders "));
+    }
+
+    @Test
+    void separatesAddedValues() {
+        assertNotEquals(ContentHash.builder().add("ab").add("c").toHex(),
+                ContentHash.builder().add("a").add("bc").toHex());
+        assertNotEquals(ContentHash.builder().add("a").add((String) null).toHex(), ContentHash.builder().add("a").toHex());
+    }
+}
@@ -0,0 +1,47 @@
+package de.prgrm.topology.runtime.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.LinkedBlockingDeque;
+
+import org.junit.jupiter.api.Test;
+
+class JdkContainerTypesTest {
+
+    @Test
+    void listedTypesAreCollectionsOrMaps() throws ClassNotFoundException {
+        for (String name : JdkContainerTypes.COLLECTIONS) {
+            assertTrue(Collection.class.isAssignableFrom(Class.forName(name)), name);
+        }
+        for (String name : JdkContainerTypes.MAPS) {
+            assertTrue(Map.class.isAssignableFrom(Class.forName(name)), name);
+        }
+    }
+
+    @Test
+    void recognizesSubtypesOfListedTypes() {
+        assertTrue(JdkContainerTypes.isCollection(LinkedBlockingDeque.class));
+        assertTrue(JdkContainerTypes.isCollection(Parcels.class));
+        assertTrue(JdkContainerTypes.isMap(ConcurrentSkipListMap.class));
+        assertFalse(JdkContainerTypes.isCollection(Map.class));
+        assertFalse(JdkContainerTypes.isMap(Optional.class));
+    }
+
+    private static class Parcels extends AbstractList<String> {
+        @Override
+        public String get(int index) {
+            throw new IndexOutOfBoundsException(index);
+        }
+
+        @Override
+        public int size() {
+            return 0;
+        }
+    }
+}
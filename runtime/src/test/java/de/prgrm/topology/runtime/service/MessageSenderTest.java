@@ -0,0 +1,92 @@
+package de.prgrm.topology.runtime.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.prgrm.topology.runtime.config.TopologyConfig;
+import de.prgrm.topology.runtime.model.ChannelInfo;
+import de.prgrm.topology.runtime.model.TopologyInfo;
+import de.prgrm.topology.runtime.model.TopologyRegistry;
+import io.vertx.core.Vertx;
+
+class MessageSenderTest {
+
+    private final MessageSender sender = new MessageSender();
+    private Vertx vertx;
+
+    @BeforeEach
+    void setUp() {
+        vertx = Vertx.vertx();
+        sender.vertx = vertx;
+        sender.config = config(2);
+
+        TopologyInfo topology = new TopologyInfo();
+        topology.setServiceName("orders");
+        topology.addChannel(new ChannelInfo("orders", "outgoing", "com.example.OrderProducer", "send"));
+        topology.addChannel(new ChannelInfo("payments", "incoming", "com.example.PaymentConsumer", "receive"));
+        TopologyRegistry.INSTANCE.setTopology(topology);
+    }
+
+    @AfterEach
+    void tearDown() {
+        vertx.close().toCompletionStage().toCompletableFuture().join();
+    }
+
+    @Test
+    void publishesEntriesInChunks() throws Exception {
+        List<Map<String, Object>> entries = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            entries.add(Map.of("channel", "orders", "payload", Map.of("id", i)));
+        }
+        entries.add(Map.of("channel", "payments", "payload", "in"));
+
+        BatchSendResult result = sender.sendBatch(entries);
+
+        assertEquals(6, result.total());
+        assertEquals(5, result.sent());
+        assertEquals(3, result.chunks());
+        assertEquals("Channel not found or not outgoing: payments", result.results().get(5).error());
+        assertEquals(List.of(0, 1, 2, 3, 4, 5), result.results().stream().map(BatchSendResult.Item::index).toList());
+    }
+
+    @Test
+    void malformedLineEndsBatchAfterEarlierLinesWerePublished() throws Exception {
+        Iterator<Map<String, Object>> lines = new ObjectMapper().readerFor(new TypeReference<Map<String, Object>>() {
+        }).readValues("""
+                {"channel": "orders", "payload": 1}
+                {"channel": "orders", "payload": }
+                {"channel": "orders", "payload": 3}
+                """);
+
+        BatchSendResult result = sender.sendBatch(lines);
+
+        assertEquals(2, result.total());
+        assertEquals(1, result.sent());
+        BatchSendResult.Item failed = result.results().get(1);
+        assertEquals(1, failed.index());
+        assertTrue(failed.error().startsWith("Invalid entry"), failed.error());
+    }
+
+    private static TopologyConfig config(int chunkSize) {
+        return (TopologyConfig) Proxy.newProxyInstance(TopologyConfig.class.getClassLoader(),
+                new Class<?>[] { TopologyConfig.class }, (proxy, method, args) -> {
+                    if (method.getName().equals("sendBatchChunkSize")) {
+                        return chunkSize;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,116 @@
+package de.prgrm.topology.runtime.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class SchemaCacheTest {
+
+    private final List<Class<?>> loaded = new ArrayList<>();
+
+    @Test
+    void evictsOldestEntryAtCapacity() {
+        SchemaCache cache = new SchemaCache(2);
+
+        cache.get(String.class, this::load);
+        cache.get(Integer.class, this::load);
+        cache.get(Long.class, this::load);
+
+        SchemaCache.Stats stats = cache.getStats();
+        assertEquals(2, stats.size());
+        assertEquals(1, stats.evictions());
+
+        // Still cached
+        cache.get(Integer.class, this::load);
+        cache.get(Long.class, this::load);
+        assertEquals(List.of(String.class, Integer.class, Long.class), loaded);
+
+        // Evicted first, so loaded again, which in turn evicts Integer
+        cache.get(String.class, this::load);
+        cache.get(Integer.class, this::load);
+        assertEquals(List.of(String.class, Integer.class, Long.class, String.class, Integer.class), loaded);
+        assertEquals(2, cache.getStats().size());
+        assertEquals(3, cache.getStats().evictions());
+    }
+
+    @Test
+    void countsHitsAndMisses() {
+        SchemaCache cache = new SchemaCache(10);
+
+        Map<String, Object> first = cache.get(String.class, this::load);
+        Map<String, Object> second = cache.get(String.class, this::load);
+        cache.get(Integer.class, this::load);
+
+        assertSame(first, second);
+        SchemaCache.Stats stats = cache.getStats();
+        assertEquals(1, stats.hits());
+        assertEquals(2, stats.misses());
+        assertEquals(1.0 / 3, stats.getHitRate(), 1e-9);
+
+        cache.clear();
+        assertEquals(0, cache.getStats().size());
+        assertEquals(0.0, new SchemaCache(10).getStats().getHitRate());
+    }
+
+    @Test
+    void typesWithoutSchemaAreNotQueuedForEviction() {
+        SchemaCache cache = new SchemaCache(2);
+
+        assertNull(cache.get(String.class, type -> null));
+        cache.get(String.class, this::load);
+        cache.get(Integer.class, this::load);
+        // Evicts String, the oldest entry
+        cache.get(Long.class, this::load);
+        // Evicts Integer, as the failed lookup of String left nothing behind to evict instead
+        cache.get(String.class, this::load);
+        cache.get(String.class, this::load);
+        cache.get(Long.class, this::load);
+
+        assertEquals(List.of(String.class, Integer.class, Long.class, String.class), loaded);
+        assertEquals(2, cache.getStats().evictions());
+    }
+
+    @Test
+    void concurrentLookupsLoadOnce() throws Exception {
+        SchemaCache cache = new SchemaCache(10);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            List<Future<Map<String, Object>>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get(String.class, type -> {
+                        loads.incrementAndGet();
+                        return Map.of("type", type.getSimpleName());
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<Map<String, Object>> result : results) {
+                assertEquals(Map.of("type", "String"), result.get());
+            }
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getStats().misses());
+        assertEquals(7, cache.getStats().hits());
+    }
+
+    private Map<String, Object> load(Class<?> type) {
+        loaded.add(type);
+        return Map.of("type", type.getSimpleName());
+    }
+}
@@ -0,0 +1,142 @@
+package de.prgrm.topology.runtime.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import de.prgrm.topology.runtime.model.ChannelInfo;
+import de.prgrm.topology.runtime.model.TopologyInfo;
+import de.prgrm.topology.runtime.service.TopologyAnalysis.Chain;
+import de.prgrm.topology.runtime.service.TopologyAnalysis.Cycle;
+import de.prgrm.topology.runtime.service.TopologyAnalysis.TopicFanOut;
+
+class TopologyAnalyzerTest {
+
+    private final TopologyAnalyzer analyzer = new TopologyAnalyzer();
+
+    @Test
+    void findsCycleAndLongestChain() {
+        List<TopologyInfo> topologies = List.of(
+                // Cycle: pricing -> stock -> catalog -> pricing
+                service("catalog", "stock-changed", "catalog-changed"),
+                service("pricing", "catalog-changed", "prices"),
+                service("stock", "prices", "stock-changed"),
+                // Chain: checkout -> orders -> billing -> ledger
+                service("checkout", null, "checkouts"),
+                service("orders", "checkouts", "orders"),
+                service("billing", "orders", "invoices"),
+                service("ledger", "invoices", null),
+                // Shorter chain sharing its start
+                service("mailer", "checkouts", "mails"));
+
+        TopologyAnalysis analysis = analyzer.analyze(topologies);
+
+        assertEquals(List.of(new Cycle(List.of("catalog", "pricing", "stock"),
+                List.of("catalog-changed", "prices", "stock-changed"))), analysis.cycles());
+        assertEquals(new Chain(List.of("checkout", "orders", "billing", "ledger"),
+                List.of("checkouts", "orders", "invoices")), analysis.longestChains().get(0));
+        assertEquals(3, analysis.longestChains().get(0).hops());
+        assertEquals(List.of("mails"), analysis.unconsumedTopics());
+        assertEquals(List.of(), analysis.unproducedTopics());
+        assertTrue(analysis.hasWarnings());
+    }
+
+    @Test
+    void breakingCycleTurnsItIntoChain() {
+        List<TopologyInfo> topologies = new ArrayList<>(List.of(
+                service("catalog", "stock-changed", "catalog-changed"),
+                service("pricing", "catalog-changed", "prices"),
+                service("stock", "prices", "stock-changed")));
+        assertEquals(1, analyzer.analyze(topologies).cycles().size());
+
+        topologies.set(0, service("catalog", null, "catalog-changed"));
+        TopologyAnalysis analysis = analyzer.analyze(topologies);
+
+        assertEquals(List.of(), analysis.cycles());
+        assertEquals(List.of("stock-changed"), analysis.unconsumedTopics());
+        assertEquals(List.of("catalog", "pricing", "stock"), analysis.longestChains().get(0).services());
+    }
+
+    @Test
+    void unchangedTopologiesReuseAnalysis() {
+        List<TopologyInfo> topologies = List.of(
+                service("orders", null, "orders"),
+                service("billing", "orders", null),
+                service("shipping", "orders", null),
+                service("audit", "payments", null));
+
+        TopologyAnalysis first = analyzer.analyze(topologies);
+
+        assertSame(first, analyzer.analyze(topologies));
+        assertEquals(List.of(new TopicFanOut("orders", 1, 2), new TopicFanOut("payments", 0, 1)),
+                first.highestFanOut());
+        assertEquals(List.of("payments"), first.unproducedTopics());
+    }
+
+    @Test
+    void chainsAndFanOutAloneAreWarnings() {
+        TopologyAnalysis analysis = analyzer.analyze(List.of(
+                service("orders", null, "orders"),
+                service("billing", "orders", null)));
+
+        assertEquals(List.of(), analysis.unconsumedTopics());
+        assertEquals(List.of(), analysis.unproducedTopics());
+        assertEquals(List.of(), analysis.cycles());
+        assertTrue(analysis.hasWarnings());
+        assertFalse(analyzer.analyze(List.of()).hasWarnings());
+    }
+
+    @Test
+    void sameNamedServicesOfDifferentProjectsStayApart() {
+        TopologyInfo shop = service("orders", null, "orders");
+        shop.setProjectName("shop");
+        TopologyInfo warehouse = service("orders", "orders", null);
+        warehouse.setProjectName("warehouse");
+        List<TopologyInfo> topologies = List.of(shop, warehouse);
+
+        TopologyAnalysis analysis = analyzer.analyze(topologies);
+
+        assertEquals(List.of(), analysis.cycles());
+        assertEquals(List.of("shop/orders", "warehouse/orders"), analysis.longestChains().get(0).services());
+        assertSame(analysis, analyzer.analyze(topologies));
+    }
+
+    @Test
+    void longChainDoesNotOverflowStack() {
+        List<TopologyInfo> topologies = new ArrayList<>();
+        int length = 20_000;
+        for (int i = 0; i < length; i++) {
+            topologies.add(service(String.format("stage-%05d", i), i == 0 ? null : "step-" + (i - 1),
+                    i == length - 1 ? null : "step-" + i));
+        }
+        // Closing the chain turns it into one large cycle
+        topologies.set(0, service("stage-00000", "step-" + (length - 2), "step-0"));
+
+        TopologyAnalysis analysis = analyzer.analyze(topologies);
+
+        assertEquals(1, analysis.cycles().size());
+        assertEquals(length - 1, analysis.cycles().get(0).services().size());
+    }
+
+    private static TopologyInfo service(String name, String consumes, String produces) {
+        TopologyInfo topology = new TopologyInfo();
+        topology.setServiceName(name);
+        if (consumes != null) {
+            ChannelInfo incoming = new ChannelInfo(consumes + "-in", "incoming", "com.example." + name, "consume");
+            incoming.setTopic(consumes);
+            topology.addChannel(incoming);
+        }
+        if (produces != null) {
+            ChannelInfo outgoing = new ChannelInfo(produces + "-out", "outgoing", "com.example." + name, "produce");
+            outgoing.setTopic(produces);
+            topology.addChannel(outgoing);
+        }
+        return topology;
+    }
+}
@@ -0,0 +1,148 @@
+package de.prgrm.topology.runtime.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.prgrm.topology.runtime.model.ChannelInfo;
+import de.prgrm.topology.runtime.model.TopologyInfo;
+
+class TopologyBinaryFormatTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void keepsAbsentFieldsAbsent() throws IOException {
+        TopologyInfo topology = new TopologyInfo();
+        topology.setServiceName("edge-probe");
+        // No group, artifact, version or project; a channel without topic, connector, type, schema or example
+        topology.addChannel(new ChannelInfo("heartbeat", "outgoing", "io.probe.Heartbeat", "beat"));
+
+        TopologyInfo decoded = roundTrip(topology);
+
+        assertEquals(mapper.valueToTree(topology), mapper.valueToTree(decoded));
+        assertNull(decoded.getGroupId());
+        assertNull(decoded.getProjectName());
+        ChannelInfo channel = decoded.getChannels().get(0);
+        assertNull(channel.getTopic());
+        assertNull(channel.getSchema());
+        assertNull(channel.getExamplePayload());
+    }
+
+    @Test
+    void storesEqualPayloadsOnce() throws IOException {
+        TopologyInfo topology = new TopologyInfo();
+        topology.setServiceName("warehouse");
+        topology.setProjectName("logistics");
+        // Equal content in different map instances and key orders
+        topology.addChannel(channel("picks-out", "outgoing", ordered("type", "object", "title", "Pick")));
+        topology.addChannel(channel("picks-in", "incoming", ordered("title", "Pick", "type", "object")));
+        topology.addChannel(channel("returns-in", "incoming", ordered("type", "object", "title", "Return")));
+
+        Path file = write(topology);
+        TopologyInfo decoded = TopologyBinaryFormat.read(file, mapper).topology();
+
+        assertEquals(3, payloadCount(file), "distinct schemas by serialized form");
+        assertEquals(Map.of("type", "object", "title", "Pick"), decoded.getChannels().get(0).getSchema());
+        assertEquals(Map.of("type", "object", "title", "Pick"), decoded.getChannels().get(1).getSchema());
+        assertEquals(Map.of("type", "object", "title", "Return"), decoded.getChannels().get(2).getSchema());
+
+        topology.getChannels().get(1).setSchema(ordered("type", "object", "title", "Pick"));
+        assertEquals(2, payloadCount(write(topology)));
+    }
+
+    @Test
+    void rejectsTruncatedFile() throws IOException {
+        TopologyInfo topology = new TopologyInfo();
+        topology.setServiceName("warehouse");
+        topology.addChannel(channel("picks-out", "outgoing", ordered("type", "object", "title", "Pick")));
+        Path file = write(topology);
+        byte[] bytes = Files.readAllBytes(file);
+
+        for (int length : List.of(0, 7, 60, bytes.length / 2, bytes.length - 1)) {
+            Files.write(file, Arrays.copyOf(bytes, length));
+            assertThrows(IOException.class, () -> TopologyBinaryFormat.read(file, mapper), length + " bytes");
+        }
+    }
+
+    @Test
+    void channelsSharingPayloadGetCopiesOfTheirOwn() throws IOException {
+        TopologyInfo topology = new TopologyInfo();
+        topology.setServiceName("warehouse");
+        Map<String, Object> schema = Map.of("type", "object", "properties", Map.of("sku", Map.of("type", "string")));
+        topology.addChannel(channel("picks-out", "outgoing", schema));
+        topology.addChannel(channel("picks-in", "incoming", schema));
+
+        List<ChannelInfo> channels = roundTrip(topology).getChannels();
+        Map<String, Object> first = channels.get(0).getSchema();
+        Map<String, Object> second = channels.get(1).getSchema();
+        assertNotSame(first, second);
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> properties = (Map<String, Object>) first.get("properties");
+        properties.put("bin", Map.of("type", "string"));
+        assertFalse(((Map<?, ?>) second.get("properties")).containsKey("bin"));
+    }
+
+    @Test
+    void rejectsCorruptPayloadTable() throws IOException {
+        TopologyInfo topology = new TopologyInfo();
+        topology.setServiceName("warehouse");
+        topology.addChannel(channel("picks-out", "outgoing", Map.of("type", "object")));
+        byte[] bytes = TopologyBinaryFormat.toBytes(topology, mapper);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        buffer.putInt(buffer.getInt(16), Integer.MAX_VALUE);
+
+        assertThrows(IOException.class, () -> TopologyBinaryFormat.decode(ByteBuffer.wrap(bytes), mapper));
+    }
+
+    /**
+     * Number of entries in the payload section, whose offset is the third in the header.
+     */
+    private static int payloadCount(Path file) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file));
+        return bytes.getInt(bytes.getInt(16));
+    }
+
+    private TopologyInfo roundTrip(TopologyInfo topology) throws IOException {
+        return TopologyBinaryFormat.read(write(topology), mapper).topology();
+    }
+
+    private Path write(TopologyInfo topology) throws IOException {
+        Path file = directory.resolve(topology.getServiceName() + TopologyBinaryFormat.SUFFIX);
+        TopologyBinaryFormat.write(topology, file, mapper);
+        return file;
+    }
+
+    private static ChannelInfo channel(String name, String direction, Map<String, Object> schema) {
+        ChannelInfo channel = new ChannelInfo(name, direction, "io.warehouse.Picking", "handle");
+        channel.setSchema(schema);
+        return channel;
+    }
+
+    private static Map<String, Object> ordered(String key1, Object value1, String key2, Object value2) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put(key1, value1);
+        map.put(key2, value2);
+        return map;
+    }
+}
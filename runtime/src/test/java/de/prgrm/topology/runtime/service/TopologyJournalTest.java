@@ -0,0 +1,168 @@
+package de.prgrm.topology.runtime.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.prgrm.topology.runtime.config.TopologyConfig.StorageFormat;
+import de.prgrm.topology.runtime.model.ChannelInfo;
+import de.prgrm.topology.runtime.model.TopologyInfo;
+
+class TopologyJournalTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readerAppliesRegistrationsUpdatesAndDeregistrations() throws IOException {
+        TopologyJournal writer = journal(directory, 100);
+        writer.register(stage("ingest", 1), "http://ingest:8080", StorageFormat.JSON);
+        writer.register(stage("enrich", 1), "http://enrich:8080", StorageFormat.BINARY);
+
+        TopologyJournal reader = journal(directory, 100);
+        List<TopologySource.Entry> entries = reader.refresh();
+        assertEquals(List.of("enrich", "ingest"), names(entries));
+        assertEquals("http://enrich:8080", entries.get(0).topology().getServiceUrl());
+        assertEquals(Map.of("stage", 1), entries.get(0).topology().getChannels().get(0).getSchema());
+
+        writer.register(stage("ingest", 2), null, StorageFormat.JSON);
+        writer.deregister("enrich");
+
+        entries = reader.refresh();
+        assertEquals(List.of("ingest"), names(entries));
+        assertEquals("2", entries.get(0).topology().getVersion());
+        assertNull(entries.get(0).topology().getServiceUrl());
+    }
+
+    @Test
+    void nextWriterCutsOffRecordOfCrashedWriter() throws IOException {
+        journal(directory, 100).register(stage("ingest", 1), "http://ingest:8080", StorageFormat.JSON);
+
+        // A writer died after 2 KiB of a 4 KiB record, which is longer than the next record
+        ByteBuffer torn = ByteBuffer.allocate(8 + 2048).putInt(4096).putInt(0x5EED);
+        Files.write(journalFile(), torn.array(), StandardOpenOption.APPEND);
+
+        TopologyJournal reader = journal(directory, 100);
+        assertEquals(List.of("ingest"), names(reader.refresh()));
+
+        journal(directory, 100).register(stage("enrich", 1), "http://enrich:8080", StorageFormat.JSON);
+
+        assertEquals(List.of("enrich", "ingest"), names(reader.refresh()));
+        assertEquals(List.of("enrich", "ingest"), names(journal(directory, 100).refresh()));
+        assertEquals(intactSize(), Files.size(journalFile()));
+    }
+
+    @Test
+    void readerFollowsCompactionIntoNextGeneration() throws IOException {
+        TopologyJournal writer = journal(directory, 0);
+        writer.register(stage("ingest", 1), "http://ingest:8080", StorageFormat.JSON);
+        writer.register(stage("enrich", 1), "http://enrich:8080", StorageFormat.BINARY);
+
+        TopologyJournal reader = journal(directory, 0);
+        List<TopologySource.Entry> before = reader.refresh();
+        long generation = generation();
+
+        // Superseding a record exceeds the threshold of 0 and compacts the journal
+        writer.register(stage("ingest", 2), "http://ingest:8080", StorageFormat.JSON);
+        assertNotEquals(generation, generation());
+
+        List<TopologySource.Entry> after = reader.refresh();
+        assertEquals(List.of("enrich", "ingest"), names(after));
+        assertEquals("2", after.get(1).topology().getVersion());
+        // Unchanged record, decoded again only if it changed
+        assertSame(before.get(0).topology(), after.get(0).topology());
+        assertEquals(2, reader.getLastLoadTimings().files());
+    }
+
+    @Test
+    void malformedRecordIsSkipped() throws IOException {
+        TopologyJournal writer = journal(directory, 100);
+        writer.register(stage("ingest", 1), "http://ingest:8080", StorageFormat.JSON);
+
+        // Checksum matches, but the service name is longer than the body
+        byte[] body = { 2, 0, 100, 'i', 'n', 'g' };
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        ByteBuffer frame = ByteBuffer.allocate(8 + body.length).putInt(body.length).putInt((int) crc.getValue())
+                .put(body);
+        Files.write(journalFile(), frame.array(), StandardOpenOption.APPEND);
+
+        writer.register(stage("enrich", 1), "http://enrich:8080", StorageFormat.BINARY);
+
+        TopologyJournal reader = journal(directory, 100);
+        assertEquals(List.of("enrich", "ingest"), names(reader.refresh()));
+        assertEquals(1, reader.getLastLoadTimings().failed());
+    }
+
+    @Test
+    void zeroFilledTailIsIncompleteRecord() throws IOException {
+        journal(directory, 100).register(stage("ingest", 1), "http://ingest:8080", StorageFormat.JSON);
+
+        // A file system that extended the file before the writer died leaves zeros, not an empty record
+        Files.write(journalFile(), new byte[64], StandardOpenOption.APPEND);
+
+        TopologyJournal reader = journal(directory, 100);
+        assertEquals(List.of("ingest"), names(reader.refresh()));
+        assertEquals(0, reader.getLastLoadTimings().failed());
+
+        journal(directory, 100).register(stage("enrich", 1), "http://enrich:8080", StorageFormat.JSON);
+        assertEquals(List.of("enrich", "ingest"), names(reader.refresh()));
+        assertEquals(intactSize(), Files.size(journalFile()));
+    }
+
+    private TopologyJournal journal(Path directory, int compactionThreshold) {
+        return new TopologyJournal(directory, "default", mapper, compactionThreshold);
+    }
+
+    private Path journalFile() {
+        return directory.resolve("default" + TopologyJournal.SUFFIX);
+    }
+
+    /**
+     * Size of a journal holding the records of {@link #nextWriterCutsOffRecordOfCrashedWriter} without the crash.
+     */
+    private long intactSize() throws IOException {
+        Path intact = Files.createDirectory(directory.resolve("intact"));
+        journal(intact, 100).register(stage("ingest", 1), "http://ingest:8080", StorageFormat.JSON);
+        journal(intact, 100).register(stage("enrich", 1), "http://enrich:8080", StorageFormat.JSON);
+        return Files.size(intact.resolve("default" + TopologyJournal.SUFFIX));
+    }
+
+    private long generation() throws IOException {
+        return ByteBuffer.wrap(Files.readAllBytes(journalFile())).getLong(8);
+    }
+
+    private static List<String> names(List<TopologySource.Entry> entries) {
+        return entries.stream().map(entry -> entry.topology().getServiceName()).toList();
+    }
+
+    /**
+     * One stage of a pipeline, consuming the events of the previous stage; the version tells records apart.
+     */
+    private static TopologyInfo stage(String serviceName, int version) {
+        TopologyInfo topology = new TopologyInfo();
+        topology.setServiceName(serviceName);
+        topology.setVersion(String.valueOf(version));
+        ChannelInfo channel = new ChannelInfo("events-in", "incoming", "pipeline." + serviceName, "process");
+        channel.setSchema(Map.of("stage", version));
+        topology.addChannel(channel);
+        return topology;
+    }
+}
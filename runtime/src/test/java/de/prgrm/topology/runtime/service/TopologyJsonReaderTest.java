@@ -0,0 +1,128 @@
+package de.prgrm.topology.runtime.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.prgrm.topology.runtime.model.ChannelInfo;
+import de.prgrm.topology.runtime.model.TopologyInfo;
+
+class TopologyJsonReaderTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void readsWhatDataBindingReads() throws IOException {
+        byte[] json = mapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(shipping());
+
+        TopologyInfo expected = mapper.readValue(json, TopologyInfo.class);
+        TopologyInfo actual = TopologyJsonReader.read(json, mapper);
+
+        ChannelInfo labels = actual.getChannels().get(0);
+        assertInstanceOf(LazyPayload.class, labels.getSchema());
+        assertEquals(expected.getChannels().get(0).getSchema(), labels.getSchema());
+        assertEquals(mapper.valueToTree(expected), mapper.valueToTree(actual));
+    }
+
+    @Test
+    void readsTopologyEmbeddedInLargerArray() throws IOException {
+        byte[] topology = mapper.writeValueAsBytes(shipping());
+        byte[] prefix = "{\"record\":".getBytes(StandardCharsets.UTF_8);
+        byte[] json = new byte[prefix.length + topology.length + 1];
+        System.arraycopy(prefix, 0, json, 0, prefix.length);
+        System.arraycopy(topology, 0, json, prefix.length, topology.length);
+        json[json.length - 1] = '}';
+
+        TopologyInfo actual = TopologyJsonReader.read(json, prefix.length, topology.length, mapper);
+
+        TopologyInfo expected = mapper.readValue(topology, TopologyInfo.class);
+        assertEquals(mapper.valueToTree(expected), mapper.valueToTree(actual));
+        assertEquals(expected.getChannels().get(0).getExamplePayload(),
+                actual.getChannels().get(0).getExamplePayload());
+    }
+
+    @Test
+    void skipsUnknownFieldsAtAnyDepth() throws IOException {
+        String json = """
+                {"serviceName": "shipping", "owner": {"team": ["a", {"on-call": null}]}, "channels": [
+                  {"channelName": "labels-out", "retries": [1, [2, 3]], "direction": "outgoing",
+                   "hints": {"schema": {"type": "string"}}, "schema": {"type": "object", "x-extra": {"a": []}}},
+                  {"channelName": "labels-in", "direction": "incoming"}
+                ], "tags": null, "deployedAt": 1712000000}
+                """;
+
+        TopologyInfo topology = read(json);
+
+        assertEquals("shipping", topology.getServiceName());
+        assertEquals(List.of("labels-out", "labels-in"),
+                topology.getChannels().stream().map(ChannelInfo::getChannelName).toList());
+        assertEquals("outgoing", topology.getChannels().get(0).getDirection());
+        assertEquals(Map.of("type", "object", "x-extra", Map.of("a", List.of())),
+                topology.getChannels().get(0).getSchema());
+    }
+
+    @Test
+    void keepsNullSchemasAndChannelsAbsent() throws IOException {
+        TopologyInfo topology = read("""
+                {"serviceName": "shipping", "version": null, "channels": [
+                  {"channelName": "labels-out", "direction": "outgoing", "schema": null, "examplePayload": null}
+                ]}
+                """);
+
+        ChannelInfo channel = topology.getChannels().get(0);
+        assertNull(topology.getVersion());
+        assertNull(channel.getSchema());
+        assertNull(channel.getExamplePayload());
+
+        assertEquals(List.of(), read("{\"serviceName\": \"shipping\", \"channels\": null}").getChannels());
+    }
+
+    @Test
+    void rejectsDocumentThatIsNoTopology() {
+        assertThrows(IOException.class, () -> read("[{\"serviceName\": \"shipping\"}]"));
+        assertThrows(IOException.class, () -> read("{\"serviceName\": {\"name\": \"shipping\"}}"));
+        assertThrows(IOException.class, () -> read("{\"channels\": [{\"schema\": \"object\"}]}"));
+    }
+
+    private TopologyInfo read(String json) throws IOException {
+        return TopologyJsonReader.read(json.getBytes(StandardCharsets.UTF_8), mapper);
+    }
+
+    /**
+     * A service that produces and consumes shipping labels, with a nested schema and an example payload.
+     */
+    private static TopologyInfo shipping() {
+        TopologyInfo topology = new TopologyInfo();
+        topology.setServiceName("shipping");
+        topology.setGroupId("com.example.logistics");
+        topology.setArtifactId("shipping-service");
+        topology.setVersion("2.3.1");
+        topology.setProjectName("logistics");
+        topology.setServiceUrl("http://shipping:8080");
+
+        ChannelInfo out = new ChannelInfo("labels-out", "outgoing", "com.example.LabelPrinter", "print");
+        out.setTopic("labels");
+        out.setConnector("smallrye-amqp");
+        out.setMessageType("com.example.Label");
+        out.setSchemaFingerprint("f00d");
+        out.setSchema(Map.of("type", "object", "properties",
+                Map.of("carrier", Map.of("type", "string", "enum", List.of("DHL", "UPS")),
+                        "parcels", Map.of("type", "array", "items", Map.of("$ref", "#/$defs/Parcel"))),
+                "$defs", Map.of("Parcel", Map.of("type", "object"))));
+        out.setExamplePayload(Map.of("carrier", "UPS", "parcels", List.of(Map.of("weight", 1.5))));
+        topology.addChannel(out);
+
+        topology.addChannel(new ChannelInfo("labels-in", "incoming", "com.example.LabelArchive", "store"));
+        return topology;
+    }
+}
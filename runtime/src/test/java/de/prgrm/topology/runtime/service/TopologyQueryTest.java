@@ -0,0 +1,106 @@
+package de.prgrm.topology.runtime.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.prgrm.topology.runtime.model.ChannelInfo;
+import de.prgrm.topology.runtime.model.TopologyInfo;
+
+class TopologyQueryTest {
+
+    private static final TopologyQuery.ChannelFilter ALL = new TopologyQuery.ChannelFilter(Set.of(), Set.of(), Set.of(),
+            Set.of(), Set.of());
+
+    private final TopologyQuery query = new TopologyQuery();
+
+    @BeforeEach
+    void setUp() {
+        // Two services named orders in different projects, and one without a project
+        List<TopologyInfo> topologies = List.of(
+                service("warehouse", "orders", channel("c-out", "outgoing"), channel("a-in", "incoming")),
+                service("shop", "orders", channel("b-out", "outgoing"), channel("a-out", "outgoing")),
+                service(null, "billing", channel("x-in", "incoming")));
+        query.serviceRegistry = new ServiceRegistry() {
+            @Override
+            public AggregatedTopology getAggregatedTopology() {
+                return new AggregatedTopology(topologies, List.of(), "c0ffee");
+            }
+        };
+    }
+
+    @Test
+    void pagesThroughChannelsOfSameNamedServices() {
+        List<String> channels = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String cursor = null;
+        do {
+            TopologyQuery.Page page = query.channels(ALL, cursor, 2, "projectName,service,channelName");
+            assertEquals(5, page.total());
+            page.items().forEach(item -> channels.add(item.get("projectName") + "/" + item.get("service") + " "
+                    + item.get("channelName")));
+            pageSizes.add(page.items().size());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertEquals(List.of("null/billing x-in", "shop/orders a-out", "shop/orders b-out", "warehouse/orders a-in",
+                "warehouse/orders c-out"), channels);
+        assertEquals(List.of(2, 2, 1), pageSizes);
+    }
+
+    @Test
+    void pagesThroughServicesByKey() {
+        List<String> services = new ArrayList<>();
+        String cursor = null;
+        do {
+            TopologyQuery.Page page = query.services(Set.of(), cursor, 1, "projectName,service");
+            Map<String, Object> item = page.items().get(0);
+            services.add(item.get("projectName") + "/" + item.get("service"));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertEquals(List.of("null/billing", "shop/orders", "warehouse/orders"), services);
+    }
+
+    @Test
+    void filtersByServiceNameOrKey() {
+        assertEquals(2, query.services(Set.of("orders"), null, 10, null).total());
+        assertEquals(1, query.services(Set.of("shop/orders"), null, 10, null).total());
+
+        TopologyQuery.ChannelFilter warehouse = new TopologyQuery.ChannelFilter(Set.of("warehouse/orders", "billing"),
+                Set.of(), Set.of(), Set.of("incoming"), Set.of());
+        TopologyQuery.Page page = query.channels(warehouse, null, 10, "channelName");
+        assertEquals(List.of(Map.of("channelName", "x-in"), Map.of("channelName", "a-in")), page.items());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void rejectsCursorOfOtherQuery() {
+        String servicesCursor = query.services(Set.of(), null, 1, null).nextCursor();
+
+        assertThrows(IllegalArgumentException.class, () -> query.channels(ALL, servicesCursor, 2, null));
+        assertThrows(IllegalArgumentException.class, () -> query.channels(ALL, "not base64!", 2, null));
+    }
+
+    private static TopologyInfo service(String project, String name, ChannelInfo... channels) {
+        TopologyInfo topology = new TopologyInfo();
+        topology.setProjectName(project);
+        topology.setServiceName(name);
+        for (ChannelInfo channel : channels) {
+            topology.addChannel(channel);
+        }
+        return topology;
+    }
+
+    private static ChannelInfo channel(String name, String direction) {
+        return new ChannelInfo(name, direction, "com.example.Handler", "handle");
+    }
+}
@@ -0,0 +1,66 @@
+package de.prgrm.topology.runtime.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.ws.rs.core.Response;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.prgrm.topology.runtime.service.BatchSendResult;
+import de.prgrm.topology.runtime.service.MessageSender;
+
+class TopologyApiControllerTest {
+
+    private final TopologyApiController controller = new TopologyApiController();
+    private final List<Map<String, Object>> sent = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        controller.messageSender = new MessageSender() {
+            @Override
+            public BatchSendResult sendBatch(Iterator<Map<String, Object>> entries) {
+                entries.forEachRemaining(sent::add);
+                return new BatchSendResult(sent.size(), sent.size(), 0, 500, 1, 0, 0, 0, 0, List.of());
+            }
+        };
+    }
+
+    @Test
+    void sendsOneEntryPerNdjsonLine() {
+        Response response = sendNdjson("""
+                {"channel": "orders", "payload": {"id": 1}}
+
+                {"channel": "orders", "payload": "raw"}\r
+                {"channel": "audit", "payload": [1, 2]}""");
+
+        assertEquals(200, response.getStatus());
+        assertEquals(3, sent.size());
+        assertEquals(Map.of("id", 1), sent.get(0).get("payload"));
+        assertEquals("raw", sent.get(1).get("payload"));
+        assertEquals("audit", sent.get(2).get("channel"));
+    }
+
+    @Test
+    void rejectsEmptyBody() {
+        Response response = sendNdjson("\n");
+
+        assertEquals(400, response.getStatus());
+        assertEquals("Batch is empty", error(response));
+    }
+
+    private Response sendNdjson(String body) {
+        return controller.sendBatchNdjson(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String error(Response response) {
+        return (String) ((Map<?, ?>) response.getEntity()).get("error");
+    }
+}
@@ -0,0 +1,54 @@
+package de.prgrm.topology.runtime.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.Response;
+
+import org.junit.jupiter.api.Test;
+
+import de.prgrm.topology.runtime.service.AggregatedTopology;
+import de.prgrm.topology.runtime.service.ServiceRegistry;
+
+class TopologyViewControllerTest {
+
+    private final TopologyViewController controller = new TopologyViewController();
+
+    @Test
+    void answersMatchingConditionalRequestWithNotModified() {
+        serve("3f2a");
+        Response any = controller.viewer("*");
+        assertEquals(304, any.getStatus());
+        EntityTag etag = any.getEntityTag();
+
+        assertEquals(304, controller.viewer("\"" + etag.getValue() + "\"").getStatus());
+        assertEquals(304, controller.viewer("W/\"" + etag.getValue() + "\"").getStatus());
+        assertEquals(304, controller.viewer("\"stale\", \"" + etag.getValue() + "\"").getStatus());
+        assertTrue(any.getHeaderString("Cache-Control").startsWith("no-cache"));
+    }
+
+    @Test
+    void changedContentGetsNewEntityTag() {
+        serve("3f2a");
+        EntityTag before = controller.viewer("*").getEntityTag();
+
+        serve("9c41");
+        EntityTag after = controller.viewer("*").getEntityTag();
+
+        assertNotEquals(before, after);
+        assertEquals(controller.viewer("*").getEntityTag(), after);
+    }
+
+    private void serve(String contentHash) {
+        controller.serviceRegistry = new ServiceRegistry() {
+            @Override
+            public AggregatedTopology getAggregatedTopology() {
+                return new AggregatedTopology(List.of(), List.of(), contentHash);
+            }
+        };
+    }
+}